@@ -1,12 +1,16 @@
 package com.amdocs.spx;
 
+import com.amdocs.spx.request.FieldSelection;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @SpringBootApplication
+@EnableScheduling
 public class SpxApplication {
 
 	public static void main(String[] args) {
@@ -18,4 +22,9 @@ public class SpxApplication {
 		return new BCryptPasswordEncoder();
 	}
 
+	@Bean
+	public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilter() {
+		return builder -> builder.filters(FieldSelection.all().filterProvider());
+	}
+
 }
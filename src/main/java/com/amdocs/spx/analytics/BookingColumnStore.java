@@ -0,0 +1,77 @@
+package com.amdocs.spx.analytics;
+
+import com.amdocs.spx.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps a columnar copy of the booking table for reports.
+ * New rows are appended on a short interval; a periodic full rebuild picks up status changes
+ * on rows that were already loaded.
+ */
+@Component
+public class BookingColumnStore {
+
+    private static final int PAGE_SIZE = 5000;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private BookingColumns columns = new BookingColumns();
+
+    private volatile BookingColumns.Snapshot snapshot = columns.snapshot();
+
+    /**
+     * Append bookings created since the last refresh
+     */
+    @Scheduled(initialDelayString = "${spx.reports.refresh-interval-ms:30000}",
+            fixedDelayString = "${spx.reports.refresh-interval-ms:30000}")
+    @Transactional(readOnly = true)
+    public synchronized void refresh() {
+        if (load(columns) > 0) {
+            snapshot = columns.snapshot();
+        }
+    }
+
+    /**
+     * Reload every booking into fresh columns and swap them in
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${spx.reports.rebuild-interval-ms:900000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        BookingColumns fresh = new BookingColumns();
+        load(fresh);
+        columns = fresh;
+        snapshot = fresh.snapshot();
+    }
+
+    public BookingColumns.Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private int load(BookingColumns target) {
+        int loaded = 0;
+        List<Object[]> rows;
+        do {
+            rows = bookingRepository.findReportRowsAfter(target.lastBookingId(), PageRequest.of(0, PAGE_SIZE));
+            for (Object[] row : rows) {
+                target.append(((Number) row[0]).longValue(), ((Number) row[1]).intValue(), (BigDecimal) row[2],
+                        (String) row[3], toLocalDateTime(row[4]), (String) row[5], (String) row[6], (String) row[7]);
+            }
+            loaded += rows.size();
+        } while (rows.size() == PAGE_SIZE);
+        return loaded;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,337 @@
+package com.amdocs.spx.analytics;
+
+import com.amdocs.spx.dto.ReportRowDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Column-oriented copy of booking rows used for reports.
+ * One primitive array per column, strings dictionary-encoded and dates kept as epoch seconds.
+ * Appends come from a single writer; readers work on an immutable {@link Snapshot}, which only
+ * ever sees the rows that existed when it was taken.
+ */
+public class BookingColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int PARALLEL_THRESHOLD = 16_384;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final StringDictionary statuses = new StringDictionary();
+    private final StringDictionary categories = new StringDictionary();
+    private final StringDictionary cities = new StringDictionary();
+    private final StringDictionary paymentMethods = new StringDictionary();
+
+    private long[] bookingIds = new long[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private long[] amountCents = new long[INITIAL_CAPACITY];
+    private long[] bookedAt = new long[INITIAL_CAPACITY];
+    private int[] statusCodes = new int[INITIAL_CAPACITY];
+    private int[] categoryCodes = new int[INITIAL_CAPACITY];
+    private int[] cityCodes = new int[INITIAL_CAPACITY];
+    private int[] paymentMethodCodes = new int[INITIAL_CAPACITY];
+    private int size;
+    private long minDay = Long.MAX_VALUE;
+    private long maxDay = Long.MIN_VALUE;
+
+    /**
+     * Append one booking row
+     */
+    public void append(long bookingId, int quantity, BigDecimal totalAmount, String status,
+                       LocalDateTime bookingDate, String category, String city, String paymentMethod) {
+        if (size == bookingIds.length) {
+            grow();
+        }
+        long epochSecond = bookingDate != null ? bookingDate.toEpochSecond(ZoneOffset.UTC) : 0L;
+        long day = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+
+        bookingIds[size] = bookingId;
+        quantities[size] = quantity;
+        amountCents[size] = totalAmount != null
+                ? totalAmount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue()
+                : 0L;
+        bookedAt[size] = epochSecond;
+        statusCodes[size] = statuses.encode(orUnknown(status));
+        categoryCodes[size] = categories.encode(orUnknown(category));
+        cityCodes[size] = cities.encode(orUnknown(city));
+        paymentMethodCodes[size] = paymentMethods.encode(paymentMethod != null ? paymentMethod : "NONE");
+        minDay = Math.min(minDay, day);
+        maxDay = Math.max(maxDay, day);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Highest booking id appended so far, rows arrive in id order
+     */
+    public long lastBookingId() {
+        return size == 0 ? 0L : bookingIds[size - 1];
+    }
+
+    /**
+     * Take a read-only view of the rows appended so far
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    private void grow() {
+        int capacity = bookingIds.length * 2;
+        bookingIds = Arrays.copyOf(bookingIds, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        amountCents = Arrays.copyOf(amountCents, capacity);
+        bookedAt = Arrays.copyOf(bookedAt, capacity);
+        statusCodes = Arrays.copyOf(statusCodes, capacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+        cityCodes = Arrays.copyOf(cityCodes, capacity);
+        paymentMethodCodes = Arrays.copyOf(paymentMethodCodes, capacity);
+    }
+
+    private static String orUnknown(String value) {
+        return value != null ? value : UNKNOWN;
+    }
+
+    /**
+     * Immutable view over a prefix of the columns
+     */
+    public static class Snapshot {
+
+        private static final int ANY = -1;
+        private static final int NO_MATCH = -2;
+
+        private final int size;
+        private final int[] quantities;
+        private final long[] amountCents;
+        private final long[] bookedAt;
+        private final int[] statusCodes;
+        private final int[] categoryCodes;
+        private final int[] cityCodes;
+        private final int[] paymentMethodCodes;
+        private final String[] statusValues;
+        private final String[] categoryValues;
+        private final String[] cityValues;
+        private final String[] paymentMethodValues;
+        private final int statusCount;
+        private final int categoryCount;
+        private final int cityCount;
+        private final int paymentMethodCount;
+        private final long minDay;
+        private final long maxDay;
+
+        private Snapshot(BookingColumns columns) {
+            this.size = columns.size;
+            this.quantities = columns.quantities;
+            this.amountCents = columns.amountCents;
+            this.bookedAt = columns.bookedAt;
+            this.statusCodes = columns.statusCodes;
+            this.categoryCodes = columns.categoryCodes;
+            this.cityCodes = columns.cityCodes;
+            this.paymentMethodCodes = columns.paymentMethodCodes;
+            this.statusValues = columns.statuses.values();
+            this.categoryValues = columns.categories.values();
+            this.cityValues = columns.cities.values();
+            this.paymentMethodValues = columns.paymentMethods.values();
+            this.statusCount = columns.statuses.size();
+            this.categoryCount = columns.categories.size();
+            this.cityCount = columns.cities.size();
+            this.paymentMethodCount = columns.paymentMethods.size();
+            this.minDay = columns.minDay;
+            this.maxDay = columns.maxDay;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Filter rows and aggregate bookings, tickets and revenue per group.
+         * Large snapshots are split across the common fork-join pool.
+         */
+        public List<ReportRowDTO> aggregate(ReportFilter filter, GroupBy groupBy) {
+            int status = codeOf(statusValues, statusCount, filter.getStatus());
+            int category = codeOf(categoryValues, categoryCount, filter.getCategory());
+            int city = codeOf(cityValues, cityCount, filter.getCity());
+            int paymentMethod = codeOf(paymentMethodValues, paymentMethodCount, filter.getPaymentMethod());
+            if (size == 0 || status == NO_MATCH || category == NO_MATCH || city == NO_MATCH || paymentMethod == NO_MATCH) {
+                return new ArrayList<>();
+            }
+
+            long fromEpoch = filter.getFrom() != null
+                    ? filter.getFrom().atStartOfDay().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+            long toEpoch = filter.getTo() != null
+                    ? filter.getTo().plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC) : Long.MAX_VALUE;
+
+            long dayOffset = Math.max(minDay, fromEpoch == Long.MIN_VALUE ? minDay : Math.floorDiv(fromEpoch, SECONDS_PER_DAY));
+            long lastDay = Math.min(maxDay, toEpoch == Long.MAX_VALUE ? maxDay : Math.floorDiv(toEpoch - 1, SECONDS_PER_DAY));
+            if (groupBy == GroupBy.DAY && lastDay < dayOffset) {
+                return new ArrayList<>();
+            }
+
+            int[] keyColumn;
+            String[] keyValues;
+            int groups;
+            switch (groupBy) {
+                case CATEGORY:
+                    keyColumn = categoryCodes;
+                    keyValues = categoryValues;
+                    groups = categoryCount;
+                    break;
+                case CITY:
+                    keyColumn = cityCodes;
+                    keyValues = cityValues;
+                    groups = cityCount;
+                    break;
+                case PAYMENT_METHOD:
+                    keyColumn = paymentMethodCodes;
+                    keyValues = paymentMethodValues;
+                    groups = paymentMethodCount;
+                    break;
+                case STATUS:
+                    keyColumn = statusCodes;
+                    keyValues = statusValues;
+                    groups = statusCount;
+                    break;
+                default:
+                    keyColumn = null;
+                    keyValues = null;
+                    groups = Math.toIntExact(lastDay - dayOffset + 1);
+            }
+
+            Query query = new Query(status, category, city, paymentMethod, fromEpoch, toEpoch,
+                    keyColumn, dayOffset, groups);
+            long[][] totals = size < PARALLEL_THRESHOLD
+                    ? new AggregateTask(this, query, 0, size).compute()
+                    : ForkJoinPool.commonPool().invoke(new AggregateTask(this, query, 0, size));
+
+            List<ReportRowDTO> rows = new ArrayList<>();
+            for (int g = 0; g < groups; g++) {
+                if (totals[0][g] == 0) {
+                    continue;
+                }
+                String key = keyValues != null ? keyValues[g] : LocalDate.ofEpochDay(dayOffset + g).toString();
+                rows.add(new ReportRowDTO(key, totals[0][g], totals[1][g], BigDecimal.valueOf(totals[2][g], 2)));
+            }
+            if (groupBy != GroupBy.DAY) {
+                rows.sort(Comparator.comparing(ReportRowDTO::getRevenue).reversed());
+            }
+            return rows;
+        }
+
+        private static int codeOf(String[] values, int count, String wanted) {
+            if (wanted == null || wanted.isBlank()) {
+                return ANY;
+            }
+            for (int i = 0; i < count; i++) {
+                if (values[i].equalsIgnoreCase(wanted)) {
+                    return i;
+                }
+            }
+            return NO_MATCH;
+        }
+    }
+
+    private static class Query {
+        final int status;
+        final int category;
+        final int city;
+        final int paymentMethod;
+        final long fromEpoch;
+        final long toEpoch;
+        final int[] keyColumn;
+        final long dayOffset;
+        final int groups;
+
+        Query(int status, int category, int city, int paymentMethod, long fromEpoch, long toEpoch,
+              int[] keyColumn, long dayOffset, int groups) {
+            this.status = status;
+            this.category = category;
+            this.city = city;
+            this.paymentMethod = paymentMethod;
+            this.fromEpoch = fromEpoch;
+            this.toEpoch = toEpoch;
+            this.keyColumn = keyColumn;
+            this.dayOffset = dayOffset;
+            this.groups = groups;
+        }
+    }
+
+    /**
+     * Splits the row range in halves until it is small enough to scan, then merges the partial totals
+     */
+    private static class AggregateTask extends RecursiveTask<long[][]> {
+
+        private final Snapshot snapshot;
+        private final Query query;
+        private final int from;
+        private final int to;
+
+        AggregateTask(Snapshot snapshot, Query query, int from, int to) {
+            this.snapshot = snapshot;
+            this.query = query;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[][] compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                AggregateTask left = new AggregateTask(snapshot, query, from, mid);
+                left.fork();
+                long[][] right = new AggregateTask(snapshot, query, mid, to).compute();
+                long[][] merged = left.join();
+                for (int column = 0; column < merged.length; column++) {
+                    for (int g = 0; g < query.groups; g++) {
+                        merged[column][g] += right[column][g];
+                    }
+                }
+                return merged;
+            }
+            return scan();
+        }
+
+        private long[][] scan() {
+            long[] counts = new long[query.groups];
+            long[] tickets = new long[query.groups];
+            long[] cents = new long[query.groups];
+            for (int i = from; i < to; i++) {
+                if (query.status >= 0 && snapshot.statusCodes[i] != query.status) {
+                    continue;
+                }
+                if (query.category >= 0 && snapshot.categoryCodes[i] != query.category) {
+                    continue;
+                }
+                if (query.city >= 0 && snapshot.cityCodes[i] != query.city) {
+                    continue;
+                }
+                if (query.paymentMethod >= 0 && snapshot.paymentMethodCodes[i] != query.paymentMethod) {
+                    continue;
+                }
+                long epochSecond = snapshot.bookedAt[i];
+                if (epochSecond < query.fromEpoch || epochSecond >= query.toEpoch) {
+                    continue;
+                }
+                int group = query.keyColumn != null
+                        ? query.keyColumn[i]
+                        : (int) (Math.floorDiv(epochSecond, SECONDS_PER_DAY) - query.dayOffset);
+                counts[group]++;
+                tickets[group] += snapshot.quantities[i];
+                cents[group] += snapshot.amountCents[i];
+            }
+            return new long[][]{counts, tickets, cents};
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.amdocs.spx.analytics;
+
+/**
+ * Dimensions a booking report can be grouped by
+ */
+public enum GroupBy {
+    CATEGORY, CITY, PAYMENT_METHOD, STATUS, DAY
+}
@@ -0,0 +1,22 @@
+package com.amdocs.spx.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Row filter for booking reports. Null fields match everything, dates are inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportFilter {
+    private String status;
+    private String category;
+    private String city;
+    private String paymentMethod;
+    private LocalDate from;
+    private LocalDate to;
+}
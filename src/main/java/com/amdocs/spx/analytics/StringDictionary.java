@@ -0,0 +1,40 @@
+package com.amdocs.spx.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only dictionary encoding strings as dense int codes.
+ * Written by a single thread; readers only use the values array handed out by {@link #values()}.
+ */
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+    private int size;
+
+    /**
+     * Get the code for a value, adding it when not seen before
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    public String[] values() {
+        return values;
+    }
+
+    public int size() {
+        return size;
+    }
+}
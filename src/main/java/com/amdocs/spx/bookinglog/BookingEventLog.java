@@ -0,0 +1,121 @@
+package com.amdocs.spx.bookinglog;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Append-only storage of booking events and of the snapshots folded from them.
+ * Rows are only ever inserted; nothing here updates or deletes an event.
+ */
+@Repository
+public class BookingEventLog {
+
+    private static final String COLUMNS = "booking_event_id, booking_id, ticket_type_id, event_type, quantity, occurred_at";
+
+    private static final RowMapper<BookingEventRecord> EVENT_ROW = (rs, rowNum) -> new BookingEventRecord(
+            rs.getLong("booking_event_id"),
+            rs.getLong("booking_id"),
+            rs.getLong("ticket_type_id"),
+            BookingEventType.valueOf(rs.getString("event_type")),
+            rs.getInt("quantity"),
+            rs.getTimestamp("occurred_at").toLocalDateTime());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Append one event in the caller's transaction
+     *
+     * @return the event with its log id set
+     */
+    public BookingEventRecord append(BookingEventRecord event) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO booking_event (booking_id, ticket_type_id, event_type, quantity, occurred_at) " +
+                    "VALUES (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, event.getBookingId());
+            statement.setLong(2, event.getTicketTypeId());
+            statement.setString(3, event.getEventType().name());
+            statement.setInt(4, event.getQuantity());
+            statement.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+            return statement;
+        }, keyHolder);
+        event.setBookingEventId(keyHolder.getKey().longValue());
+        return event;
+    }
+
+    /**
+     * Events of one booking, oldest first
+     */
+    public List<BookingEventRecord> findByBookingId(Long bookingId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM booking_event WHERE booking_id = ? " +
+                "ORDER BY booking_event_id", EVENT_ROW, bookingId);
+    }
+
+    /**
+     * Feed every event after the given id to the consumer in log order, a page at a time
+     *
+     * @return id of the last event read, or {@code afterId} when there was none
+     */
+    public long forEachAfter(long afterId, int pageSize, Consumer<BookingEventRecord> consumer) {
+        return forEachAfter(afterId, null, pageSize, consumer);
+    }
+
+    /**
+     * Like {@link #forEachAfter(long, int, Consumer)}, but stops at the first event stamped at or
+     * after {@code before}; null reads to the end of the log
+     */
+    public long forEachAfter(long afterId, LocalDateTime before, int pageSize, Consumer<BookingEventRecord> consumer) {
+        long lastId = afterId;
+        List<BookingEventRecord> page;
+        do {
+            page = jdbcTemplate.query("SELECT " + COLUMNS + " FROM booking_event WHERE booking_event_id > ? " +
+                    "ORDER BY booking_event_id LIMIT ?", EVENT_ROW, lastId, pageSize);
+            for (BookingEventRecord event : page) {
+                if (before != null && !event.getOccurredAt().isBefore(before)) {
+                    return lastId;
+                }
+                consumer.accept(event);
+                lastId = event.getBookingEventId();
+            }
+        } while (page.size() == pageSize);
+        return lastId;
+    }
+
+    /**
+     * Newest snapshot state, or empty when none was taken yet
+     */
+    public Optional<byte[]> findLatestSnapshot() {
+        List<byte[]> states = jdbcTemplate.query(
+                "SELECT state FROM booking_event_snapshot ORDER BY snapshot_id DESC LIMIT 1",
+                (rs, rowNum) -> rs.getBytes("state"));
+        return states.stream().findFirst();
+    }
+
+    /**
+     * Store a snapshot and drop all but the newest {@code keep}
+     */
+    public void saveSnapshot(long lastEventId, int bookings, byte[] state, int keep) {
+        jdbcTemplate.update("INSERT INTO booking_event_snapshot (last_booking_event_id, bookings, created_at, state) " +
+                "VALUES (?, ?, NOW(6), ?)", lastEventId, bookings, state);
+        List<Long> stale = jdbcTemplate.queryForList(
+                "SELECT snapshot_id FROM booking_event_snapshot ORDER BY snapshot_id DESC LIMIT 1000 OFFSET ?",
+                Long.class, keep);
+        for (Long snapshotId : stale) {
+            jdbcTemplate.update("DELETE FROM booking_event_snapshot WHERE snapshot_id = ?", snapshotId);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.amdocs.spx.bookinglog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the booking event log
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEventRecord {
+
+    private Long bookingEventId;
+    private Long bookingId;
+    private Long ticketTypeId;
+    private BookingEventType eventType;
+    private Integer quantity;
+    private LocalDateTime occurredAt;
+}
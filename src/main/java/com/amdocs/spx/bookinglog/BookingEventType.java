@@ -0,0 +1,78 @@
+package com.amdocs.spx.bookinglog;
+
+/**
+ * Booking lifecycle events and the status transitions they make
+ */
+public enum BookingEventType {
+    CREATED,
+    CONFIRMED,
+    CANCELLED,
+    COMPLETED,
+    REFUNDED;
+
+    /**
+     * Status a booking moves to when this event happens in the given status
+     *
+     * @param current status before the event, null for a booking that does not exist yet
+     * @throws IllegalStateException when the event is not allowed in that status
+     */
+    public String next(String current) {
+        switch (this) {
+            case CREATED:
+                if (current != null) {
+                    throw new IllegalStateException("Booking already exists");
+                }
+                return "PENDING";
+            case CONFIRMED:
+                if (!"PENDING".equals(current)) {
+                    throw new IllegalStateException("Only pending bookings can be confirmed");
+                }
+                return "CONFIRMED";
+            case CANCELLED:
+                if ("CANCELLED".equals(current)) {
+                    throw new IllegalStateException("Booking is already cancelled");
+                }
+                if ("COMPLETED".equals(current)) {
+                    throw new IllegalStateException("Cannot cancel a completed booking");
+                }
+                return "CANCELLED";
+            case COMPLETED:
+                if (!"CONFIRMED".equals(current)) {
+                    throw new IllegalStateException("Only confirmed bookings can be completed");
+                }
+                return "COMPLETED";
+            default:
+                if (!"CONFIRMED".equals(current) && !"CANCELLED".equals(current)) {
+                    throw new IllegalStateException("Only confirmed or cancelled bookings can be refunded");
+                }
+                return "CANCELLED";
+        }
+    }
+
+    /**
+     * Event that moves a booking to the given status, for callers that set statuses directly
+     */
+    public static BookingEventType forStatus(String status) {
+        switch (status) {
+            case "CONFIRMED":
+                return CONFIRMED;
+            case "CANCELLED":
+                return CANCELLED;
+            case "COMPLETED":
+                return COMPLETED;
+            default:
+                throw new IllegalArgumentException("No booking event leads to status " + status);
+        }
+    }
+
+    /**
+     * Change in tickets held when a booking of the given quantity moves between two statuses
+     */
+    public static int soldDelta(String from, String to, int quantity) {
+        return (holdsTickets(to) ? quantity : 0) - (holdsTickets(from) ? quantity : 0);
+    }
+
+    private static boolean holdsTickets(String status) {
+        return status != null && !"CANCELLED".equals(status);
+    }
+}
@@ -0,0 +1,273 @@
+package com.amdocs.spx.bookinglog;
+
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.changefeed.ChangeType;
+import com.amdocs.spx.dto.BookingProjectionReportDTO;
+import com.amdocs.spx.entity.Booking;
+import com.amdocs.spx.entity.TicketType;
+import com.amdocs.spx.inventory.InventoryLedger;
+import com.amdocs.spx.persistence.CommitHorizon;
+import com.amdocs.spx.readmodel.UserBookingView;
+import com.amdocs.spx.repository.BookingRepository;
+import com.amdocs.spx.service.TicketTypeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records booking lifecycle events and checks the booking tables against them.
+ * Every transition is validated against the current status, applied to the booking row and the
+ * ticket type sold count, and appended to the booking event log in the same transaction. The tables
+ * stay the source of truth for reads and availability; the log is the history they can be checked
+ * against and repaired from, starting at the latest snapshot instead of the first event.
+ */
+@Service
+public class BookingProjector {
+
+    private static final int PAGE_SIZE = 5_000;
+    private static final int SNAPSHOTS_KEPT = 2;
+
+    @Autowired
+    private BookingEventLog eventLog;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired(required = false)
+    private InventoryLedger inventoryLedger;
+
+    @Autowired
+    private UserBookingView userBookingView;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private CommitHorizon commitHorizon;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spx.booking-log.batch-size:500}")
+    private int batchSize;
+
+    @Value("${spx.booking-log.settle-ms:2000}")
+    private long settleMs;
+
+    public BookingProjector(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Record a lifecycle event for a booking and project it.
+     * A CREATED event also saves the new booking.
+     *
+     * @throws IllegalStateException when the event is not allowed in the booking's status
+     */
+    @Transactional
+    public Booking record(Booking booking, BookingEventType type) {
+        String current = type == BookingEventType.CREATED ? null : booking.getBookingStatus();
+        String next = type.next(current);
+        Long ticketTypeId = booking.getTicketType().getTicketTypeId();
+
+        int delta = BookingEventType.soldDelta(current, next, booking.getQuantity());
+        if (delta > 0) {
+            ticketTypeService.incrementSoldTickets(ticketTypeId, delta);
+        } else if (delta < 0) {
+            ticketTypeService.decrementSoldTickets(ticketTypeId, -delta);
+        }
+        booking.setBookingStatus(next);
+
+        Booking saved = booking.getBookingId() == null ? bookingRepository.save(booking) : booking;
+        eventLog.append(new BookingEventRecord(null, saved.getBookingId(), ticketTypeId, type,
+                saved.getQuantity(), LocalDateTime.now()));
+        userBookingView.upsert(saved);
+        return saved;
+    }
+
+    /**
+     * Cancel many bookings with set-based statements instead of one {@link #record} per booking.
+     * Bookings that are no longer PENDING or CONFIRMED are left alone. Their tickets go back in one
+     * batched release, and the log, the user booking view and the change feed get the same rows
+     * {@link #record} would have written.
+     *
+     * @return ids of the bookings that were cancelled
+     */
+    @Transactional
+    public List<Long> cancelAll(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String in = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        List<Long> cancelled = new ArrayList<>();
+        Map<Long, Integer> releases = new HashMap<>();
+        jdbcTemplate.query("SELECT booking_id, ticket_type_id, quantity FROM booking WHERE booking_id IN (" + in + ") " +
+                "AND booking_status IN ('PENDING', 'CONFIRMED') ORDER BY booking_id FOR UPDATE", rs -> {
+            cancelled.add(rs.getLong("booking_id"));
+            releases.merge(rs.getLong("ticket_type_id"), rs.getInt("quantity"), Integer::sum);
+        }, bookingIds.toArray());
+        if (cancelled.isEmpty()) {
+            return cancelled;
+        }
+
+        String cancelledIn = String.join(",", Collections.nCopies(cancelled.size(), "?"));
+        Object[] ids = cancelled.toArray();
+        Object[] stampedIds = new Object[ids.length + 1];
+        stampedIds[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(ids, 0, stampedIds, 1, ids.length);
+        jdbcTemplate.update("INSERT INTO booking_event (booking_id, ticket_type_id, event_type, quantity, occurred_at) " +
+                "SELECT booking_id, ticket_type_id, 'CANCELLED', quantity, ? FROM booking " +
+                "WHERE booking_id IN (" + cancelledIn + ") ORDER BY booking_id", stampedIds);
+        jdbcTemplate.update("UPDATE booking SET booking_status = 'CANCELLED' WHERE booking_id IN (" + cancelledIn + ")", ids);
+        jdbcTemplate.update("UPDATE user_booking_view SET booking_status = 'CANCELLED' " +
+                "WHERE booking_id IN (" + cancelledIn + ")", ids);
+        changeOutbox.appendBookings(cancelled, ChangeType.UPDATED);
+        ticketTypeService.releaseSoldTickets(releases);
+        return cancelled;
+    }
+
+    /**
+     * Lifecycle of one booking, oldest event first
+     */
+    public List<BookingEventRecord> getHistory(Long bookingId) {
+        return eventLog.findByBookingId(bookingId);
+    }
+
+    /**
+     * Fold the log past the latest snapshot and store the result as a new snapshot.
+     * A transaction still open can commit an event below ids that are already visible, and the next
+     * snapshot only reads past this one's last id, so the fold stops at the first event stamped after
+     * {@link CommitHorizon#settledBefore}.
+     */
+    @Scheduled(fixedDelayString = "${spx.booking-log.snapshot-interval-ms:3600000}")
+    public void snapshot() {
+        BookingState state = loadSnapshot();
+        long previous = state.lastEventId();
+        eventLog.forEachAfter(previous, commitHorizon.settledBefore(settleMs), PAGE_SIZE, state::apply);
+        if (state.lastEventId() > previous) {
+            eventLog.saveSnapshot(state.lastEventId(), state.size(), state.toBytes(), SNAPSHOTS_KEPT);
+        }
+    }
+
+    /**
+     * Rebuild booking statuses and sold counts from the log and compare them with the tables.
+     * The fold stops at {@link CommitHorizon#settledBefore}, and bookings and ticket types with events
+     * past that point are left out of the comparison, since their rows are newer than the fold.
+     * With repair set, the whole log is replayed rather than the tail past the latest snapshot, and
+     * rows that drifted are rewritten in one transaction, each only if it still holds the value that
+     * was compared, so a booking written meanwhile is not rolled back. Repaired bookings go to the
+     * change feed and repaired ticket types move their catalog versions. Sold counts are left alone
+     * while the inventory ledger owns them.
+     */
+    public BookingProjectionReportDTO rebuild(boolean repair) {
+        BookingState state = repair ? new BookingState() : loadSnapshot();
+        long fromEventId = state.lastEventId();
+        long[] replayed = new long[1];
+        long lastEventId = eventLog.forEachAfter(fromEventId, commitHorizon.settledBefore(settleMs), PAGE_SIZE, event -> {
+            state.apply(event);
+            replayed[0]++;
+        });
+
+        List<Object[]> statusFixes = new ArrayList<>();
+        jdbcTemplate.query("SELECT booking_id, booking_status FROM booking", rs -> {
+            long bookingId = rs.getLong("booking_id");
+            String expected = state.status(bookingId);
+            String actual = rs.getString("booking_status");
+            if (expected != null && !expected.equals(actual)) {
+                statusFixes.add(new Object[]{expected, bookingId, actual});
+            }
+        });
+        List<Object[]> soldFixes = new ArrayList<>();
+        jdbcTemplate.query("SELECT ticket_type_id, event_id, quantity_sold FROM ticket_type", rs -> {
+            long ticketTypeId = rs.getLong("ticket_type_id");
+            int expected = state.sold(ticketTypeId);
+            int actual = rs.getInt("quantity_sold");
+            if (expected != actual) {
+                soldFixes.add(new Object[]{expected, ticketTypeId, actual, rs.getLong("event_id")});
+            }
+        });
+
+        // Read after the tables, so every change the scans saw has its event here
+        Set<Long> newerBookings = new HashSet<>();
+        Set<Long> newerTicketTypes = new HashSet<>();
+        jdbcTemplate.query("SELECT booking_id, ticket_type_id FROM booking_event WHERE booking_event_id > ?", rs -> {
+            newerBookings.add(rs.getLong("booking_id"));
+            newerTicketTypes.add(rs.getLong("ticket_type_id"));
+        }, lastEventId);
+        statusFixes.removeIf(fix -> newerBookings.contains((Long) fix[1]));
+        soldFixes.removeIf(fix -> newerTicketTypes.contains((Long) fix[1]));
+
+        boolean repaired = false;
+        if (repair) {
+            transactionTemplate.executeWithoutResult(status -> repair(statusFixes, soldFixes));
+            if (inventoryLedger == null) {
+                for (Object[] fix : soldFixes) {
+                    entityManagerFactory.getCache().evict(TicketType.class, fix[1]);
+                    catalogVersions.bumpTicketType((Long) fix[1], (Long) fix[3]);
+                }
+            }
+            repaired = true;
+        }
+
+        return new BookingProjectionReportDTO(state.lastEventId(), replayed[0], state.skipped(), state.size(),
+                statusFixes.size(), soldFixes.size(), repaired);
+    }
+
+    /**
+     * Rewrite drifted rows that still hold the value they were compared with
+     */
+    private void repair(List<Object[]> statusFixes, List<Object[]> soldFixes) {
+        List<Long> fixedIds = new ArrayList<>();
+        for (Object[] fix : statusFixes) {
+            if (jdbcTemplate.update("UPDATE booking SET booking_status = ? WHERE booking_id = ? AND booking_status = ?",
+                    fix[0], fix[1], fix[2]) > 0) {
+                jdbcTemplate.update("UPDATE user_booking_view SET booking_status = ? WHERE booking_id = ?", fix[0], fix[1]);
+                fixedIds.add((Long) fix[1]);
+            }
+        }
+        if (inventoryLedger == null) {
+            jdbcTemplate.batchUpdate("UPDATE ticket_type SET quantity_sold = ? " +
+                    "WHERE ticket_type_id = ? AND quantity_sold = ?", soldFixes, batchSize, (statement, fix) -> {
+                        statement.setInt(1, (Integer) fix[0]);
+                        statement.setLong(2, (Long) fix[1]);
+                        statement.setInt(3, (Integer) fix[2]);
+                    });
+        }
+        changeOutbox.appendBookings(fixedIds, ChangeType.UPDATED);
+    }
+
+    private BookingState loadSnapshot() {
+        return eventLog.findLatestSnapshot()
+                .map(BookingState::fromBytes)
+                .orElseGet(BookingState::new);
+    }
+}
@@ -0,0 +1,122 @@
+package com.amdocs.spx.bookinglog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Booking statuses and tickets held per ticket type, folded from the booking event log.
+ * Not thread safe; each fold works on its own instance.
+ */
+public class BookingState {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final List<String> STATUSES = Arrays.asList("PENDING", "CONFIRMED", "CANCELLED", "COMPLETED");
+
+    private final Map<Long, String> statuses = new HashMap<>();
+    private final Map<Long, Integer> sold = new HashMap<>();
+    private long lastEventId;
+    private long skipped;
+
+    /**
+     * Fold one event in. Events that are not valid in the booking's current status are counted
+     * and skipped rather than failing the whole replay.
+     */
+    public void apply(BookingEventRecord event) {
+        lastEventId = Math.max(lastEventId, event.getBookingEventId());
+        String current = statuses.get(event.getBookingId());
+        String next;
+        try {
+            next = event.getEventType().next(current);
+        } catch (IllegalStateException e) {
+            skipped++;
+            return;
+        }
+        statuses.put(event.getBookingId(), next);
+        int delta = BookingEventType.soldDelta(current, next, event.getQuantity());
+        if (delta != 0) {
+            sold.merge(event.getTicketTypeId(), delta, Integer::sum);
+        }
+    }
+
+    public String status(Long bookingId) {
+        return statuses.get(bookingId);
+    }
+
+    public int sold(Long ticketTypeId) {
+        return sold.getOrDefault(ticketTypeId, 0);
+    }
+
+    public Map<Long, Integer> soldByTicketType() {
+        return Collections.unmodifiableMap(sold);
+    }
+
+    public void forEachBooking(BiConsumer<Long, String> action) {
+        statuses.forEach(action);
+    }
+
+    public int size() {
+        return statuses.size();
+    }
+
+    public long lastEventId() {
+        return lastEventId;
+    }
+
+    public long skipped() {
+        return skipped;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(lastEventId);
+            out.writeInt(statuses.size());
+            for (Map.Entry<Long, String> entry : statuses.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeByte(STATUSES.indexOf(entry.getValue()));
+            }
+            out.writeInt(sold.size());
+            for (Map.Entry<Long, Integer> entry : sold.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static BookingState fromBytes(byte[] data) {
+        BookingState state = new BookingState();
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IllegalStateException("Unknown booking snapshot format");
+            }
+            state.lastEventId = in.readLong();
+            int bookings = in.readInt();
+            for (int i = 0; i < bookings; i++) {
+                state.statuses.put(in.readLong(), STATUSES.get(in.readByte()));
+            }
+            int ticketTypes = in.readInt();
+            for (int i = 0; i < ticketTypes; i++) {
+                state.sold.put(in.readLong(), in.readInt());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,55 @@
+package com.amdocs.spx.cache;
+
+import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.entity.TicketType;
+import com.amdocs.spx.entity.User;
+import com.amdocs.spx.entity.Venue;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener bumping catalog versions on every write, whichever code path made it.
+ * Bumps are deferred until commit so a reader of the primary never pairs a new tag with old data;
+ * a replica can lag behind the bump, so tagged reads are kept off the replicas.
+ */
+@Component
+public class CatalogChangeListener {
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(entity);
+                }
+            });
+        } else {
+            bump(entity);
+        }
+    }
+
+    private void bump(Object entity) {
+        if (entity instanceof Event) {
+            catalogVersions.bump(CatalogVersions.EVENT, ((Event) entity).getEventId());
+        } else if (entity instanceof Venue) {
+            catalogVersions.bump(CatalogVersions.VENUE, ((Venue) entity).getVenueId());
+        } else if (entity instanceof TicketType) {
+            TicketType ticketType = (TicketType) entity;
+            catalogVersions.bumpTicketType(ticketType.getTicketTypeId(),
+                    ticketType.getEvent() != null ? ticketType.getEvent().getEventId() : null);
+        } else if (entity instanceof User) {
+            catalogVersions.bump(CatalogVersions.USER, ((User) entity).getUserId());
+        }
+    }
+}
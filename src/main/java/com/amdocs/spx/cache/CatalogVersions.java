@@ -0,0 +1,91 @@
+package com.amdocs.spx.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory modification counters for catalog entities, used to build strong ETags.
+ * An entity that has not changed since startup has version 0; the boot id keeps tags from
+ * one process lifetime from matching another.
+ */
+@Component
+public class CatalogVersions {
+
+    public static final String EVENT = "event";
+    public static final String VENUE = "venue";
+    public static final String TICKET_TYPE = "ticketType";
+    public static final String USER = "user";
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Record a change to one entity
+     */
+    public void bump(String type, Object id) {
+        versions.computeIfAbsent(type + ":" + id, key -> new AtomicLong()).incrementAndGet();
+        generations.computeIfAbsent(type, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Record a change to a ticket type, which also changes the event embedding it
+     */
+    public void bumpTicketType(Long ticketTypeId, Long eventId) {
+        bump(TICKET_TYPE, ticketTypeId);
+        if (eventId != null) {
+            bump(EVENT, eventId);
+        }
+    }
+
+    public long version(String type, Object id) {
+        AtomicLong version = versions.get(type + ":" + id);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Number of changes to any entity of the type
+     */
+    public long generation(String type) {
+        AtomicLong generation = generations.get(type);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    /**
+     * Event details embed venue, organizer and ticket types, so those changes count too
+     */
+    public String eventTag(Long eventId) {
+        return tag(EVENT + "-" + eventId + "-" + version(EVENT, eventId)
+                + "-" + generation(VENUE) + "-" + generation(USER));
+    }
+
+    /**
+     * Venue details embed the venue's events
+     */
+    public String venueTag(Long venueId) {
+        return tag(VENUE + "-" + venueId + "-" + version(VENUE, venueId)
+                + "-" + generation(EVENT) + "-" + generation(TICKET_TYPE) + "-" + generation(USER));
+    }
+
+    public String ticketTypeTag(Long ticketTypeId) {
+        return tag(TICKET_TYPE + "-" + ticketTypeId + "-" + version(TICKET_TYPE, ticketTypeId));
+    }
+
+    /**
+     * Tag for a listing that changes whenever any entity of the given types changes
+     */
+    public String listTag(String name, String... types) {
+        StringBuilder value = new StringBuilder(name);
+        for (String type : types) {
+            value.append('-').append(generation(type));
+        }
+        return tag(value.toString());
+    }
+
+    private String tag(String value) {
+        return "\"" + bootId + "-" + value + "\"";
+    }
+}
@@ -0,0 +1,90 @@
+package com.amdocs.spx.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Time-ordered queue of event status transitions: an event starting, or an event ending.
+ * Entries are deduplicated, so scheduling the same transition again is harmless. An entry left
+ * behind by a rescheduled event is not removed; whoever applies transitions checks them against the
+ * event's current date and status.
+ */
+public class EventTransitionQueue {
+
+    public enum Kind {
+        START,
+        END
+    }
+
+    private final TreeSet<Transition> queue = new TreeSet<>();
+
+    public synchronized void add(LocalDateTime at, long eventId, Kind kind) {
+        queue.add(new Transition(at, eventId, kind));
+    }
+
+    /**
+     * Remove and return the ids of events whose transition of the given kind is due, oldest first.
+     * Due transitions of the other kind stay queued.
+     */
+    public synchronized List<Long> pollDue(LocalDateTime now, Kind kind) {
+        List<Long> due = new ArrayList<>();
+        Iterator<Transition> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Transition transition = iterator.next();
+            if (transition.at.isAfter(now)) {
+                break;
+            }
+            if (transition.kind == kind) {
+                due.add(transition.eventId);
+                iterator.remove();
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Time of the next transition, or null when the queue is empty
+     */
+    public synchronized LocalDateTime nextAt() {
+        return queue.isEmpty() ? null : queue.first().at;
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    private static final class Transition implements Comparable<Transition> {
+        private final LocalDateTime at;
+        private final long eventId;
+        private final Kind kind;
+
+        private Transition(LocalDateTime at, long eventId, Kind kind) {
+            this.at = at;
+            this.eventId = eventId;
+            this.kind = kind;
+        }
+
+        @Override
+        public int compareTo(Transition other) {
+            int byTime = at.compareTo(other.at);
+            if (byTime != 0) {
+                return byTime;
+            }
+            int byEvent = Long.compare(eventId, other.eventId);
+            return byEvent != 0 ? byEvent : kind.compareTo(other.kind);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Transition && compareTo((Transition) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return (at.hashCode() * 31 + Long.hashCode(eventId)) * 31 + kind.hashCode();
+        }
+    }
+}
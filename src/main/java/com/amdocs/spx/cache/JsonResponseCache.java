@@ -0,0 +1,72 @@
+package com.amdocs.spx.cache;
+
+import com.amdocs.spx.request.FieldSelection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of serialized UTF-8 JSON response bodies.
+ * Each entry remembers the stamp it was built for; a different stamp means the underlying
+ * data changed and the body is rebuilt on the next request.
+ */
+@Component
+public class JsonResponseCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spx.response-cache.max-entries:256}")
+    private int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Get the cached body for the key, serializing a fresh one when the stamp has moved on
+     */
+    public byte[] get(String key, String stamp, Supplier<?> loader) {
+        return get(key, stamp, FieldSelection.all(), loader);
+    }
+
+    /**
+     * Same as {@link #get(String, String, Supplier)}, writing only the selected fields
+     */
+    public byte[] get(String key, String stamp, FieldSelection fields, Supplier<?> loader) {
+        key = key + "?fields=" + fields.key();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.stamp.equals(stamp)) {
+            return entry.body;
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writer(fields.filterProvider()).writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response for " + key, e);
+        }
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(stamp, body));
+        return body;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final String stamp;
+        private final byte[] body;
+
+        private Entry(String stamp, byte[] body) {
+            this.stamp = stamp;
+            this.body = body;
+        }
+    }
+}
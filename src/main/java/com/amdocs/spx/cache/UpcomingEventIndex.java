@@ -0,0 +1,213 @@
+package com.amdocs.spx.cache;
+
+import com.amdocs.spx.dto.EventDTO;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Date-ordered in-memory feed of UPCOMING events.
+ * Entries are assembled event cards, kept in a skip list keyed by event date and id so
+ * "next N upcoming" is a walk from the head. Writers are serialized, readers never block.
+ */
+@Component
+public class UpcomingEventIndex {
+
+    private final ConcurrentSkipListMap<Key, EventDTO> byDate = new ConcurrentSkipListMap<>();
+    private final Map<Long, Key> keysById = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Add or replace an event card, dropping it when the event is no longer upcoming
+     */
+    public synchronized void put(EventDTO event) {
+        removeEntry(event.getEventId());
+        version.incrementAndGet();
+        if (!isUpcoming(event, LocalDateTime.now())) {
+            return;
+        }
+        Key key = new Key(event.getEventDate(), event.getEventId());
+        byDate.put(key, event);
+        keysById.put(event.getEventId(), key);
+    }
+
+    /**
+     * Remove an event from the feed
+     */
+    public synchronized void remove(Long eventId) {
+        removeEntry(eventId);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Replace the whole feed, used when reloading from the database
+     */
+    public synchronized void replaceAll(Collection<EventDTO> events) {
+        byDate.clear();
+        keysById.clear();
+        version.incrementAndGet();
+        LocalDateTime now = LocalDateTime.now();
+        for (EventDTO event : events) {
+            if (isUpcoming(event, now)) {
+                Key key = new Key(event.getEventDate(), event.getEventId());
+                byDate.put(key, event);
+                keysById.put(event.getEventId(), key);
+            }
+        }
+    }
+
+    /**
+     * Add or replace one ticket type on an event card
+     */
+    public synchronized void putTicketType(Long eventId, EventDTO.TicketTypeDTO ticketType) {
+        Key key = keysById.get(eventId);
+        EventDTO current = key != null ? byDate.get(key) : null;
+        if (current == null) {
+            return;
+        }
+        List<EventDTO.TicketTypeDTO> ticketTypes = new ArrayList<>();
+        if (current.getTicketTypes() != null) {
+            for (EventDTO.TicketTypeDTO existing : current.getTicketTypes()) {
+                if (!existing.getTicketTypeId().equals(ticketType.getTicketTypeId())) {
+                    ticketTypes.add(existing);
+                }
+            }
+        }
+        ticketTypes.add(ticketType);
+        byDate.put(key, copyWithTicketTypes(current, ticketTypes));
+        version.incrementAndGet();
+    }
+
+    /**
+     * Remove one ticket type from an event card
+     */
+    public synchronized void removeTicketType(Long eventId, Long ticketTypeId) {
+        Key key = keysById.get(eventId);
+        EventDTO current = key != null ? byDate.get(key) : null;
+        if (current == null || current.getTicketTypes() == null) {
+            return;
+        }
+        List<EventDTO.TicketTypeDTO> ticketTypes = new ArrayList<>();
+        for (EventDTO.TicketTypeDTO existing : current.getTicketTypes()) {
+            if (!existing.getTicketTypeId().equals(ticketTypeId)) {
+                ticketTypes.add(existing);
+            }
+        }
+        byDate.put(key, copyWithTicketTypes(current, ticketTypes.isEmpty() ? null : ticketTypes));
+        version.incrementAndGet();
+    }
+
+    /**
+     * Next upcoming events in date order, optionally filtered by category and city
+     *
+     * @param limit maximum number of events, or null for all
+     */
+    public List<EventDTO> next(Integer limit, String category, String city) {
+        int max = limit != null ? limit : Integer.MAX_VALUE;
+        List<EventDTO> result = new ArrayList<>();
+        ConcurrentNavigableMap<Key, EventDTO> ahead = byDate.tailMap(new Key(LocalDateTime.now(), Long.MAX_VALUE), false);
+        for (EventDTO event : ahead.values()) {
+            if (result.size() >= max) {
+                break;
+            }
+            if (category != null && !category.equalsIgnoreCase(event.getCategory())) {
+                continue;
+            }
+            if (city != null && (event.getVenue() == null || !city.equalsIgnoreCase(event.getVenue().getCity()))) {
+                continue;
+            }
+            result.add(event);
+        }
+        return result;
+    }
+
+    /**
+     * Drop events whose date has passed
+     */
+    @Scheduled(fixedDelayString = "${spx.upcoming.sweep-interval-ms:60000}")
+    public synchronized void evictPast() {
+        LocalDateTime now = LocalDateTime.now();
+        Map.Entry<Key, EventDTO> head;
+        while ((head = byDate.firstEntry()) != null && !head.getKey().eventDate.isAfter(now)) {
+            byDate.remove(head.getKey());
+            keysById.remove(head.getKey().eventId);
+            version.incrementAndGet();
+        }
+    }
+
+    public int size() {
+        return byDate.size();
+    }
+
+    /**
+     * Counter moved by every change to the feed, including events expiring
+     */
+    public long version() {
+        return version.get();
+    }
+
+    private void removeEntry(Long eventId) {
+        Key key = keysById.remove(eventId);
+        if (key != null) {
+            byDate.remove(key);
+        }
+    }
+
+    private static boolean isUpcoming(EventDTO event, LocalDateTime now) {
+        return event.getEventId() != null
+                && event.getEventDate() != null
+                && event.getEventDate().isAfter(now)
+                && "UPCOMING".equals(event.getStatus());
+    }
+
+    private static EventDTO copyWithTicketTypes(EventDTO source, List<EventDTO.TicketTypeDTO> ticketTypes) {
+        EventDTO copy = new EventDTO();
+        copy.setEventId(source.getEventId());
+        copy.setEventName(source.getEventName());
+        copy.setCategory(source.getCategory());
+        copy.setEventDate(source.getEventDate());
+        copy.setStatus(source.getStatus());
+        copy.setBannerImageUrl(source.getBannerImageUrl());
+        copy.setTotalTicketsAvailable(source.getTotalTicketsAvailable());
+        copy.setTicketsSold(source.getTicketsSold());
+        copy.setVenue(source.getVenue());
+        copy.setOrganizer(source.getOrganizer());
+        copy.setTicketTypes(ticketTypes);
+        return copy;
+    }
+
+    private static final class Key implements Comparable<Key> {
+        private final LocalDateTime eventDate;
+        private final long eventId;
+
+        private Key(LocalDateTime eventDate, long eventId) {
+            this.eventDate = eventDate;
+            this.eventId = eventId;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byDate = eventDate.compareTo(other.eventDate);
+            return byDate != 0 ? byDate : Long.compare(eventId, other.eventId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return eventDate.hashCode() * 31 + Long.hashCode(eventId);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.amdocs.spx.changefeed;
+
+/**
+ * Kind of record a change belongs to
+ */
+public enum AggregateType {
+    BOOKING,
+    ORDER
+}
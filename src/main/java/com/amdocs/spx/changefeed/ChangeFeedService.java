@@ -0,0 +1,75 @@
+package com.amdocs.spx.changefeed;
+
+import com.amdocs.spx.dto.ChangeDTO;
+import com.amdocs.spx.dto.ChangeFeedPageDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cursor paging over the change outbox.
+ * A consumer keeps the {@code nextCursor} of the last page it processed and asks for what came after it,
+ * so each poll costs the changes since then instead of a full listing.
+ */
+@Service
+public class ChangeFeedService {
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Value("${spx.changes.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${spx.changes.settle-ms:2000}")
+    private long settleMs;
+
+    @Value("${spx.changes.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${spx.changes.prune-chunk-size:5000}")
+    private int pruneChunkSize;
+
+    /**
+     * Changes after the cursor, at most {@code limit} of them
+     *
+     * @param aggregateType BOOKING or ORDER, or null for both
+     * @throws IllegalArgumentException when the limit or aggregate type is not valid
+     */
+    public ChangeFeedPageDTO getChanges(long after, int limit, String aggregateType) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        AggregateType type = aggregateType == null ? null : AggregateType.valueOf(aggregateType.toUpperCase());
+        int pageSize = Math.min(limit, maxPageSize);
+        List<ChangeDTO> changes = changeOutbox.findAfter(after, pageSize + 1, type, settleMs);
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+        long nextCursor = changes.isEmpty() ? after : changes.get(changes.size() - 1).getChangeId();
+        return new ChangeFeedPageDTO(changes, nextCursor, hasMore);
+    }
+
+    /**
+     * Cursor of the newest change, for a consumer starting from a full export
+     */
+    public long getHead() {
+        return changeOutbox.head();
+    }
+
+    /**
+     * Drop changes past the retention window, a chunk at a time
+     */
+    @Scheduled(fixedDelayString = "${spx.changes.prune-interval-ms:3600000}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int deleted;
+        do {
+            deleted = changeOutbox.deleteBefore(cutoff, pruneChunkSize);
+        } while (deleted == pruneChunkSize);
+    }
+}
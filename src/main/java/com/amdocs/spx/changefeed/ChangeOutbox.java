@@ -0,0 +1,185 @@
+package com.amdocs.spx.changefeed;
+
+import com.amdocs.spx.dto.BookingChangeDTO;
+import com.amdocs.spx.dto.ChangeDTO;
+import com.amdocs.spx.entity.Booking;
+import com.amdocs.spx.entity.Order;
+import com.amdocs.spx.mapper.OrderMapper;
+import com.amdocs.spx.persistence.CommitHorizon;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Storage of the booking and order change feed in {@code change_outbox}.
+ * Writers append in their own transaction, so a change is in the feed exactly when it committed.
+ */
+@Repository
+public class ChangeOutbox {
+
+    private static final String INSERT =
+            "INSERT INTO change_outbox (aggregate_type, aggregate_id, change_type, payload) VALUES (?, ?, ?, ?)";
+
+    /**
+     * Same shape as {@link BookingChangeDTO}, for changes made with set-based statements
+     */
+    private static final String BOOKING_JSON =
+            "JSON_OBJECT('bookingId', booking_id, 'bookingReference', booking_reference, 'userId', user_id, " +
+            "'eventId', event_id, 'ticketTypeId', ticket_type_id, 'quantity', quantity, 'totalAmount', total_amount, " +
+            "'bookingStatus', booking_status, 'bookingDate', DATE_FORMAT(booking_date, '%Y-%m-%dT%H:%i:%s'))";
+
+    /**
+     * Same shape as {@link com.amdocs.spx.dto.OrderDTO}, for changes made with set-based statements
+     */
+    private static final String ORDER_JSON =
+            "JSON_OBJECT('orderId', order_id, 'orderNumber', order_number, 'totalAmount', total_amount, " +
+            "'paymentStatus', payment_status, 'paymentMethod', payment_method, 'transactionId', transaction_id, " +
+            "'paymentDate', DATE_FORMAT(payment_date, '%Y-%m-%dT%H:%i:%s'), " +
+            "'createdAt', DATE_FORMAT(created_at, '%Y-%m-%dT%H:%i:%s'), 'bookingId', booking_id, 'userId', user_id)";
+
+    private static final RowMapper<ChangeDTO> CHANGE_ROW = (rs, rowNum) -> new ChangeDTO(
+            rs.getLong("change_id"),
+            rs.getString("aggregate_type"),
+            rs.getLong("aggregate_id"),
+            rs.getString("change_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private CommitHorizon commitHorizon;
+
+    public void append(Booking booking, ChangeType changeType) {
+        BookingChangeDTO payload = new BookingChangeDTO(
+                booking.getBookingId(),
+                booking.getBookingReference(),
+                booking.getUser() != null ? booking.getUser().getUserId() : null,
+                booking.getEvent() != null ? booking.getEvent().getEventId() : null,
+                booking.getTicketType() != null ? booking.getTicketType().getTicketTypeId() : null,
+                booking.getQuantity(),
+                booking.getTotalAmount(),
+                booking.getBookingStatus(),
+                booking.getBookingDate());
+        append(AggregateType.BOOKING, booking.getBookingId(), changeType, payload);
+    }
+
+    public void append(Order order, ChangeType changeType) {
+        append(AggregateType.ORDER, order.getOrderId(), changeType, orderMapper.toDTO(order));
+    }
+
+    /**
+     * Record a change to bookings made with set-based statements, reading their rows as they are now.
+     * Must run after the change, in the same transaction.
+     */
+    public void appendBookings(Collection<Long> bookingIds, ChangeType changeType) {
+        appendRows(AggregateType.BOOKING, "booking", "booking_id", BOOKING_JSON, bookingIds, changeType);
+    }
+
+    /**
+     * Record a change to orders made with set-based statements, reading their rows as they are now.
+     * Must run after the change, in the same transaction.
+     */
+    public void appendOrders(Collection<Long> orderIds, ChangeType changeType) {
+        appendRows(AggregateType.ORDER, "orders", "order_id", ORDER_JSON, orderIds, changeType);
+    }
+
+    /**
+     * Record that bookings and their orders are about to move to the archive.
+     * Must run before the rows are deleted; payloads carry only the ids.
+     */
+    public void appendArchived(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        String in = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        Object[] ids = bookingIds.toArray();
+        jdbcTemplate.update("INSERT INTO change_outbox (aggregate_type, aggregate_id, change_type, payload) " +
+                "SELECT 'ORDER', order_id, 'ARCHIVED', JSON_OBJECT('orderId', order_id, 'bookingId', booking_id) " +
+                "FROM orders WHERE booking_id IN (" + in + ") ORDER BY order_id", ids);
+        jdbcTemplate.update("INSERT INTO change_outbox (aggregate_type, aggregate_id, change_type, payload) " +
+                "SELECT 'BOOKING', booking_id, 'ARCHIVED', JSON_OBJECT('bookingId', booking_id) " +
+                "FROM booking WHERE booking_id IN (" + in + ") ORDER BY booking_id", ids);
+    }
+
+    /**
+     * Changes after the cursor in feed order, stopping short of any change that may still have an
+     * uncommitted one before it.
+     * Ids are handed out at insert but become visible at commit, so changes stamped at or after
+     * {@link CommitHorizon#settledBefore} and every id from the first of them on are held back;
+     * otherwise the cursor could step over a change that commits later with a lower id.
+     *
+     * @param aggregateType only changes of this kind, or all when null
+     */
+    public List<ChangeDTO> findAfter(long afterId, int limit, AggregateType aggregateType, long settleMs) {
+        Long heldBack = jdbcTemplate.queryForObject("SELECT MIN(change_id) FROM change_outbox WHERE created_at >= ?",
+                Long.class, Timestamp.valueOf(commitHorizon.settledBefore(settleMs)));
+        long beforeId = heldBack != null ? heldBack : Long.MAX_VALUE;
+        if (aggregateType == null) {
+            return jdbcTemplate.query("SELECT * FROM change_outbox WHERE change_id > ? AND change_id < ? " +
+                    "ORDER BY change_id LIMIT ?", CHANGE_ROW, afterId, beforeId, limit);
+        }
+        return jdbcTemplate.query("SELECT * FROM change_outbox WHERE aggregate_type = ? AND change_id > ? " +
+                "AND change_id < ? ORDER BY change_id LIMIT ?", CHANGE_ROW,
+                aggregateType.name(), afterId, beforeId, limit);
+    }
+
+    /**
+     * Id of the newest change, or 0 when the feed is empty
+     */
+    public long head() {
+        Long head = jdbcTemplate.queryForObject("SELECT MAX(change_id) FROM change_outbox", Long.class);
+        return head != null ? head : 0L;
+    }
+
+    /**
+     * Delete up to {@code limit} changes created before the cutoff, oldest first
+     *
+     * @return number of changes deleted
+     */
+    public int deleteBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM change_outbox WHERE created_at < ? ORDER BY change_id LIMIT ?",
+                Timestamp.valueOf(cutoff), limit);
+    }
+
+    private void appendRows(AggregateType aggregateType, String table, String idColumn, String json,
+                            Collection<Long> ids, ChangeType changeType) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = new Object[ids.size() + 2];
+        args[0] = aggregateType.name();
+        args[1] = changeType.name();
+        System.arraycopy(ids.toArray(), 0, args, 2, ids.size());
+        jdbcTemplate.update("INSERT INTO change_outbox (aggregate_type, aggregate_id, change_type, payload) " +
+                "SELECT ?, " + idColumn + ", ?, " + json + " FROM " + table + " WHERE " + idColumn + " IN (" + in + ") " +
+                "ORDER BY " + idColumn, args);
+    }
+
+    private void append(AggregateType aggregateType, Long aggregateId, ChangeType changeType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + aggregateType + " " + aggregateId, e);
+        }
+        jdbcTemplate.update(INSERT, aggregateType.name(), aggregateId, changeType.name(), json);
+    }
+}
@@ -0,0 +1,43 @@
+package com.amdocs.spx.changefeed;
+
+import com.amdocs.spx.entity.Booking;
+import com.amdocs.spx.entity.Order;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener appending every booking and order write to the change outbox.
+ * Runs at flush, inside the writing transaction, so the change and its outbox row commit or roll back together.
+ */
+@Component
+public class ChangeOutboxListener {
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @PostPersist
+    public void onCreate(Object entity) {
+        append(entity, ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        append(entity, ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onDelete(Object entity) {
+        append(entity, ChangeType.DELETED);
+    }
+
+    private void append(Object entity, ChangeType changeType) {
+        if (entity instanceof Booking) {
+            changeOutbox.append((Booking) entity, changeType);
+        } else if (entity instanceof Order) {
+            changeOutbox.append((Order) entity, changeType);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.amdocs.spx.changefeed;
+
+/**
+ * What happened to the record.
+ * ARCHIVED means the record left the live tables for the archive and carries only its ids.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    ARCHIVED
+}
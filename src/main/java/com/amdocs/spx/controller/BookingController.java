@@ -1,12 +1,22 @@
 package com.amdocs.spx.controller;
 
+import com.amdocs.spx.bookinglog.BookingEventRecord;
+import com.amdocs.spx.bookinglog.BookingProjector;
+import com.amdocs.spx.dto.BookingProjectionReportDTO;
 import com.amdocs.spx.entity.*;
+import com.amdocs.spx.exception.RateLimitExceededException;
+import com.amdocs.spx.ratelimit.ConcurrencyLimited;
+import com.amdocs.spx.ratelimit.RateLimitGroup;
+import com.amdocs.spx.ratelimit.RateLimiter;
 import com.amdocs.spx.repository.*;
 import com.amdocs.spx.request.BookingRequest;
+import com.amdocs.spx.request.FieldSelection;
+import com.amdocs.spx.service.ArchiveService;
 import com.amdocs.spx.service.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -38,6 +48,15 @@ public class BookingController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private BookingProjector bookingProjector;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
 
     private Booking convertToDto(BookingRequest bookingRequest) {
         Booking booking = new Booking();
@@ -59,6 +78,13 @@ public class BookingController {
     }
 
     private BookingRequest convertToRequest(Booking booking) {
+        return convertToRequest(booking, FieldSelection.all());
+    }
+
+    /**
+     * Only walks the event, venue and orders associations when their fields are selected
+     */
+    private BookingRequest convertToRequest(Booking booking, FieldSelection fields) {
         BookingRequest bookingRequest = new BookingRequest();
         bookingRequest.setBookingReference(booking.getBookingReference());
         bookingRequest.setEventId(booking.getEvent().getEventId());
@@ -67,52 +93,46 @@ public class BookingController {
         bookingRequest.setQuantity(booking.getQuantity());
         bookingRequest.setBookingStatus(booking.getBookingStatus());
         bookingRequest.setBookingId(booking.getBookingId());
-        Long eventId = booking.getEvent().getEventId();
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
-        Venue venue = event.getVenue();
-        bookingRequest.setVenueName(venue.getVenueName());
-        bookingRequest.setEventName(event.getEventName());
-        bookingRequest.setBookingDate(LocalDate.from(event.getEventDate()));
-        bookingRequest.setEventId(booking.getEvent().getEventId());
-        List<Order> orders = booking.getOrders();
-        if (orders != null && !orders.isEmpty()) {
-            Order order = orders.get(0);
-            bookingRequest.setOrderId(order.getOrderId());
-        } else {
-            bookingRequest.setOrderId(null); // No order linked yet
+        if (fields.includes("eventName") || fields.includes("bookingDate") || fields.includes("venueName")) {
+            Event event = booking.getEvent();
+            bookingRequest.setEventName(event.getEventName());
+            bookingRequest.setBookingDate(LocalDate.from(event.getEventDate()));
+            if (fields.includes("venueName")) {
+                Venue venue = event.getVenue();
+                bookingRequest.setVenueName(venue.getVenueName());
+            }
+        }
+        if (fields.includes("orderId")) {
+            List<Order> orders = booking.getOrders();
+            if (orders != null && !orders.isEmpty()) {
+                Order order = orders.get(0);
+                bookingRequest.setOrderId(order.getOrderId());
+            } else {
+                bookingRequest.setOrderId(null); // No order linked yet
+            }
         }
-
-
         return bookingRequest;
     }
-    private BookingRequest convertToRequest(Booking booking, Long  userId) {
-        BookingRequest bookingRequest = new BookingRequest();
-        bookingRequest.setBookingReference(booking.getBookingReference());
-        bookingRequest.setEventId(booking.getEvent().getEventId());
-        bookingRequest.setUserId(booking.getUser().getUserId());
-        bookingRequest.setTicketTypeId(booking.getTicketType().getTicketTypeId());
-        bookingRequest.setQuantity(booking.getQuantity());
-        bookingRequest.setBookingStatus(booking.getBookingStatus());
-        bookingRequest.setBookingId(booking.getBookingId());
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        Long eventId = booking.getEvent().getEventId();
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
-        Venue venue = event.getVenue();
-        bookingRequest.setVenueName(venue.getVenueName());
-        bookingRequest.setEventName(event.getEventName());
-        bookingRequest.setBookingDate(LocalDate.from(event.getEventDate()));
-        return bookingRequest;
+
+    private MappingJacksonValue withFields(Object value, FieldSelection fields) {
+        MappingJacksonValue body = new MappingJacksonValue(value);
+        body.setFilters(fields.filterProvider());
+        return body;
     }
 
 
     /**
-     * Create new booking
+     * Create new booking, limited per user on top of the per-IP limit
      */
+    @ConcurrencyLimited
     @PostMapping(value = "/createBooking", consumes = "application/json", produces = "application/json")
     public BookingRequest createBooking(@RequestBody BookingRequest bookingrequest) {
+        if (bookingrequest.getUserId() != null) {
+            long retryAfterNanos = rateLimiter.tryAcquire(RateLimitGroup.BOOKING, "user:" + bookingrequest.getUserId());
+            if (retryAfterNanos > 0) {
+                throw new RateLimitExceededException(retryAfterNanos);
+            }
+        }
         Booking booking =  convertToDto(bookingrequest);
         return convertToRequest(bookingService.createBooking(booking));
 
@@ -142,34 +162,48 @@ public class BookingController {
      * Get all bookings for a user
      */
     @PostMapping("/user")
-    public List<BookingRequest> getUserBookings(@RequestBody UserRequest request) {
-        Long userId = request.getUserId();
-        User user =  userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        List<Booking> ans =  user.getBookings();
-        List<BookingRequest> toReturn = new ArrayList<>();
-        for(Booking booking : ans) {
-            toReturn.add(convertToRequest(booking,userId));
-        }
-        return toReturn;
+    public MappingJacksonValue getUserBookings(@RequestBody UserRequest request,
+                                               @RequestParam(required = false) String fields) {
+        return withFields(bookingService.getUserBookingRows(request.getUserId()), FieldSelection.parse(fields));
     }
 
     /**
      * Get all bookings for an event
      */
     @PostMapping("/event")
-    public List<BookingRequest> getEventBookings(@RequestBody EventRequest request) {
-
+    public MappingJacksonValue getEventBookings(@RequestBody EventRequest request,
+                                                @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
         List<Booking> bookings = bookingService.getEventBookings(request.getEventId());
         List<BookingRequest> toReturn = new ArrayList<>();
         for(Booking booking : bookings) {
-            toReturn.add(convertToRequest(booking));
+            toReturn.add(convertToRequest(booking, selection));
         }
-        return toReturn;
+        return withFields(toReturn, selection);
+    }
+
+    /**
+     * Get a user's bookings including archived ones
+     */
+    @PostMapping("/user/history")
+    public MappingJacksonValue getUserBookingHistory(@RequestBody UserRequest request,
+                                                     @RequestParam(required = false) String fields) {
+        return withFields(archiveService.getUserBookingHistory(request.getUserId()), FieldSelection.parse(fields));
+    }
+
+    /**
+     * Get an event's bookings including archived ones
+     */
+    @PostMapping("/event/history")
+    public MappingJacksonValue getEventBookingHistory(@RequestBody EventRequest request,
+                                                      @RequestParam(required = false) String fields) {
+        return withFields(archiveService.getEventBookingHistory(request.getEventId()), FieldSelection.parse(fields));
     }
 
     /**
      * Change booking status
      */
+    @ConcurrencyLimited
     @PutMapping("/{bookingId}/status")
     public BookingRequest updateBookingStatus(@PathVariable Long bookingId, @RequestBody StatusRequest request) {
         Booking booking = bookingService.updateBookingStatus(bookingId, request.getStatus());
@@ -179,6 +213,7 @@ public class BookingController {
     /**
      * Cancel a booking
      */
+    @ConcurrencyLimited
     @PutMapping("/{bookingId}/cancel")
     public BookingRequest cancelBooking(@PathVariable Long bookingId) {
         Booking booking = bookingService.cancelBooking(bookingId);
@@ -188,6 +223,7 @@ public class BookingController {
     /**
      * Confirm booking after payment
      */
+    @ConcurrencyLimited
     @PutMapping("/{bookingId}/confirm")
     public BookingRequest confirmBooking(@PathVariable Long bookingId) {
 
@@ -270,24 +306,30 @@ public class BookingController {
         }
     }
 
+    @ConcurrencyLimited
     @DeleteMapping("/delete/{id}")
     public String deleteBooking(@PathVariable Long id) {
         return bookingService.deleteBooking(id);
     }
 
     @GetMapping("/getAllBookings")
-    public List<BookingRequest> getAllBookings() {
+    public MappingJacksonValue getAllBookings(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (selection.isWithin(BookingService.ROW_FIELDS)) {
+            return withFields(bookingService.getAllBookingRows(), selection);
+        }
         List<Booking>  bookings = bookingService.getAllBookings();
         List<BookingRequest> toReturn = new ArrayList<>();
         for(Booking booking : bookings) {
-            toReturn.add(convertToRequest(booking));
+            toReturn.add(convertToRequest(booking, selection));
         }
-        return toReturn;
+        return withFields(toReturn, selection);
     }
 
     /**
      * Complete booking (mark as completed after event)
      */
+    @ConcurrencyLimited
     @PutMapping("/{bookingId}/complete")
     public ResponseEntity<Booking> completeBooking(@PathVariable Long bookingId) {
         try {
@@ -302,6 +344,30 @@ public class BookingController {
         }
     }
 
+    /**
+     * Lifecycle events of a booking, oldest first
+     */
+    @GetMapping("/{bookingId}/events")
+    public ResponseEntity<List<BookingEventRecord>> getBookingEvents(@PathVariable Long bookingId) {
+        try {
+            return new ResponseEntity<>(bookingProjector.getHistory(bookingId), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Rebuild booking statuses and sold counts from the event log, repairing drift when asked
+     */
+    @PostMapping("/projections/rebuild")
+    public ResponseEntity<BookingProjectionReportDTO> rebuildProjections(@RequestParam(defaultValue = "false") boolean repair) {
+        try {
+            return new ResponseEntity<>(bookingProjector.rebuild(repair), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // Request DTO classes for @RequestBody parameters
 
     public static class BookingReferenceRequest {
@@ -0,0 +1,40 @@
+package com.amdocs.spx.controller;
+
+import com.amdocs.spx.dto.CacheRegionStatsDTO;
+import com.amdocs.spx.service.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/cache")
+@CrossOrigin(origins = "*")
+public class CacheStatsController {
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    /**
+     * Second-level cache statistics per region
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getRegionStats() {
+        try {
+            return new ResponseEntity<>(cacheStatsService.getRegionStats(), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Start counting from zero
+     */
+    @DeleteMapping("/stats")
+    public ResponseEntity<String> resetStats() {
+        cacheStatsService.resetStats();
+        return new ResponseEntity<>("Cache statistics reset", HttpStatus.OK);
+    }
+}
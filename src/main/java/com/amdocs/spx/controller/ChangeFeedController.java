@@ -0,0 +1,45 @@
+package com.amdocs.spx.controller;
+
+import com.amdocs.spx.changefeed.ChangeFeedService;
+import com.amdocs.spx.dto.ChangeFeedPageDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    /**
+     * Booking and order changes after the cursor, oldest first
+     */
+    @GetMapping
+    public ResponseEntity<ChangeFeedPageDTO> getChanges(@RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(defaultValue = "500") int limit,
+                                                        @RequestParam(required = false) String type) {
+        try {
+            return new ResponseEntity<>(changeFeedService.getChanges(after, limit, type), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Cursor of the newest change
+     */
+    @GetMapping("/head")
+    public ResponseEntity<Long> getHead() {
+        try {
+            return new ResponseEntity<>(changeFeedService.getHead(), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
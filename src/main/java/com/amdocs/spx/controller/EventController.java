@@ -1,13 +1,30 @@
 package com.amdocs.spx.controller;
 
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.cache.JsonResponseCache;
+import com.amdocs.spx.dto.EventCancellationProgressDTO;
+import com.amdocs.spx.dto.EventCompletionResultDTO;
 import com.amdocs.spx.dto.EventDTO;
+import com.amdocs.spx.dto.ImportResultDTO;
 import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.exception.ResourceNotFoundException;
+import com.amdocs.spx.importer.EventImporter;
+import com.amdocs.spx.importer.ImportFormat;
+import com.amdocs.spx.mapper.EventMapper;
+import com.amdocs.spx.request.FieldSelection;
+import com.amdocs.spx.service.EventCancellationService;
+import com.amdocs.spx.service.EventCompletionService;
 import com.amdocs.spx.service.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,9 +33,26 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class EventController {
 
+    private static final int MAX_BULK_IDS = 200;
+
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @Autowired
+    private EventImporter eventImporter;
+
+    @Autowired
+    private EventCompletionService eventCompletionService;
+
+    @Autowired
+    private EventCancellationService eventCancellationService;
+
     /**
      * Create new event
      */
@@ -80,8 +114,11 @@ public class EventController {
      * Get event details
      */
     @GetMapping("/{eventId}")
-    public ResponseEntity<EventDTO> getEventById(@PathVariable Long eventId) {
+    public ResponseEntity<EventDTO> getEventById(@PathVariable Long eventId, WebRequest webRequest) {
         try {
+            if (webRequest.checkNotModified(catalogVersions.eventTag(eventId))) {
+                return null;
+            }
             Event event = eventService.getEventById(eventId);
             EventDTO eventDTO = convertToDTO(event);
             return new ResponseEntity<>(eventDTO, HttpStatus.OK);
@@ -96,13 +133,20 @@ public class EventController {
      * List all events
      */
     @GetMapping("/getAllEvents")
-    public ResponseEntity<List<EventDTO>> getAllEvents() {
+    public ResponseEntity<byte[]> getAllEvents(@RequestParam(required = false) String fields, WebRequest webRequest) {
         try {
-            List<Event> events = eventService.getAllEvents();
-            List<EventDTO> eventDTOs = events.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            return new ResponseEntity<>(eventDTOs, HttpStatus.OK);
+            FieldSelection selection = FieldSelection.parse(fields);
+            String eTag = catalogVersions.listTag("events-" + selection.key(), CatalogVersions.EVENT, CatalogVersions.TICKET_TYPE,
+                    CatalogVersions.VENUE, CatalogVersions.USER);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            byte[] body = jsonResponseCache.get("events:all", eTag, selection, () -> selection.isAll()
+                    ? eventService.getAllEvents().stream()
+                            .map(this::convertToDTO)
+                            .collect(Collectors.toList())
+                    : eventService.getAllEvents(selection));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -143,21 +187,68 @@ public class EventController {
     }
 
     /**
-     * Get future events
+     * Get future events, optionally the next few in a category or city
      */
     @GetMapping("/upcoming")
-    public ResponseEntity<List<EventDTO>> getUpcomingEvents() {
+    public ResponseEntity<byte[]> getUpcomingEvents(@RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String category,
+                                                    @RequestParam(required = false) String city,
+                                                    @RequestParam(required = false) String fields) {
         try {
-            List<Event> events = eventService.getUpcomingEvents();
-            List<EventDTO> eventDTOs = events.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            String key = "events:upcoming:" + limit + ":" + category + ":" + city;
+            String stamp = String.valueOf(eventService.getUpcomingFeedVersion());
+            byte[] body = jsonResponseCache.get(key, stamp, FieldSelection.parse(fields),
+                    () -> eventService.getUpcomingEvents(limit, category, city));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Get many events in one call, in the order the ids were given
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<EventDTO>> getEventsByIds(@RequestBody BulkRequest request) {
+        if (request.getEventIds() == null || request.getEventIds().size() > MAX_BULK_IDS) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        try {
+            List<EventDTO> eventDTOs = eventService.getEventsByIds(request.getEventIds());
             return new ResponseEntity<>(eventDTOs, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Import events and ticket types from a CSV or NDJSON body, reporting rows that failed
+     */
+    @PostMapping(value = "/import", consumes = {ImportFormat.CSV_TYPE, ImportFormat.NDJSON_TYPE}, produces = "application/json")
+    public ResponseEntity<ImportResultDTO> importEvents(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) {
+        try {
+            ImportResultDTO result = eventImporter.importEvents(body, ImportFormat.fromContentType(contentType));
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException | IOException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Complete events that have ended and their confirmed bookings now, instead of waiting for the job
+     */
+    @PostMapping("/complete-finished")
+    public ResponseEntity<EventCompletionResultDTO> completeFinishedEvents() {
+        try {
+            return new ResponseEntity<>(eventCompletionService.completeFinishedEvents(), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Search events by criteria
      */
@@ -192,6 +283,32 @@ public class EventController {
         }
     }
 
+    /**
+     * Cancel an event with all its bookings and orders, as a background job
+     */
+    @PostMapping("/{eventId}/cancel")
+    public ResponseEntity<EventCancellationProgressDTO> cancelEvent(@PathVariable Long eventId) {
+        try {
+            return new ResponseEntity<>(eventCancellationService.cancelEvent(eventId), HttpStatus.ACCEPTED);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Progress of an event's cancellation
+     */
+    @GetMapping("/{eventId}/cancel")
+    public ResponseEntity<EventCancellationProgressDTO> getCancellationProgress(@PathVariable Long eventId) {
+        return eventCancellationService.getProgress(eventId)
+                .map(progress -> new ResponseEntity<>(progress, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+    }
+
     /**
      * Get events at specific venue
      */
@@ -213,86 +330,11 @@ public class EventController {
     // Conversion methods
 
     private EventDTO convertToDTO(Event event) {
-        EventDTO dto = new EventDTO();
-        dto.setEventId(event.getEventId());
-        dto.setEventName(event.getEventName());
-
-        dto.setCategory(event.getCategory());
-        dto.setEventDate(event.getEventDate());
-        dto.setStatus(event.getStatus());
-        dto.setBannerImageUrl(event.getBannerImageUrl());
-        dto.setTotalTicketsAvailable(event.getTotalTicketsAvailable());
-        dto.setTicketsSold(event.getTicketsSold());
-
-        // Convert Venue
-        if (event.getVenue() != null) {
-            EventDTO.VenueDTO venueDTO = new EventDTO.VenueDTO();
-            venueDTO.setVenueId(event.getVenue().getVenueId());
-            venueDTO.setVenueName(event.getVenue().getVenueName());
-            venueDTO.setAddress(event.getVenue().getAddress());
-            venueDTO.setCity(event.getVenue().getCity());
-            venueDTO.setCapacity(event.getVenue().getTotalCapacity());
-            dto.setVenue(venueDTO);
-        }
-
-        // Convert Organizer
-        if (event.getOrganizer() != null) {
-            EventDTO.OrganizerDTO organizerDTO = new EventDTO.OrganizerDTO();
-            organizerDTO.setUserId(event.getOrganizer().getUserId());
-            organizerDTO.setFirstName(event.getOrganizer().getFirstName());
-            organizerDTO.setLastName(event.getOrganizer().getLastName());
-            organizerDTO.setEmail(event.getOrganizer().getEmail());
-            dto.setOrganizer(organizerDTO);
-        }
-
-        // Convert Ticket Types
-        if (event.getTicketTypes() != null && !event.getTicketTypes().isEmpty()) {
-            List<EventDTO.TicketTypeDTO> ticketTypeDTOs = event.getTicketTypes().stream()
-                    .map(tt -> {
-                        EventDTO.TicketTypeDTO ttDTO = new EventDTO.TicketTypeDTO();
-                        ttDTO.setTicketTypeId(tt.getTicketTypeId());
-                        ttDTO.setTypeName(tt.getTypeName());
-
-                        ttDTO.setPrice(tt.getPrice().doubleValue());
-                        ttDTO.setQuantityAvailable(tt.getQuantityAvailable());
-                        ttDTO.setQuantitySold(tt.getQuantitySold());
-                        ttDTO.setIsActive(tt.getIsActive());
-                        return ttDTO;
-                    })
-                    .collect(Collectors.toList());
-            dto.setTicketTypes(ticketTypeDTOs);
-        }
-
-        return dto;
+        return EventMapper.toDTO(event);
     }
 
     private Event convertToEntity(EventDTO dto) {
-        Event event = new Event();
-        event.setEventId(dto.getEventId());
-        event.setEventName(dto.getEventName());
-
-        event.setCategory(dto.getCategory());
-        event.setEventDate(dto.getEventDate());
-        event.setStatus(dto.getStatus());
-        event.setBannerImageUrl(dto.getBannerImageUrl());
-        event.setTotalTicketsAvailable(dto.getTotalTicketsAvailable());
-        event.setTicketsSold(dto.getTicketsSold());
-
-        // Note: For venue and organizer, you'll need to set them with just IDs
-        // The service layer should handle fetching the full entities
-        if (dto.getVenue() != null && dto.getVenue().getVenueId() != null) {
-            com.amdocs.spx.entity.Venue venue = new com.amdocs.spx.entity.Venue();
-            venue.setVenueId(dto.getVenue().getVenueId());
-            event.setVenue(venue);
-        }
-
-        if (dto.getOrganizer() != null && dto.getOrganizer().getUserId() != null) {
-            com.amdocs.spx.entity.User organizer = new com.amdocs.spx.entity.User();
-            organizer.setUserId(dto.getOrganizer().getUserId());
-            event.setOrganizer(organizer);
-        }
-
-        return event;
+        return EventMapper.toEntity(dto);
     }
 
     @DeleteMapping("/deleteEvent/{id}")
@@ -332,6 +374,13 @@ public class EventController {
         public void setStatus(String status) { this.status = status; }
     }
 
+    public static class BulkRequest {
+        private List<Long> eventIds;
+
+        public List<Long> getEventIds() { return eventIds; }
+        public void setEventIds(List<Long> eventIds) { this.eventIds = eventIds; }
+    }
+
     public static class VenueRequest {
         private Long venueId;
 
@@ -2,6 +2,7 @@ package com.amdocs.spx.controller;
 
 import com.amdocs.spx.dto.OrderDTO;
 import com.amdocs.spx.entity.Order;
+import com.amdocs.spx.ratelimit.ConcurrencyLimited;
 import com.amdocs.spx.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -22,6 +23,7 @@ public class OrderController {
     private OrderService orderService;
 
 
+    @ConcurrencyLimited
     @PostMapping("/createOrder")
     public ResponseEntity<OrderDTO> createOrder(@RequestBody CreateOrderRequest request) {
         try {
@@ -41,6 +43,7 @@ public class OrderController {
         }
     }
 
+    @ConcurrencyLimited
     @DeleteMapping("/deleteOrder/{id}")
     public String deleteOrder(@PathVariable Long id) {
         return orderService.deleteOrder(id);
@@ -48,6 +51,7 @@ public class OrderController {
 
 
 
+    @ConcurrencyLimited
     @PutMapping("/editOrder/{id}")
     public OrderDTO editOrder(@PathVariable Long id, @RequestBody OrderDTO orderDTO) {
         return orderService.editOrder(id,orderDTO);
@@ -110,6 +114,7 @@ public class OrderController {
 
 
 
+    @ConcurrencyLimited
     @PutMapping("/{orderId}/payment-status")
     public ResponseEntity<OrderDTO> updatePaymentStatus(@PathVariable Long orderId, @RequestBody PaymentStatusRequest request) {
         try {
@@ -127,6 +132,7 @@ public class OrderController {
     /**
      * Handle payment processing
      */
+    @ConcurrencyLimited
     @PutMapping("/{orderId}/process-payment")
     public ResponseEntity<OrderDTO> processPayment(@PathVariable Long orderId, @RequestBody ProcessPaymentRequest request) {
         try {
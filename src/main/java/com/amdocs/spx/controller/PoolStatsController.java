@@ -0,0 +1,29 @@
+package com.amdocs.spx.controller;
+
+import com.amdocs.spx.dto.PoolStatsDTO;
+import com.amdocs.spx.service.PoolStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/pool")
+@CrossOrigin(origins = "*")
+public class PoolStatsController {
+
+    @Autowired
+    private PoolStatsService poolStatsService;
+
+    /**
+     * Connection pool occupancy and size limits; latency histograms are under /actuator/metrics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<PoolStatsDTO> getPoolStats() {
+        try {
+            return new ResponseEntity<>(poolStatsService.getPoolStats(), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
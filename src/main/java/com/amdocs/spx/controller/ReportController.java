@@ -0,0 +1,44 @@
+package com.amdocs.spx.controller;
+
+import com.amdocs.spx.analytics.ReportFilter;
+import com.amdocs.spx.dto.ReportRowDTO;
+import com.amdocs.spx.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("api/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    /**
+     * Bookings, tickets and revenue grouped by category, city, payment method, status or day
+     */
+    @GetMapping("/bookings")
+    public ResponseEntity<List<ReportRowDTO>> getBookingReport(
+            @RequestParam(defaultValue = "CATEGORY") String groupBy,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            ReportFilter filter = new ReportFilter(status, category, city, paymentMethod, from, to);
+            return new ResponseEntity<>(reportService.getBookingReport(groupBy, filter), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.amdocs.spx.controller;
 
+import com.amdocs.spx.cache.CatalogVersions;
 import com.amdocs.spx.dto.TicketTypeDTO;
 import com.amdocs.spx.entity.Event;
 import com.amdocs.spx.entity.TicketType;
 import com.amdocs.spx.repository.TicketTypeRepository;
+import com.amdocs.spx.service.EventService;
 import com.amdocs.spx.service.TicketTypeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,6 +25,10 @@ public class TicketTypeController {
     private TicketTypeService ticketTypeService;
     @Autowired
     private TicketTypeRepository ticketTypeRepository;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private CatalogVersions catalogVersions;
     /**
      * Add ticket type to event
      */
@@ -49,6 +56,7 @@ public class TicketTypeController {
         ticketType.setQuantityAvailable(ticketTypeDetails.getQuantityAvailable());
         ticketType.setQuantitySold(ticketTypeDetails.getQuantitySold());
         ticketTypeRepository.save(ticketType);
+        eventService.refreshUpcomingTicketType(ticketType);
         return getTicketTypeDTO(ticketTypeDTO, ticketType);
     }
 
@@ -75,8 +83,11 @@ public class TicketTypeController {
      * Get ticket type details
      */
     @GetMapping("/{ticketTypeId}")
-    public ResponseEntity<TicketTypeDTO> getTicketTypeById(@PathVariable Long ticketTypeId) {
+    public ResponseEntity<TicketTypeDTO> getTicketTypeById(@PathVariable Long ticketTypeId, WebRequest webRequest) {
         try {
+            if (webRequest.checkNotModified(catalogVersions.ticketTypeTag(ticketTypeId))) {
+                return null;
+            }
             TicketType ticketType = ticketTypeService.getTicketTypeById(ticketTypeId);
             System.out.println(ticketType.getTicketTypeId());
             // Convert tickettype to DTO
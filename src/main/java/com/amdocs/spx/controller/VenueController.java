@@ -1,15 +1,18 @@
 package com.amdocs.spx.controller;
 
+import com.amdocs.spx.cache.CatalogVersions;
 import com.amdocs.spx.dto.EventDTO;
 import com.amdocs.spx.dto.VenueDTO;
 import com.amdocs.spx.entity.Event;
 import com.amdocs.spx.entity.Venue;
+import com.amdocs.spx.mapper.EventMapper;
 import com.amdocs.spx.service.VenueService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -25,6 +28,9 @@ public class VenueController {
     @Autowired
     private VenueService venueService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     private VenueDTO convertToDTO(Venue venue) {
         VenueDTO venueDTO = new VenueDTO();
         venueDTO.setVenueId(venue.getVenueId());
@@ -81,8 +87,11 @@ public class VenueController {
 
     // Get venue by ID - Use @PathVariable for ID
     @GetMapping("/{venueId}")
-    public ResponseEntity<Venue> getVenueById(@PathVariable Long venueId) {
+    public ResponseEntity<Venue> getVenueById(@PathVariable Long venueId, WebRequest webRequest) {
         try {
+            if (webRequest.checkNotModified(catalogVersions.venueTag(venueId))) {
+                return null;
+            }
             Optional<Venue> venue = venueService.getVenueById(venueId);
             if (venue.isPresent()) {
                 return new ResponseEntity<>(venue.get(), HttpStatus.OK);
@@ -96,8 +105,11 @@ public class VenueController {
 
     // Get all venues - No parameters needed
     @GetMapping("/getVenues")
-    public ResponseEntity<List<VenueDTO>> getAllVenues() {
+    public ResponseEntity<List<VenueDTO>> getAllVenues(WebRequest webRequest) {
         try {
+            if (webRequest.checkNotModified(catalogVersions.listTag("venues", CatalogVersions.VENUE))) {
+                return null;
+            }
             List<Venue> venues = venueService.getAllVenue();
             List<VenueDTO> venueDTOList = new ArrayList<>();
 
@@ -147,59 +159,6 @@ public class VenueController {
         }
     }
 
-    private EventDTO convertToDTO(Event event) {
-        EventDTO dto = new EventDTO();
-        dto.setEventId(event.getEventId());
-        dto.setEventName(event.getEventName());
-
-        dto.setCategory(event.getCategory());
-        dto.setEventDate(event.getEventDate());
-        dto.setStatus(event.getStatus());
-        dto.setBannerImageUrl(event.getBannerImageUrl());
-        dto.setTotalTicketsAvailable(event.getTotalTicketsAvailable());
-        dto.setTicketsSold(event.getTicketsSold());
-
-        // Convert Venue
-        if (event.getVenue() != null) {
-            EventDTO.VenueDTO venueDTO = new EventDTO.VenueDTO();
-            venueDTO.setVenueId(event.getVenue().getVenueId());
-            venueDTO.setVenueName(event.getVenue().getVenueName());
-            venueDTO.setAddress(event.getVenue().getAddress());
-            venueDTO.setCity(event.getVenue().getCity());
-            venueDTO.setCapacity(event.getVenue().getTotalCapacity());
-            dto.setVenue(venueDTO);
-        }
-
-        // Convert Organizer
-        if (event.getOrganizer() != null) {
-            EventDTO.OrganizerDTO organizerDTO = new EventDTO.OrganizerDTO();
-            organizerDTO.setUserId(event.getOrganizer().getUserId());
-            organizerDTO.setFirstName(event.getOrganizer().getFirstName());
-            organizerDTO.setLastName(event.getOrganizer().getLastName());
-            organizerDTO.setEmail(event.getOrganizer().getEmail());
-            dto.setOrganizer(organizerDTO);
-        }
-
-        // Convert Ticket Types
-        if (event.getTicketTypes() != null && !event.getTicketTypes().isEmpty()) {
-            List<EventDTO.TicketTypeDTO> ticketTypeDTOs = event.getTicketTypes().stream()
-                    .map(tt -> {
-                        EventDTO.TicketTypeDTO ttDTO = new EventDTO.TicketTypeDTO();
-                        ttDTO.setTicketTypeId(tt.getTicketTypeId());
-                        ttDTO.setTypeName(tt.getTypeName());
-
-                        ttDTO.setPrice(tt.getPrice().doubleValue());
-                        ttDTO.setQuantityAvailable(tt.getQuantityAvailable());
-                        ttDTO.setQuantitySold(tt.getQuantitySold());
-                        ttDTO.setIsActive(tt.getIsActive());
-                        return ttDTO;
-                    })
-                    .collect(Collectors.toList());
-            dto.setTicketTypes(ticketTypeDTOs);
-        }
-
-        return dto;
-    }
     // Get all events for a specific venue - Use @PathVariable for ID
     @GetMapping("/{venueId}/events")
     public ResponseEntity<List<EventDTO>> getAllEventsByVenueId(@PathVariable Long venueId) {
@@ -207,7 +166,7 @@ public class VenueController {
             List<Event> events = venueService.getAllEventsByVenueId(venueId);
             List<EventDTO> dtoList = new ArrayList<>();
             for(Event event : events) {
-                dtoList.add(convertToDTO(event));
+                dtoList.add(EventMapper.toDTO(event));
             }
             return new ResponseEntity<>(dtoList, HttpStatus.OK);
         } catch (jakarta.persistence.EntityNotFoundException e) {
@@ -0,0 +1,23 @@
+package com.amdocs.spx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingChangeDTO {
+    private Long bookingId;
+    private String bookingReference;
+    private Long userId;
+    private Long eventId;
+    private Long ticketTypeId;
+    private Integer quantity;
+    private BigDecimal totalAmount;
+    private String bookingStatus;
+    private LocalDateTime bookingDate;
+}
@@ -0,0 +1,19 @@
+package com.amdocs.spx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingProjectionReportDTO {
+
+    private long lastEventId;
+    private long eventsReplayed;
+    private long eventsSkipped;
+    private int bookings;
+    private int statusMismatches;
+    private int soldCountMismatches;
+    private boolean repaired;
+}
@@ -0,0 +1,21 @@
+package com.amdocs.spx.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeDTO {
+    private Long changeId;
+    private String aggregateType;
+    private Long aggregateId;
+    private String changeType;
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,16 @@
+package com.amdocs.spx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedPageDTO {
+    private List<ChangeDTO> changes;
+    private long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,23 @@
+package com.amdocs.spx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCancellationProgressDTO {
+
+    private Long eventId;
+    private String state;
+    private long totalBookings;
+    private long bookingsCancelled;
+    private long ordersFailed;
+    private long ordersRefunded;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.amdocs.spx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCompletionResultDTO {
+
+    private int eventsCompleted;
+    private int bookingsCompleted;
+}
@@ -1,5 +1,7 @@
 package com.amdocs.spx.dto;
 
+import com.amdocs.spx.request.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,6 +14,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonFilter(FieldSelection.FILTER_ID)
 public class EventDTO {
 
     private Long eventId;
@@ -31,6 +34,7 @@ public class EventDTO {
 
     // Additional computed fields
     private Integer ticketsRemaining;
+    private Double minPrice;
     private Double averageRating;
     private Integer totalReviews;
 
@@ -82,4 +86,16 @@ public class EventDTO {
         }
         return ticketsRemaining;
     }
+
+    // Convenience method to find the cheapest active ticket price
+    public Double getMinPrice() {
+        if (ticketTypes != null && !ticketTypes.isEmpty()) {
+            return ticketTypes.stream()
+                    .filter(tt -> !Boolean.FALSE.equals(tt.getIsActive()) && tt.getPrice() != null)
+                    .map(TicketTypeDTO::getPrice)
+                    .min(Double::compare)
+                    .orElse(null);
+        }
+        return minPrice;
+    }
 }
\ No newline at end of file
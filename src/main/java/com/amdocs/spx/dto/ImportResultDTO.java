@@ -0,0 +1,27 @@
+package com.amdocs.spx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportResultDTO {
+
+    private long rowsRead;
+    private long eventsCreated;
+    private long ticketTypesCreated;
+    private long failedRows;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.amdocs.spx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoolStatsDTO {
+
+    private String poolName;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int threadsAwaitingConnection;
+    private int minimumIdle;
+    private int maximumPoolSize;
+    private boolean adaptive;
+    private double meanWaitMs;
+    private double meanDbLatencyMs;
+}
@@ -0,0 +1,17 @@
+package com.amdocs.spx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportRowDTO {
+    private String key;
+    private long bookings;
+    private long tickets;
+    private BigDecimal revenue;
+}
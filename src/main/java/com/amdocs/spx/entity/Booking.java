@@ -1,6 +1,6 @@
 package com.amdocs.spx.entity;
 
-
+import com.amdocs.spx.changefeed.ChangeOutboxListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -16,13 +16,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "booking")
+@EntityListeners(ChangeOutboxListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_id_gen")
+    @TableGenerator(name = "booking_id_gen", table = "id_generator", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "booking", allocationSize = 50)
     @Column(name = "booking_id")
     private Long bookingId;
 
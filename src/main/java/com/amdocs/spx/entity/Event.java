@@ -1,8 +1,11 @@
 package com.amdocs.spx.entity;
 
+import com.amdocs.spx.cache.CatalogChangeListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,13 +16,35 @@ import java.util.List;
 
 @Entity
 @Table(name = "event")
+@NamedEntityGraph(name = Event.CARD, attributeNodes = {
+        @NamedAttributeNode("venue"),
+        @NamedAttributeNode("ticketTypes")
+})
+@NamedEntityGraph(name = Event.DETAIL, attributeNodes = {
+        @NamedAttributeNode("venue"),
+        @NamedAttributeNode("organizer"),
+        @NamedAttributeNode("ticketTypes")
+})
+@EntityListeners(CatalogChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Event {
 
+    /**
+     * Fetch plan for listing cards, also used for an organizer's own events
+     */
+    public static final String CARD = "Event.card";
+
+    /**
+     * Fetch plan for the detail page and full listings
+     */
+    public static final String DETAIL = "Event.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "event_id_gen")
+    @TableGenerator(name = "event_id_gen", table = "id_generator", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "event", allocationSize = 50)
     @Column(name = "event_id")
     private Long eventId;
 
@@ -57,6 +82,7 @@ public class Event {
     private Integer ticketsSold = 0;
 
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event-ticket-types")
     private List<TicketType> ticketTypes = new ArrayList<>();
 
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL)
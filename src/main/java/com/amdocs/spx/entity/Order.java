@@ -1,6 +1,6 @@
 package com.amdocs.spx.entity;
 
-
+import com.amdocs.spx.changefeed.ChangeOutboxListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,13 +13,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "orders")
+@EntityListeners(ChangeOutboxListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id_gen")
+    @TableGenerator(name = "orders_id_gen", table = "id_generator", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = 50)
     @Column(name = "order_id")
     private Long orderId;
 
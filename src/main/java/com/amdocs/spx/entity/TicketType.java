@@ -1,8 +1,11 @@
 package com.amdocs.spx.entity;
 
+import com.amdocs.spx.cache.CatalogChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,13 +16,18 @@ import java.util.List;
 
 @Entity
 @Table(name = "ticket_type")
+@EntityListeners(CatalogChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ticket-type")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TicketType {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ticket_type_id_gen")
+    @TableGenerator(name = "ticket_type_id_gen", table = "id_generator", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "ticket_type", allocationSize = 50)
     @Column(name = "ticket_type_id")
     private Long ticketTypeId;
 
@@ -1,9 +1,12 @@
 package com.amdocs.spx.entity;
 
 
+import com.amdocs.spx.cache.CatalogChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,13 +16,18 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(CatalogChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id_gen")
+    @TableGenerator(name = "users_id_gen", table = "id_generator", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     @Column(name = "user_id")
     private Long userId;
 
@@ -1,8 +1,11 @@
 package com.amdocs.spx.entity;
 
 
+import com.amdocs.spx.cache.CatalogChangeListener;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,13 +15,18 @@ import java.util.List;
 
 @Entity
 @Table(name = "venue")
+@EntityListeners(CatalogChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "venue")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Venue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "venue_id_gen")
+    @TableGenerator(name = "venue_id_gen", table = "id_generator", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "venue", allocationSize = 50)
     @Column(name = "venue_id")
     private Long venueId;
 
@@ -0,0 +1,27 @@
+package com.amdocs.spx.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answered with 429 and a Retry-After header
+ */
+public class RateLimitExceededException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterNanos) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many requests");
+        this.retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
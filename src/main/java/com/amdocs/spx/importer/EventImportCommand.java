@@ -0,0 +1,65 @@
+package com.amdocs.spx.importer;
+
+import com.amdocs.spx.dto.ImportResultDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line entry to the event importer. Runs when started with {@code --spx.import.file=<path>},
+ * prints the outcome and exits, with status 1 when any row failed:
+ * <pre>
+ * java -jar spx.jar --spring.main.web-application-type=none --spx.import.file=events.csv
+ * </pre>
+ * The format follows the file extension unless {@code --spx.import.format=CSV|NDJSON} is given.
+ */
+@Component
+@ConditionalOnProperty("spx.import.file")
+public class EventImportCommand implements ApplicationRunner {
+
+    @Autowired
+    private EventImporter eventImporter;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${spx.import.file}")
+    private String file;
+
+    @Value("${spx.import.format:}")
+    private String format;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path path = Path.of(file);
+        ImportFormat importFormat = format.isBlank()
+                ? ImportFormat.fromFileName(path.getFileName().toString())
+                : ImportFormat.valueOf(format.toUpperCase());
+
+        ImportResultDTO result;
+        try (InputStream in = Files.newInputStream(path)) {
+            result = eventImporter.importEvents(in, importFormat);
+        }
+
+        System.out.printf("Read %d rows: %d events and %d ticket types created, %d rows failed%n",
+                result.getRowsRead(), result.getEventsCreated(), result.getTicketTypesCreated(), result.getFailedRows());
+        for (ImportResultDTO.RowError error : result.getErrors()) {
+            System.out.printf("  line %d: %s%n", error.getLine(), error.getMessage());
+        }
+        if (result.getFailedRows() > result.getErrors().size()) {
+            System.out.printf("  ... and %d more%n", result.getFailedRows() - result.getErrors().size());
+        }
+
+        int exitCode = result.getFailedRows() > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
@@ -0,0 +1,133 @@
+package com.amdocs.spx.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams {@link EventImportRow}s out of a CSV or NDJSON input, one line at a time.
+ * CSV input starts with a header row naming the columns; quoted values may contain commas and
+ * doubled quotes but not line breaks. A line that cannot be parsed comes back with its error set.
+ */
+public class EventImportReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private String[] header;
+    private long line;
+    private boolean started;
+
+    public EventImportReader(InputStream in, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Next non-blank row, or null at the end of the input
+     */
+    public EventImportRow next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (!started) {
+                text = stripBom(text);
+                started = true;
+            }
+            if (format == ImportFormat.CSV && header == null) {
+                header = split(text).toArray(new String[0]);
+                continue;
+            }
+            return format == ImportFormat.CSV ? csvRow(text) : jsonRow(text);
+        }
+        return null;
+    }
+
+    private EventImportRow csvRow(String text) {
+        EventImportRow row = new EventImportRow();
+        try {
+            List<String> values = split(text);
+            if (values.size() > header.length) {
+                throw new IllegalArgumentException("Expected " + header.length + " columns but found " + values.size());
+            }
+            for (int i = 0; i < values.size(); i++) {
+                String value = values.get(i).trim();
+                if (!row.set(header[i].trim(), value.isEmpty() ? null : value)) {
+                    throw new IllegalArgumentException("Unknown column: " + header[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            row = new EventImportRow();
+            row.setError(e.getMessage());
+        }
+        row.setLine(line);
+        return row;
+    }
+
+    private EventImportRow jsonRow(String text) {
+        EventImportRow row;
+        try {
+            row = objectMapper.readValue(text, EventImportRow.class);
+        } catch (JsonProcessingException e) {
+            row = new EventImportRow();
+            row.setError("Malformed JSON: " + e.getOriginalMessage());
+        }
+        row.setLine(line);
+        return row;
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted values
+     */
+    static List<String> split(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String stripBom(String text) {
+        return text.startsWith("\uFEFF") ? text.substring(1) : text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.amdocs.spx.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * One line of an event import file.
+ * A line creates the event named by {@code eventRef} the first time the reference appears, and
+ * a ticket type for it when {@code typeName} is set. Values are kept as text and validated by
+ * the importer, so a bad value fails its own row only.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EventImportRow {
+
+    @JsonIgnore
+    private long line;
+
+    @JsonIgnore
+    private String error;
+
+    private String eventRef;
+    private String eventName;
+    private String description;
+    private String category;
+    private String eventDate;
+    private String status;
+    private String bannerImageUrl;
+    private String totalTicketsAvailable;
+
+    // Venue id or name, organizer id, email or username
+    private String venue;
+    private String organizer;
+
+    private String typeName;
+    private String price;
+    private String quantityAvailable;
+
+    /**
+     * Set a column by its CSV header name, snake_case or camelCase
+     *
+     * @return false when the column is not known
+     */
+    public boolean set(String column, String value) {
+        switch (column.replace("_", "").toLowerCase()) {
+            case "eventref": eventRef = value; return true;
+            case "eventname": eventName = value; return true;
+            case "description": description = value; return true;
+            case "category": category = value; return true;
+            case "eventdate": eventDate = value; return true;
+            case "status": status = value; return true;
+            case "bannerimageurl": bannerImageUrl = value; return true;
+            case "totalticketsavailable": totalTicketsAvailable = value; return true;
+            case "venue": venue = value; return true;
+            case "organizer": organizer = value; return true;
+            case "typename": typeName = value; return true;
+            case "price": price = value; return true;
+            case "quantityavailable": quantityAvailable = value; return true;
+            default: return false;
+        }
+    }
+}
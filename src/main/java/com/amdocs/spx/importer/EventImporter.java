@@ -0,0 +1,355 @@
+package com.amdocs.spx.importer;
+
+import com.amdocs.spx.dto.ImportResultDTO;
+import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.entity.TicketType;
+import com.amdocs.spx.entity.User;
+import com.amdocs.spx.entity.Venue;
+import com.amdocs.spx.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of events and their ticket types from a CSV or NDJSON stream.
+ * Venues and organizers are loaded into maps once up front, so rows resolve their references
+ * without queries. Rows are persisted in chunks, one transaction per chunk, and Hibernate sends
+ * each chunk as JDBC batches. A chunk that fails is retried row by row so one bad row only
+ * costs itself; every rejected row is reported with its line number and the run carries on.
+ */
+@Service
+public class EventImporter {
+
+    private static final long AMBIGUOUS = -1L;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EventService eventService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spx.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${spx.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public EventImporter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Import every row of the input, skipping and reporting the ones that fail
+     */
+    public ImportResultDTO importEvents(InputStream in, ImportFormat format) throws IOException {
+        References references = loadReferences();
+        Map<String, Long> importedEvents = new HashMap<>();
+        Set<String> failedRefs = new HashSet<>();
+        ImportResultDTO result = new ImportResultDTO();
+
+        try (EventImportReader reader = new EventImportReader(in, format, objectMapper)) {
+            List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+            Set<String> chunkRefs = new HashSet<>();
+            EventImportRow row;
+            while ((row = reader.next()) != null) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                try {
+                    chunk.add(parse(row, references, importedEvents, chunkRefs, failedRefs));
+                } catch (IllegalArgumentException e) {
+                    fail(result, row.getLine(), e.getMessage());
+                    String ref = row.getEventRef();
+                    if (ref != null && !importedEvents.containsKey(ref) && !chunkRefs.contains(ref)) {
+                        failedRefs.add(ref);
+                    }
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, importedEvents, failedRefs, result);
+                    chunk.clear();
+                    chunkRefs.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, importedEvents, failedRefs, result);
+            }
+        }
+
+        if (result.getEventsCreated() > 0 || result.getTicketTypesCreated() > 0) {
+            eventService.reloadUpcomingEvents();
+        }
+        return result;
+    }
+
+    private void writeChunk(List<ParsedRow> chunk, Map<String, Long> importedEvents, Set<String> failedRefs,
+                            ImportResultDTO result) {
+        try {
+            record(transactionTemplate.execute(status -> persist(chunk, importedEvents)), importedEvents, result);
+        } catch (RuntimeException chunkFailure) {
+            for (ParsedRow row : chunk) {
+                try {
+                    record(transactionTemplate.execute(status -> persist(List.of(row), importedEvents)), importedEvents, result);
+                } catch (RuntimeException rowFailure) {
+                    fail(result, row.line, NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                    if (row.createsEvent) {
+                        failedRefs.add(row.eventRef);
+                    }
+                }
+            }
+        }
+    }
+
+    private Written persist(List<ParsedRow> rows, Map<String, Long> importedEvents) {
+        Map<String, Event> created = new LinkedHashMap<>();
+        int ticketTypes = 0;
+        for (ParsedRow row : rows) {
+            Event event = created.get(row.eventRef);
+            if (event == null && row.createsEvent) {
+                event = newEvent(row);
+                entityManager.persist(event);
+                created.put(row.eventRef, event);
+            } else if (event == null && importedEvents.containsKey(row.eventRef)) {
+                event = entityManager.getReference(Event.class, importedEvents.get(row.eventRef));
+            } else if (event == null) {
+                throw new IllegalStateException("Event " + row.eventRef + " was not imported");
+            }
+            if (row.typeName != null) {
+                TicketType ticketType = new TicketType();
+                ticketType.setEvent(event);
+                ticketType.setTypeName(row.typeName);
+                ticketType.setPrice(row.price);
+                ticketType.setQuantityAvailable(row.quantityAvailable);
+                ticketType.setQuantitySold(0);
+                ticketType.setIsActive(true);
+                entityManager.persist(ticketType);
+                ticketTypes++;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Long> eventIds = new LinkedHashMap<>();
+        created.forEach((ref, event) -> eventIds.put(ref, event.getEventId()));
+        return new Written(eventIds, ticketTypes);
+    }
+
+    private Event newEvent(ParsedRow row) {
+        Event event = new Event();
+        event.setEventName(row.eventName);
+        event.setDescription(row.description);
+        event.setCategory(row.category);
+        event.setEventDate(row.eventDate);
+        event.setStatus(row.status);
+        event.setBannerImageUrl(row.bannerImageUrl);
+        event.setTotalTicketsAvailable(row.totalTicketsAvailable);
+        event.setTicketsSold(0);
+        event.setVenue(entityManager.getReference(Venue.class, row.venueId));
+        if (row.organizerId != null) {
+            event.setOrganizer(entityManager.getReference(User.class, row.organizerId));
+        }
+        return event;
+    }
+
+    private static void record(Written written, Map<String, Long> importedEvents, ImportResultDTO result) {
+        importedEvents.putAll(written.eventIds);
+        result.setEventsCreated(result.getEventsCreated() + written.eventIds.size());
+        result.setTicketTypesCreated(result.getTicketTypesCreated() + written.ticketTypes);
+    }
+
+    private void fail(ImportResultDTO result, long line, String message) {
+        result.setFailedRows(result.getFailedRows() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportResultDTO.RowError(line, message));
+        }
+    }
+
+    /**
+     * Validate a row, throwing IllegalArgumentException with the reason when it cannot be imported
+     */
+    private static ParsedRow parse(EventImportRow row, References references, Map<String, Long> importedEvents,
+                                   Set<String> chunkRefs, Set<String> failedRefs) {
+        if (row.getError() != null) {
+            throw new IllegalArgumentException(row.getError());
+        }
+        ParsedRow parsed = new ParsedRow();
+        parsed.line = row.getLine();
+        parsed.eventRef = required(row.getEventRef(), "eventRef");
+
+        boolean known = importedEvents.containsKey(parsed.eventRef) || chunkRefs.contains(parsed.eventRef);
+        if (!known && failedRefs.contains(parsed.eventRef)) {
+            throw new IllegalArgumentException("Event " + parsed.eventRef + " failed on an earlier row");
+        }
+        if (known && row.getTypeName() == null) {
+            throw new IllegalArgumentException("Event " + parsed.eventRef + " is already imported and the row has no ticket type");
+        }
+
+        if (row.getTypeName() != null) {
+            parsed.typeName = row.getTypeName();
+            parsed.price = decimal(required(row.getPrice(), "price"), "price");
+            parsed.quantityAvailable = count(required(row.getQuantityAvailable(), "quantityAvailable"), "quantityAvailable");
+        }
+
+        if (!known) {
+            parsed.createsEvent = true;
+            parsed.eventName = required(row.getEventName(), "eventName");
+            parsed.description = row.getDescription();
+            parsed.category = required(row.getCategory(), "category");
+            parsed.eventDate = dateTime(required(row.getEventDate(), "eventDate"));
+            parsed.status = row.getStatus() != null ? row.getStatus().toUpperCase() : "UPCOMING";
+            parsed.bannerImageUrl = row.getBannerImageUrl();
+            parsed.totalTicketsAvailable = count(required(row.getTotalTicketsAvailable(), "totalTicketsAvailable"),
+                    "totalTicketsAvailable");
+            parsed.venueId = references.venue(required(row.getVenue(), "venue"));
+            parsed.organizerId = row.getOrganizer() != null ? references.organizer(row.getOrganizer()) : null;
+            chunkRefs.add(parsed.eventRef);
+        }
+        return parsed;
+    }
+
+    private References loadReferences() {
+        References references = new References();
+        jdbcTemplate.query("SELECT venue_id, venue_name FROM venue", rs -> {
+            long id = rs.getLong("venue_id");
+            references.venueIds.add(id);
+            references.venueNames.merge(rs.getString("venue_name").trim().toLowerCase(), id, (a, b) -> AMBIGUOUS);
+        });
+        jdbcTemplate.query("SELECT user_id, email, username FROM users WHERE role IN ('ORGANIZER', 'ADMIN')", rs -> {
+            long id = rs.getLong("user_id");
+            references.organizerIds.add(id);
+            references.organizerNames.put(rs.getString("email").toLowerCase(), id);
+            references.organizerNames.put(rs.getString("username").toLowerCase(), id);
+        });
+        return references;
+    }
+
+    private static String required(String value, String column) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value.trim();
+    }
+
+    private static int count(String value, String column) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException(column + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static BigDecimal decimal(String value, String column) {
+        try {
+            BigDecimal parsed = new BigDecimal(value);
+            if (parsed.signum() < 0) {
+                throw new IllegalArgumentException(column + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static LocalDateTime dateTime(String value) {
+        try {
+            return LocalDateTime.parse(value.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid eventDate: " + value);
+        }
+    }
+
+    /**
+     * Venue and organizer lookups, by id or by name
+     */
+    private static class References {
+        final Set<Long> venueIds = new HashSet<>();
+        final Map<String, Long> venueNames = new HashMap<>();
+        final Set<Long> organizerIds = new HashSet<>();
+        final Map<String, Long> organizerNames = new HashMap<>();
+
+        long venue(String ref) {
+            Long id = resolve(ref, venueIds, venueNames);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown venue: " + ref);
+            }
+            if (id == AMBIGUOUS) {
+                throw new IllegalArgumentException("Venue name matches more than one venue: " + ref);
+            }
+            return id;
+        }
+
+        long organizer(String ref) {
+            Long id = resolve(ref, organizerIds, organizerNames);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown organizer: " + ref);
+            }
+            return id;
+        }
+
+        private static Long resolve(String ref, Set<Long> ids, Map<String, Long> names) {
+            String value = ref.trim();
+            if (value.chars().allMatch(Character::isDigit)) {
+                long id = Long.parseLong(value);
+                return ids.contains(id) ? id : null;
+            }
+            return names.get(value.toLowerCase());
+        }
+    }
+
+    private static class ParsedRow {
+        long line;
+        String eventRef;
+        boolean createsEvent;
+        String eventName;
+        String description;
+        String category;
+        LocalDateTime eventDate;
+        String status;
+        String bannerImageUrl;
+        int totalTicketsAvailable;
+        long venueId;
+        Long organizerId;
+        String typeName;
+        BigDecimal price;
+        int quantityAvailable;
+    }
+
+    private static class Written {
+        final Map<String, Long> eventIds;
+        final int ticketTypes;
+
+        Written(Map<String, Long> eventIds, int ticketTypes) {
+            this.eventIds = eventIds;
+            this.ticketTypes = ticketTypes;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.amdocs.spx.importer;
+
+/**
+ * Supported import file formats
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String CSV_TYPE = "text/csv";
+    public static final String NDJSON_TYPE = "application/x-ndjson";
+
+    /**
+     * Format of a request body, by content type
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase().startsWith(CSV_TYPE)) {
+            return CSV;
+        }
+        if (contentType != null && contentType.toLowerCase().startsWith(NDJSON_TYPE)) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+
+    /**
+     * Format of a file, by extension
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell import format of " + fileName);
+    }
+}
@@ -0,0 +1,241 @@
+package com.amdocs.spx.inventory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of inventory mutations in memory-mapped segment files.
+ * Every record is {@value #RECORD_SIZE} bytes: sequence, ticket type id, value, kind and a CRC.
+ * Segments are preallocated and named after their first sequence number. On open the log is
+ * scanned up to the first record that is empty, out of sequence or fails its CRC, which is where
+ * a crash may have left a torn write, and appending resumes there.
+ * Not thread safe; the owner serializes access.
+ */
+public class InventoryJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 32;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int CRC_OFFSET = 24;
+
+    public enum Kind {
+        SET(1), RESERVE(2), RELEASE(3), ADJUST(4);
+
+        private final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+
+        static Kind of(int code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Receives records replayed while opening the journal
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void apply(Kind kind, long ticketTypeId, int value);
+    }
+
+    private final Path dir;
+    private final int segmentRecords;
+    private final boolean fsync;
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private long lastSeq;
+
+    private InventoryJournal(Path dir, int segmentRecords, boolean fsync) {
+        this.dir = dir;
+        this.segmentRecords = segmentRecords;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Open the journal in a directory, replaying every record after {@code afterSeq} into the handler
+     *
+     * @param fsync force each record to disk before {@link #append} returns
+     */
+    public static InventoryJournal open(Path dir, int segmentRecords, boolean fsync, long afterSeq,
+                                        RecordHandler handler) throws IOException {
+        Files.createDirectories(dir);
+        InventoryJournal journal = new InventoryJournal(dir, segmentRecords, fsync);
+        journal.recover(afterSeq, handler);
+        return journal;
+    }
+
+    /**
+     * Write one record, durable on return when fsync is on
+     *
+     * @return the record's sequence number
+     */
+    public long append(Kind kind, long ticketTypeId, int value) {
+        if (position == segmentRecords) {
+            try {
+                roll();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot start a new inventory journal segment", e);
+            }
+        }
+        long seq = lastSeq + 1;
+        int offset = position * RECORD_SIZE;
+        segment.putLong(offset, seq);
+        segment.putLong(offset + 8, ticketTypeId);
+        segment.putInt(offset + 16, value);
+        segment.putInt(offset + 20, kind.code);
+        segment.putInt(offset + CRC_OFFSET, checksum(offset));
+        if (fsync) {
+            segment.force(offset, RECORD_SIZE);
+        }
+        position++;
+        lastSeq = seq;
+        return seq;
+    }
+
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Delete segments holding only records up to and including the given sequence
+     */
+    public void deleteSegmentsThrough(long seq) throws IOException {
+        List<Long> firstSeqs = segmentFirstSeqs();
+        for (int i = 0; i + 1 < firstSeqs.size(); i++) {
+            if (firstSeqs.get(i + 1) <= seq + 1) {
+                Files.deleteIfExists(segmentPath(firstSeqs.get(i)));
+            }
+        }
+    }
+
+    private void recover(long afterSeq, RecordHandler handler) throws IOException {
+        List<Long> firstSeqs = segmentFirstSeqs();
+        long expected = -1;
+        for (int i = 0; i < firstSeqs.size(); i++) {
+            long firstSeq = firstSeqs.get(i);
+            if (expected != -1 && firstSeq != expected) {
+                deleteFrom(firstSeqs, i);
+                break;
+            }
+            mapSegment(firstSeq);
+            expected = firstSeq;
+            position = 0;
+            while (position < segmentRecords && isValid(position * RECORD_SIZE, expected)) {
+                int offset = position * RECORD_SIZE;
+                if (expected > afterSeq) {
+                    Kind kind = Kind.of(segment.getInt(offset + 20));
+                    handler.apply(kind, segment.getLong(offset + 8), segment.getInt(offset + 16));
+                }
+                expected++;
+                position++;
+            }
+            lastSeq = expected - 1;
+            if (position < segmentRecords) {
+                clearTail();
+                deleteFrom(firstSeqs, i + 1);
+                break;
+            }
+        }
+
+        if (segment == null || lastSeq < afterSeq) {
+            // Nothing on disk, or only records older than the snapshot
+            close();
+            for (Long firstSeq : segmentFirstSeqs()) {
+                Files.deleteIfExists(segmentPath(firstSeq));
+            }
+            lastSeq = afterSeq;
+            mapSegment(afterSeq + 1);
+            position = 0;
+        }
+    }
+
+    private boolean isValid(int offset, long expectedSeq) {
+        return segment.getLong(offset) == expectedSeq
+                && Kind.of(segment.getInt(offset + 20)) != null
+                && segment.getInt(offset + CRC_OFFSET) == checksum(offset);
+    }
+
+    private void clearTail() {
+        int offset = position * RECORD_SIZE;
+        for (int i = 0; i < RECORD_SIZE; i += 8) {
+            segment.putLong(offset + i, 0L);
+        }
+        segment.force(offset, RECORD_SIZE);
+    }
+
+    private int checksum(int offset) {
+        crc.reset();
+        crc.update(segment.slice(offset, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private void roll() throws IOException {
+        segment.force();
+        channel.close();
+        mapSegment(lastSeq + 1);
+        position = 0;
+    }
+
+    private void mapSegment(long firstSeq) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(segmentPath(firstSeq),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+    }
+
+    private void deleteFrom(List<Long> firstSeqs, int index) throws IOException {
+        for (int i = index; i < firstSeqs.size(); i++) {
+            Files.deleteIfExists(segmentPath(firstSeqs.get(i)));
+        }
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> segmentFirstSeqs() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.amdocs.spx.inventory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Keeps ticket inventory in the journaled {@link InventoryLedger} when {@code spx.inventory.journal.dir}
+ * is set. Without the property sold counts are updated in the booking transaction as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spx.inventory.journal.dir")
+public class InventoryJournalConfig {
+
+    @Bean(destroyMethod = "close")
+    public InventoryLedger inventoryLedger(@Value("${spx.inventory.journal.dir}") String dir,
+                                           @Value("${spx.inventory.journal.segment-records:1048576}") int segmentRecords,
+                                           @Value("${spx.inventory.journal.fsync:true}") boolean fsync) throws IOException {
+        return InventoryLedger.open(Path.of(dir), segmentRecords, fsync);
+    }
+}
@@ -0,0 +1,177 @@
+package com.amdocs.spx.inventory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory sold counters per ticket type, made durable by the {@link InventoryJournal}.
+ * Every change is appended to the journal before the counter moves, so a counter is never ahead
+ * of what recovery would rebuild. A ticket type enters the ledger the first time it is touched,
+ * seeded with the sold count the database had; from then on the ledger is authoritative and the
+ * database copy is brought up to date by write-behind. Snapshots bound how much journal has to be
+ * replayed on startup.
+ */
+public class InventoryLedger implements Closeable {
+
+    private final Path dir;
+    private final InventoryJournal journal;
+    private final Map<Long, Integer> sold = new HashMap<>();
+    private final Set<Long> dirty = new HashSet<>();
+    private long previousSnapshotSeq;
+
+    private InventoryLedger(Path dir, int segmentRecords, boolean fsync) throws IOException {
+        this.dir = dir;
+        InventorySnapshots.Snapshot snapshot = InventorySnapshots.readLatest(dir);
+        sold.putAll(snapshot.sold());
+        previousSnapshotSeq = snapshot.seq();
+        journal = InventoryJournal.open(dir, segmentRecords, fsync, snapshot.seq(), this::apply);
+        // Recovered counters may be ahead of the database
+        dirty.addAll(sold.keySet());
+    }
+
+    /**
+     * Open the ledger in a directory, recovering from the latest snapshot and the journal after it
+     */
+    public static InventoryLedger open(Path dir, int segmentRecords, boolean fsync) throws IOException {
+        Files.createDirectories(dir);
+        return new InventoryLedger(dir, segmentRecords, fsync);
+    }
+
+    /**
+     * Sold count of a ticket type, or the database value when the ledger has not seen it
+     */
+    public synchronized int sold(long ticketTypeId, int persistedSold) {
+        Integer current = sold.get(ticketTypeId);
+        return current != null ? current : persistedSold;
+    }
+
+    /**
+     * Take tickets if the capacity allows it
+     *
+     * @return false when there are not enough tickets left
+     */
+    public synchronized boolean reserve(long ticketTypeId, int quantity, int capacity, int persistedSold) {
+        int current = seed(ticketTypeId, persistedSold);
+        if (current + quantity > capacity) {
+            return false;
+        }
+        journal.append(InventoryJournal.Kind.RESERVE, ticketTypeId, quantity);
+        update(ticketTypeId, current + quantity);
+        return true;
+    }
+
+    /**
+     * Give tickets back
+     */
+    public synchronized void release(long ticketTypeId, int quantity, int persistedSold) {
+        int current = seed(ticketTypeId, persistedSold);
+        if (current - quantity < 0) {
+            throw new IllegalStateException("Cannot decrement tickets below zero");
+        }
+        journal.append(InventoryJournal.Kind.RELEASE, ticketTypeId, quantity);
+        update(ticketTypeId, current - quantity);
+    }
+
+    /**
+     * Move a counter without checks, used to undo a reserve or release whose transaction rolled back
+     */
+    public synchronized void adjust(long ticketTypeId, int delta) {
+        Integer current = sold.get(ticketTypeId);
+        if (current == null) {
+            return;
+        }
+        journal.append(InventoryJournal.Kind.ADJUST, ticketTypeId, delta);
+        update(ticketTypeId, Math.max(0, current + delta));
+    }
+
+    /**
+     * Counters changed since the last call, to be written to the database
+     */
+    public synchronized Map<Long, Integer> drainDirty() {
+        Map<Long, Integer> changed = new HashMap<>();
+        for (Long ticketTypeId : dirty) {
+            changed.put(ticketTypeId, sold.get(ticketTypeId));
+        }
+        dirty.clear();
+        return changed;
+    }
+
+    /**
+     * Put counters back in the dirty set after a failed database write
+     */
+    public synchronized void markDirty(Collection<Long> ticketTypeIds) {
+        dirty.addAll(ticketTypeIds);
+    }
+
+    /**
+     * Write a snapshot of all counters and drop the journal it makes redundant.
+     * The previous snapshot and the journal after it are kept in case the new file is unreadable.
+     *
+     * @return the journal sequence the snapshot covers
+     */
+    public long snapshot() throws IOException {
+        long seq;
+        Map<Long, Integer> copy;
+        synchronized (this) {
+            seq = journal.lastSeq();
+            if (seq == previousSnapshotSeq) {
+                return seq;
+            }
+            copy = new HashMap<>(sold);
+        }
+        InventorySnapshots.write(dir, seq, copy);
+        synchronized (this) {
+            journal.deleteSegmentsThrough(previousSnapshotSeq);
+            InventorySnapshots.deleteBefore(dir, previousSnapshotSeq);
+            previousSnapshotSeq = seq;
+        }
+        return seq;
+    }
+
+    public synchronized long lastSeq() {
+        return journal.lastSeq();
+    }
+
+    private int seed(long ticketTypeId, int persistedSold) {
+        Integer current = sold.get(ticketTypeId);
+        if (current != null) {
+            return current;
+        }
+        journal.append(InventoryJournal.Kind.SET, ticketTypeId, persistedSold);
+        sold.put(ticketTypeId, persistedSold);
+        return persistedSold;
+    }
+
+    private void update(long ticketTypeId, int value) {
+        sold.put(ticketTypeId, value);
+        dirty.add(ticketTypeId);
+    }
+
+    private void apply(InventoryJournal.Kind kind, long ticketTypeId, int value) {
+        int current = sold.getOrDefault(ticketTypeId, 0);
+        switch (kind) {
+            case SET:
+                sold.put(ticketTypeId, value);
+                break;
+            case RESERVE:
+            case ADJUST:
+                sold.put(ticketTypeId, Math.max(0, current + value));
+                break;
+            case RELEASE:
+                sold.put(ticketTypeId, Math.max(0, current - value));
+                break;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+}
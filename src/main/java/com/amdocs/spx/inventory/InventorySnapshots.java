@@ -0,0 +1,138 @@
+package com.amdocs.spx.inventory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Point-in-time copies of the sold counters, each tagged with the last journal sequence it covers.
+ * A snapshot is written to a temporary file, forced and then renamed into place, so a reader only
+ * ever sees complete files; the CRC at the end catches anything else.
+ */
+public final class InventorySnapshots {
+
+    private static final int MAGIC = 0x53505849;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 12;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private InventorySnapshots() {
+    }
+
+    /**
+     * Counters as of a journal sequence
+     */
+    public static final class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(0L, Collections.emptyMap());
+
+        private final long seq;
+        private final Map<Long, Integer> sold;
+
+        Snapshot(long seq, Map<Long, Integer> sold) {
+            this.seq = seq;
+            this.sold = sold;
+        }
+
+        public long seq() {
+            return seq;
+        }
+
+        public Map<Long, Integer> sold() {
+            return sold;
+        }
+    }
+
+    public static void write(Path dir, long seq, Map<Long, Integer> sold) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + sold.size() * ENTRY_SIZE + 4);
+        buffer.putInt(MAGIC).putLong(seq).putInt(sold.size());
+        for (Map.Entry<Long, Integer> entry : sold.entrySet()) {
+            buffer.putLong(entry.getKey()).putInt(entry.getValue());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue()).flip();
+
+        Path temp = dir.resolve(PREFIX + seq + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path(dir, seq), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Newest readable snapshot, or {@link Snapshot#EMPTY} when there is none
+     */
+    public static Snapshot readLatest(Path dir) throws IOException {
+        List<Long> seqs = seqs(dir);
+        for (int i = seqs.size() - 1; i >= 0; i--) {
+            Snapshot snapshot = read(path(dir, seqs.get(i)));
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
+        return Snapshot.EMPTY;
+    }
+
+    /**
+     * Delete snapshots older than the given sequence
+     */
+    public static void deleteBefore(Path dir, long seq) throws IOException {
+        for (Long existing : seqs(dir)) {
+            if (existing < seq) {
+                Files.deleteIfExists(path(dir, existing));
+            }
+        }
+    }
+
+    private static Snapshot read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_SIZE + 4 || buffer.getInt() != MAGIC) {
+            return null;
+        }
+        long seq = buffer.getLong();
+        int count = buffer.getInt();
+        if (count < 0 || buffer.capacity() != HEADER_SIZE + count * ENTRY_SIZE + 4) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.capacity() - 4);
+        if (buffer.getInt(buffer.capacity() - 4) != (int) crc.getValue()) {
+            return null;
+        }
+        Map<Long, Integer> sold = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            sold.put(buffer.getLong(), buffer.getInt());
+        }
+        return new Snapshot(seq, sold);
+    }
+
+    private static Path path(Path dir, long seq) {
+        return dir.resolve(String.format("%s%020d%s", PREFIX, seq, SUFFIX));
+    }
+
+    private static List<Long> seqs(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.amdocs.spx.inventory;
+
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.entity.TicketType;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies ledger counters to {@code ticket_type.quantity_sold} in batches and takes ledger snapshots.
+ * The database column trails the ledger by at most one flush interval. Each flush moves the catalog
+ * versions of the ticket types written and their events, since no entity listener sees these updates.
+ */
+@Component
+@ConditionalOnProperty(name = "spx.inventory.journal.dir")
+public class InventoryWriteBehind {
+
+    @Autowired
+    private InventoryLedger inventoryLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    /**
+     * Write changed sold counts to the database
+     */
+    @Scheduled(fixedDelayString = "${spx.inventory.flush-interval-ms:1000}")
+    public void flush() {
+        Map<Long, Integer> changed = inventoryLedger.drainDirty();
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(changed.size());
+        changed.forEach((ticketTypeId, sold) -> rows.add(new Object[]{sold, ticketTypeId}));
+        try {
+            jdbcTemplate.batchUpdate("UPDATE ticket_type SET quantity_sold = ? WHERE ticket_type_id = ?", rows);
+        } catch (RuntimeException e) {
+            inventoryLedger.markDirty(changed.keySet());
+            throw e;
+        }
+        Map<Long, Long> eventIds = new HashMap<>();
+        String in = String.join(",", Collections.nCopies(changed.size(), "?"));
+        jdbcTemplate.query("SELECT ticket_type_id, event_id FROM ticket_type WHERE ticket_type_id IN (" + in + ")",
+                rs -> {
+                    eventIds.put(rs.getLong("ticket_type_id"), rs.getLong("event_id"));
+                }, changed.keySet().toArray());
+        for (Long ticketTypeId : changed.keySet()) {
+            entityManagerFactory.getCache().evict(TicketType.class, ticketTypeId);
+            catalogVersions.bumpTicketType(ticketTypeId, eventIds.get(ticketTypeId));
+        }
+    }
+
+    /**
+     * Snapshot the ledger so startup replays only the journal written since
+     */
+    @Scheduled(fixedDelayString = "${spx.inventory.snapshot-interval-ms:60000}")
+    public void snapshot() throws IOException {
+        inventoryLedger.snapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        snapshot();
+    }
+}
@@ -0,0 +1,136 @@
+package com.amdocs.spx.mapper;
+
+import com.amdocs.spx.dto.EventDTO;
+import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.entity.TicketType;
+import com.amdocs.spx.entity.User;
+import com.amdocs.spx.entity.Venue;
+import com.amdocs.spx.request.FieldSelection;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The one place events are turned into DTOs and back.
+ * {@code toDTO(event, fields)} walks the event's own associations for the selected fields, so callers
+ * fetch those up front with an entity graph; the overload taking the associations only reads what it
+ * is given, for callers that batch load them instead.
+ */
+public final class EventMapper {
+
+    private EventMapper() {
+    }
+
+    public static EventDTO toDTO(Event event) {
+        return toDTO(event, FieldSelection.all());
+    }
+
+    /**
+     * Map an event, touching only the associations the selection includes
+     */
+    public static EventDTO toDTO(Event event, FieldSelection fields) {
+        return toDTO(event,
+                fields.includes("venue") ? event.getVenue() : null,
+                fields.includes("organizer") ? event.getOrganizer() : null,
+                fields.includes("ticketTypes") || fields.includes("minPrice") ? event.getTicketTypes() : null,
+                fields);
+    }
+
+    /**
+     * Map an event with associations resolved by the caller
+     */
+    public static EventDTO toDTO(Event event, Venue venue, User organizer, List<TicketType> ticketTypes,
+                                 FieldSelection fields) {
+        EventDTO dto = new EventDTO();
+        dto.setEventId(event.getEventId());
+        dto.setEventName(event.getEventName());
+
+        dto.setCategory(event.getCategory());
+        dto.setEventDate(event.getEventDate());
+        dto.setStatus(event.getStatus());
+        dto.setBannerImageUrl(event.getBannerImageUrl());
+        dto.setTotalTicketsAvailable(event.getTotalTicketsAvailable());
+        dto.setTicketsSold(event.getTicketsSold());
+
+        // Convert Venue
+        if (fields.includes("venue") && venue != null) {
+            EventDTO.VenueDTO venueDTO = new EventDTO.VenueDTO();
+            venueDTO.setVenueId(venue.getVenueId());
+            venueDTO.setVenueName(venue.getVenueName());
+            venueDTO.setAddress(venue.getAddress());
+            venueDTO.setCity(venue.getCity());
+            venueDTO.setCapacity(venue.getTotalCapacity());
+            dto.setVenue(venueDTO);
+        }
+
+        // Convert Organizer
+        if (fields.includes("organizer") && organizer != null) {
+            EventDTO.OrganizerDTO organizerDTO = new EventDTO.OrganizerDTO();
+            organizerDTO.setUserId(organizer.getUserId());
+            organizerDTO.setFirstName(organizer.getFirstName());
+            organizerDTO.setLastName(organizer.getLastName());
+            organizerDTO.setEmail(organizer.getEmail());
+            dto.setOrganizer(organizerDTO);
+        }
+
+        // Convert Ticket Types
+        if (fields.includes("ticketTypes") && ticketTypes != null && !ticketTypes.isEmpty()) {
+            List<EventDTO.TicketTypeDTO> ticketTypeDTOs = ticketTypes.stream()
+                    .map(EventMapper::toTicketTypeDTO)
+                    .collect(Collectors.toList());
+            dto.setTicketTypes(ticketTypeDTOs);
+        } else if (fields.includes("minPrice") && ticketTypes != null) {
+            dto.setMinPrice(ticketTypes.stream()
+                    .filter(tt -> !Boolean.FALSE.equals(tt.getIsActive()))
+                    .map(TicketType::getPrice)
+                    .filter(Objects::nonNull)
+                    .min(BigDecimal::compareTo)
+                    .map(BigDecimal::doubleValue)
+                    .orElse(null));
+        }
+
+        return dto;
+    }
+
+    public static EventDTO.TicketTypeDTO toTicketTypeDTO(TicketType tt) {
+        EventDTO.TicketTypeDTO ttDTO = new EventDTO.TicketTypeDTO();
+        ttDTO.setTicketTypeId(tt.getTicketTypeId());
+        ttDTO.setTypeName(tt.getTypeName());
+
+        ttDTO.setPrice(tt.getPrice().doubleValue());
+        ttDTO.setQuantityAvailable(tt.getQuantityAvailable());
+        ttDTO.setQuantitySold(tt.getQuantitySold());
+        ttDTO.setIsActive(tt.getIsActive());
+        return ttDTO;
+    }
+
+    public static Event toEntity(EventDTO dto) {
+        Event event = new Event();
+        event.setEventId(dto.getEventId());
+        event.setEventName(dto.getEventName());
+
+        event.setCategory(dto.getCategory());
+        event.setEventDate(dto.getEventDate());
+        event.setStatus(dto.getStatus());
+        event.setBannerImageUrl(dto.getBannerImageUrl());
+        event.setTotalTicketsAvailable(dto.getTotalTicketsAvailable());
+        event.setTicketsSold(dto.getTicketsSold());
+
+        // Venue and organizer only carry their ids, the service loads the entities
+        if (dto.getVenue() != null && dto.getVenue().getVenueId() != null) {
+            Venue venue = new Venue();
+            venue.setVenueId(dto.getVenue().getVenueId());
+            event.setVenue(venue);
+        }
+
+        if (dto.getOrganizer() != null && dto.getOrganizer().getUserId() != null) {
+            User organizer = new User();
+            organizer.setUserId(dto.getOrganizer().getUserId());
+            event.setOrganizer(organizer);
+        }
+
+        return event;
+    }
+}
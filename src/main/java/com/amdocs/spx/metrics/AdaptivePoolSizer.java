@@ -0,0 +1,128 @@
+package com.amdocs.spx.metrics;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes the primary Hikari pool between {@code spx.pool.adaptive.min-size} and {@code max-size}.
+ * Every interval it takes the mean connection wait and connection usage time since the previous run
+ * and lets {@link PoolSizePolicy} pick the size. Usage is timed from checkout to return, so unlike
+ * repository call latency it leaves out the wait and does not read a starved pool as a slow database.
+ * Minimum idle is lowered to the minimum size so connections above a lowered maximum are retired by
+ * Hikari once they sit idle.
+ */
+@Component
+@ConditionalOnProperty(name = "spx.pool.adaptive.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    private static final String ACQUIRE = "hikaricp.connections.acquire";
+    private static final String USAGE = "hikaricp.connections.usage";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spx.pool.adaptive.min-size:5}")
+    private int minSize;
+
+    @Value("${spx.pool.adaptive.max-size:40}")
+    private int maxSize;
+
+    @Value("${spx.pool.adaptive.step:2}")
+    private int step;
+
+    @Value("${spx.pool.adaptive.target-wait-ms:5}")
+    private double targetWaitMs;
+
+    @Value("${spx.pool.adaptive.max-db-latency-ms:50}")
+    private double maxDbLatencyMs;
+
+    private HikariDataSource pool;
+    private PoolSizePolicy policy;
+
+    private long lastWaitCount;
+    private double lastWaitTotalMs;
+    private long lastDbCount;
+    private double lastDbTotalMs;
+
+    private volatile double waitMs;
+    private volatile double dbMs;
+
+    @PostConstruct
+    public void init() throws SQLException {
+        pool = dataSource.unwrap(HikariDataSource.class);
+        policy = new PoolSizePolicy(minSize, maxSize, step, targetWaitMs, maxDbLatencyMs);
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        if (config.getMinimumIdle() > minSize) {
+            config.setMinimumIdle(minSize);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${spx.pool.adaptive.interval-ms:10000}")
+    public synchronized void adjust() {
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        if (poolBean == null) {
+            return;
+        }
+
+        long waitCount = 0;
+        double waitTotalMs = 0;
+        for (Timer timer : meterRegistry.find(ACQUIRE).tag("pool", pool.getPoolName()).timers()) {
+            waitCount += timer.count();
+            waitTotalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        long dbCount = 0;
+        double dbTotalMs = 0;
+        for (Timer timer : meterRegistry.find(USAGE).tag("pool", pool.getPoolName()).timers()) {
+            dbCount += timer.count();
+            dbTotalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        waitMs = mean(waitTotalMs - lastWaitTotalMs, waitCount - lastWaitCount);
+        dbMs = mean(dbTotalMs - lastDbTotalMs, dbCount - lastDbCount);
+        lastWaitCount = waitCount;
+        lastWaitTotalMs = waitTotalMs;
+        lastDbCount = dbCount;
+        lastDbTotalMs = dbTotalMs;
+
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        int next = policy.nextSize(current, waitMs, dbMs, poolBean.getIdleConnections(),
+                poolBean.getThreadsAwaitingConnection());
+        if (next != current) {
+            config.setMaximumPoolSize(next);
+        }
+    }
+
+    /**
+     * Mean connection wait over the last interval
+     */
+    public double getWaitMs() {
+        return waitMs;
+    }
+
+    /**
+     * Mean time a connection was in use over the last interval
+     */
+    public double getDbMs() {
+        return dbMs;
+    }
+
+    private static double mean(double totalMs, long count) {
+        return count > 0 ? totalMs / count : 0.0;
+    }
+}
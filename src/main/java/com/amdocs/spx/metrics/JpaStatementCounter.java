@@ -0,0 +1,26 @@
+package com.amdocs.spx.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Statements sent through JdbcTemplate do not pass through here.
+ */
+public class JpaStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,61 @@
+package com.amdocs.spx.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Latency and pool instrumentation, read through {@code /actuator/metrics}.
+ * Spring already times endpoints ({@code http.server.requests}), repository methods
+ * ({@code spring.data.repository.invocations}) and Hikari ({@code hikaricp.connections.*}); this adds
+ * the Hibernate statement count per request and publishes percentile histograms for all of them.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private static final List<String> HISTOGRAMS = List.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            "hikaricp.connections.acquire",
+            "hikaricp.connections.usage",
+            RequestMetricsInterceptor.JPA_STATEMENTS);
+
+    @Autowired
+    private RequestMetricsInterceptor requestMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new JpaStatementCounter());
+    }
+
+    @Bean
+    public MeterFilter latencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HISTOGRAMS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.amdocs.spx.metrics;
+
+/**
+ * Decides the next connection pool size from what the last interval looked like.
+ * Slow queries mean the database is the bottleneck, and more connections would only queue there,
+ * so the pool shrinks. Otherwise waiting for a connection grows the pool a step at a time, and a pool
+ * with spare idle connections gives one back.
+ */
+public class PoolSizePolicy {
+
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final double targetWaitMs;
+    private final double maxDbLatencyMs;
+
+    public PoolSizePolicy(int minSize, int maxSize, int step, double targetWaitMs, double maxDbLatencyMs) {
+        if (minSize < 1 || maxSize < minSize || step < 1) {
+            throw new IllegalArgumentException("Pool size limits must satisfy 1 <= min <= max and step >= 1");
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = step;
+        this.targetWaitMs = targetWaitMs;
+        this.maxDbLatencyMs = maxDbLatencyMs;
+    }
+
+    /**
+     * @param waitMs  mean time spent waiting for a connection over the interval
+     * @param dbMs    mean time a connection was in use over the interval, not counting the wait for it
+     * @param idle    idle connections now
+     * @param waiting threads waiting for a connection now
+     */
+    public int nextSize(int current, double waitMs, double dbMs, int idle, int waiting) {
+        int next = current;
+        if (dbMs > maxDbLatencyMs) {
+            next = current - step;
+        } else if (waitMs > targetWaitMs || waiting > 0) {
+            next = current + step;
+        } else if (idle > step) {
+            next = current - 1;
+        }
+        return Math.max(minSize, Math.min(maxSize, next));
+    }
+}
@@ -0,0 +1,40 @@
+package com.amdocs.spx.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many Hibernate statements each request ran, per endpoint.
+ * Request latency per endpoint is already recorded by Spring as {@code http.server.requests}.
+ */
+@Component
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    public static final String JPA_STATEMENTS = "spx.jpa.statements";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        JpaStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(JPA_STATEMENTS)
+                .description("Hibernate statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(JpaStatementCounter.current());
+    }
+}
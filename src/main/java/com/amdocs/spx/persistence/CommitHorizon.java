@@ -0,0 +1,31 @@
+package com.amdocs.spx.persistence;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Point in time before which every write to the database has been committed or rolled back.
+ * AUTO_INCREMENT ids are handed out at insert but only become visible at commit, so a reader
+ * that pages by id must not step past rows stamped at or after this time.
+ */
+@Component
+public class CommitHorizon {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Start of the oldest open transaction that has written rows, or now when there is none, less
+     * the settle window. The window covers the gap between stamping a row and inserting it and any
+     * clock skew between the application and the database.
+     */
+    public LocalDateTime settledBefore(long settleMs) {
+        return jdbcTemplate.queryForObject("SELECT LEAST(NOW(6), COALESCE(MIN(trx_started), NOW(6))) - INTERVAL ? MICROSECOND " +
+                "FROM information_schema.innodb_trx WHERE trx_rows_modified > 0", Timestamp.class, settleMs * 1000)
+                .toLocalDateTime();
+    }
+}
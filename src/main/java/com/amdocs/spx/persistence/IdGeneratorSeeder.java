@@ -0,0 +1,52 @@
+package com.amdocs.spx.persistence;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the pooled id generators past ids already in the tables.
+ * Entities used to get AUTO_INCREMENT ids, so on an existing database a fresh
+ * {@code id_generator} row would hand out ids that are taken. Runs once the schema is
+ * updated and before the application serves requests.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdGeneratorSeeder {
+
+    private static final Map<String, String> ID_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        ID_COLUMNS.put("users", "user_id");
+        ID_COLUMNS.put("venue", "venue_id");
+        ID_COLUMNS.put("event", "event_id");
+        ID_COLUMNS.put("ticket_type", "ticket_type_id");
+        ID_COLUMNS.put("booking", "booking_id");
+        ID_COLUMNS.put("orders", "order_id");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void seed() {
+        for (Map.Entry<String, String> entry : ID_COLUMNS.entrySet()) {
+            String table = entry.getKey();
+            Long nextId = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(" + entry.getValue() + "), 0) + 1 FROM " + table, Long.class);
+            List<Long> current = jdbcTemplate.queryForList(
+                    "SELECT next_val FROM id_generator WHERE entity_name = ?", Long.class, table);
+            if (current.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO id_generator (entity_name, next_val) VALUES (?, ?)", table, nextId);
+            } else if (current.get(0) < nextId) {
+                jdbcTemplate.update("UPDATE id_generator SET next_val = ? WHERE entity_name = ?", nextId, table);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.amdocs.spx.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replicas listed in {@code spx.datasource.replica-urls}.
+ * Replicas share the primary's credentials and driver. Without the property the single
+ * auto-configured data source is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spx.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    /**
+     * The primary pool, configured from {@code spring.datasource.hikari.*} as the auto-configured one would be
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties properties,
+                                                      HikariDataSource primaryDataSource,
+                                                      @Value("${spx.datasource.replica-urls}") List<String> replicaUrls,
+                                                      @Value("${spx.datasource.max-replica-lag-seconds:5}") long maxLagSeconds,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i).trim())
+                    .build();
+            replica.setReadOnly(true);
+            replica.setPoolName("replica-" + i);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.put("replica-" + i, replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,121 @@
+package com.amdocs.spx.persistence;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the primary.
+ * Replicas are used round robin while their replication lag stays within the allowed bound;
+ * when none qualifies, reads fall back to the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the read-only
+ * flag is known before a connection is picked.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final String LAG_QUERY = "SHOW REPLICA STATUS";
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            targets.put(replica.getKey(), replica.getValue());
+            this.replicas.add(new Replica(replica.getKey(), replica.getValue()));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.usable) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Measure the lag of every replica and take the ones that fell behind out of rotation
+     */
+    @Scheduled(fixedDelayString = "${spx.datasource.replica-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long lag = measureLag(replica.dataSource);
+            replica.lagSeconds = lag;
+            replica.usable = lag >= 0 && lag <= maxLagSeconds;
+        }
+    }
+
+    /**
+     * Replication lag in seconds, or -1 when the replica is unreachable or not replicating
+     */
+    protected long measureLag(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery(LAG_QUERY)) {
+            if (!status.next()) {
+                return -1;
+            }
+            long lag = status.getLong(LAG_COLUMN);
+            return status.wasNull() ? -1 : lag;
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Current lag per replica, -1 for replicas out of rotation because they could not be checked
+     */
+    public Map<String, Long> getReplicaLag() {
+        Map<String, Long> lag = new HashMap<>();
+        for (Replica replica : replicas) {
+            lag.put(replica.name, replica.lagSeconds);
+        }
+        return lag;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+        private volatile long lagSeconds = -1;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
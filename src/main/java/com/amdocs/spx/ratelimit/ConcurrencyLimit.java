@@ -0,0 +1,78 @@
+package com.amdocs.spx.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive cap on requests in flight, adjusted AIMD style from their latency.
+ * A request that finishes within the latency target while the cap is in use raises the cap by one
+ * every cap's worth of such requests; a slow or failed request cuts it by the backoff factor, at most
+ * once per cap's worth of requests so one burst of slow responses is not punished many times over.
+ * Admission is a CAS on the in-flight count, so shedding costs no locks.
+ */
+public class ConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final double backoff;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private int successes;
+    private int sinceDecrease;
+
+    public ConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetNanos, double backoff) {
+        if (minLimit < 1 || minLimit > maxLimit || backoff <= 0 || backoff >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.backoff = backoff;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.sinceDecrease = limit;
+    }
+
+    /**
+     * Admit a request unless the cap is reached; an admitted request must be followed by {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Finish an admitted request and adjust the cap from how it went
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            sinceDecrease++;
+            if (failed || latencyNanos > targetNanos) {
+                successes = 0;
+                if (sinceDecrease >= limit) {
+                    limit = Math.max(minLimit, (int) (limit * backoff));
+                    sinceDecrease = 0;
+                }
+            } else if (current * 2 >= limit && ++successes >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+                successes = 0;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,113 @@
+package com.amdocs.spx.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sheds booking and order writes with 503 once the adaptive in-flight cap is reached, before they take
+ * a database connection. When MySQL slows down the cap shrinks, so excess writes fail fast instead of
+ * holding Tomcat threads that reads need. Only handlers marked {@link ConcurrencyLimited} are counted.
+ * The cap, the in-flight count and shed requests are published as {@code spx.concurrency.*} metrics.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT = ConcurrencyLimitInterceptor.class.getName() + ".startedAt";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spx.concurrency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spx.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${spx.concurrency.min-limit:2}")
+    private int minLimit;
+
+    @Value("${spx.concurrency.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${spx.concurrency.latency-target-ms:250}")
+    private long latencyTargetMs;
+
+    @Value("${spx.concurrency.backoff:0.9}")
+    private double backoff;
+
+    private ConcurrencyLimit limit;
+
+    private Counter shed;
+
+    @PostConstruct
+    public void init() {
+        limit = new ConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTargetMs * 1_000_000L, backoff);
+        Gauge.builder("spx.concurrency.limit", limit, ConcurrencyLimit::getLimit)
+                .description("Adaptive cap on write requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("spx.concurrency.inflight", limit, ConcurrencyLimit::getInFlight)
+                .description("Write requests in flight")
+                .register(meterRegistry);
+        shed = Counter.builder("spx.concurrency.shed")
+                .description("Write requests rejected at the concurrency cap")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod)
+                || !((HandlerMethod) handler).hasMethodAnnotation(ConcurrencyLimited.class)) {
+            return true;
+        }
+        if (!limit.tryAcquire()) {
+            shed.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many writes in progress");
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object startedAt = request.getAttribute(STARTED_AT);
+        if (startedAt != null) {
+            request.removeAttribute(STARTED_AT);
+            limit.release(System.nanoTime() - (Long) startedAt, response.getStatus() >= 500 || isOverload(ex));
+        }
+    }
+
+    /**
+     * Whether an exception a handler let through points at an overloaded backend: a database, transaction
+     * or timeout failure anywhere in its causes. Business rejections such as a sold-out ticket type say
+     * nothing about load, so they do not shrink the cap.
+     */
+    public static boolean isOverload(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessException || cause instanceof TransactionException
+                    || cause instanceof SQLException || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause instanceof ResponseStatusException
+                    && ((ResponseStatusException) cause).getStatusCode().is5xxServerError()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+package com.amdocs.spx.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a write endpoint that is admitted through the adaptive write concurrency limit
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+}
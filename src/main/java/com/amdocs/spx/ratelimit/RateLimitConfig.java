@@ -0,0 +1,30 @@
+package com.amdocs.spx.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the rate limit in front of booking creation and login, ahead of every other interceptor,
+ * followed by the write concurrency limit on bookings and orders
+ */
+@Configuration
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/bookings/createBooking", "/users/login")
+                .order(Integer.MIN_VALUE);
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/bookings/**", "/api/orders/**")
+                .order(Integer.MIN_VALUE + 1);
+    }
+}
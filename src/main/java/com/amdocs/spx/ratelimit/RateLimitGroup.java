@@ -0,0 +1,10 @@
+package com.amdocs.spx.ratelimit;
+
+/**
+ * Endpoints sharing one set of limits, configured under {@code spx.ratelimit.booking} and
+ * {@code spx.ratelimit.login}
+ */
+public enum RateLimitGroup {
+    BOOKING,
+    LOGIN
+}
@@ -0,0 +1,39 @@
+package com.amdocs.spx.ratelimit;
+
+import com.amdocs.spx.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Limits booking and login calls per client IP, and login attempts per account, before the request
+ * body is read or any query runs. The client IP is the servlet's remote address, so behind a proxy
+ * {@code server.forward-headers-strategy} has to be set for it to be the caller's.
+ * Per-user booking limits need the request body and are taken in the controller.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RateLimitGroup group = request.getRequestURI().endsWith("/login") ? RateLimitGroup.LOGIN : RateLimitGroup.BOOKING;
+        check(group, "ip:" + request.getRemoteAddr());
+        String account = request.getParameter("usernameOrEmail");
+        if (group == RateLimitGroup.LOGIN && account != null) {
+            check(group, "account:" + account.toLowerCase());
+        }
+        return true;
+    }
+
+    private void check(RateLimitGroup group, String key) {
+        long retryAfterNanos = rateLimiter.tryAcquire(group, key);
+        if (retryAfterNanos > 0) {
+            throw new RateLimitExceededException(retryAfterNanos);
+        }
+    }
+}
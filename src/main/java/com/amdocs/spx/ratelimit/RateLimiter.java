@@ -0,0 +1,92 @@
+package com.amdocs.spx.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process rate limits per endpoint group, with a token bucket per caller key (a user id or client IP).
+ * Buckets live in a map bounded by {@code spx.ratelimit.max-keys}; fully refilled buckets are dropped
+ * periodically, since a new bucket starts full anyway. When the map is full, callers without a bucket
+ * share one overflow bucket per group, so a flood of fresh keys is throttled as a whole rather than
+ * growing the map.
+ */
+@Component
+public class RateLimiter {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<RateLimitGroup, TokenBucket> overflow = new EnumMap<>(RateLimitGroup.class);
+
+    @Value("${spx.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spx.ratelimit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${spx.ratelimit.booking.capacity:10}")
+    private int bookingCapacity;
+
+    @Value("${spx.ratelimit.booking.refill-per-second:2}")
+    private double bookingRefillPerSecond;
+
+    @Value("${spx.ratelimit.login.capacity:5}")
+    private int loginCapacity;
+
+    @Value("${spx.ratelimit.login.refill-per-second:0.2}")
+    private double loginRefillPerSecond;
+
+    @Value("${spx.ratelimit.overflow.capacity:1000}")
+    private int overflowCapacity;
+
+    @Value("${spx.ratelimit.overflow.refill-per-second:500}")
+    private double overflowRefillPerSecond;
+
+    @PostConstruct
+    public void init() {
+        long now = System.nanoTime();
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            overflow.put(group, new TokenBucket(overflowCapacity, overflowRefillPerSecond, now));
+        }
+    }
+
+    /**
+     * Take a token for a caller
+     *
+     * @return 0 when the call may proceed, otherwise nanoseconds until it may
+     */
+    public long tryAcquire(RateLimitGroup group, String key) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        String bucketKey = group.name() + ':' + key;
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                return overflow.get(group).tryAcquire(now);
+            }
+            bucket = buckets.computeIfAbsent(bucketKey, k -> newBucket(group, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Drop buckets that have refilled completely
+     */
+    @Scheduled(fixedDelayString = "${spx.ratelimit.purge-interval-ms:10000}")
+    public void purge() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private TokenBucket newBucket(RateLimitGroup group, long now) {
+        return group == RateLimitGroup.LOGIN
+                ? new TokenBucket(loginCapacity, loginRefillPerSecond, now)
+                : new TokenBucket(bookingCapacity, bookingRefillPerSecond, now);
+    }
+}
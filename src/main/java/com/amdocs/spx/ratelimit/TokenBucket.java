@@ -0,0 +1,53 @@
+package com.amdocs.spx.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens, refilled at a steady rate.
+ * The whole state is one long: the time at which the bucket would be full again. Taking a token pushes
+ * that time one refill interval further, and is refused when it would land more than a full bucket
+ * ahead of now. A bucket whose full time has passed holds no state worth keeping and can be dropped.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * A full bucket as of {@code nowNanos}
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token
+     *
+     * @return 0 when a token was taken, otherwise nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current - nowNanos, 0) + intervalNanos;
+            if (next > burstNanos) {
+                return next - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, nowNanos + next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket has refilled completely, so forgetting it changes nothing
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,131 @@
+package com.amdocs.spx.readmodel;
+
+import com.amdocs.spx.entity.Booking;
+import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.entity.Order;
+import com.amdocs.spx.entity.TicketType;
+import com.amdocs.spx.entity.Venue;
+import com.amdocs.spx.request.BookingRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Denormalized per-user booking rows in {@code user_booking_view}.
+ * Each row carries what "my tickets" shows, so a user's list is one range read on
+ * (user_id, booking_id). Writers call in here inside their own transaction, building rows from the
+ * entities they already hold rather than re-reading the tables.
+ */
+@Repository
+public class UserBookingView {
+
+    private static final String UPSERT =
+            "INSERT INTO user_booking_view (booking_id, user_id, booking_reference, booking_status, booking_date, " +
+            "quantity, total_amount, event_id, event_name, event_date, venue_name, ticket_type_id, ticket_type_name, " +
+            "order_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE booking_status = VALUES(booking_status), quantity = VALUES(quantity), " +
+            "total_amount = VALUES(total_amount), event_name = VALUES(event_name), event_date = VALUES(event_date), " +
+            "venue_name = VALUES(venue_name), ticket_type_name = VALUES(ticket_type_name), order_id = VALUES(order_id)";
+
+    private static final RowMapper<BookingRequest> ROW = (rs, rowNum) -> {
+        BookingRequest booking = new BookingRequest();
+        booking.setBookingId(rs.getLong("booking_id"));
+        booking.setUserId(rs.getLong("user_id"));
+        booking.setEventId(rs.getLong("event_id"));
+        booking.setTicketTypeId(rs.getLong("ticket_type_id"));
+        booking.setQuantity(rs.getInt("quantity"));
+        booking.setBookingReference(rs.getString("booking_reference"));
+        booking.setBookingStatus(rs.getString("booking_status"));
+        booking.setEventName(rs.getString("event_name"));
+        booking.setBookingDate(rs.getTimestamp("event_date").toLocalDateTime().toLocalDate());
+        booking.setVenueName(rs.getString("venue_name"));
+        long orderId = rs.getLong("order_id");
+        booking.setOrderId(rs.wasNull() ? null : orderId);
+        booking.setTicketTypeName(rs.getString("ticket_type_name"));
+        booking.setTotalAmount(rs.getBigDecimal("total_amount"));
+        return booking;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * A user's live bookings in booking order
+     */
+    public List<BookingRequest> findByUser(Long userId) {
+        return jdbcTemplate.query("SELECT * FROM user_booking_view WHERE user_id = ? ORDER BY booking_id", ROW, userId);
+    }
+
+    /**
+     * Write the row for a booking from its entity graph
+     */
+    public void upsert(Booking booking) {
+        Event event = booking.getEvent();
+        Venue venue = event.getVenue();
+        TicketType ticketType = booking.getTicketType();
+        Long orderId = booking.getOrders() == null ? null : booking.getOrders().stream()
+                .map(Order::getOrderId)
+                .filter(Objects::nonNull)
+                .min(Long::compare)
+                .orElse(null);
+        jdbcTemplate.update(UPSERT,
+                booking.getBookingId(),
+                booking.getUser().getUserId(),
+                booking.getBookingReference(),
+                booking.getBookingStatus(),
+                booking.getBookingDate() != null ? Timestamp.valueOf(booking.getBookingDate()) : null,
+                booking.getQuantity(),
+                booking.getTotalAmount(),
+                event.getEventId(),
+                event.getEventName(),
+                Timestamp.valueOf(event.getEventDate()),
+                venue != null ? venue.getVenueName() : null,
+                ticketType.getTicketTypeId(),
+                ticketType.getTypeName(),
+                orderId);
+    }
+
+    public void delete(Long bookingId) {
+        delete(Collections.singletonList(bookingId));
+    }
+
+    public void delete(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        String in = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        jdbcTemplate.update("DELETE FROM user_booking_view WHERE booking_id IN (" + in + ")", bookingIds.toArray());
+    }
+
+    /**
+     * Copy an event's name, date and venue to its bookings
+     */
+    public void refreshEvent(Event event) {
+        jdbcTemplate.update("UPDATE user_booking_view SET event_name = ?, event_date = ?, venue_name = ? WHERE event_id = ?",
+                event.getEventName(), Timestamp.valueOf(event.getEventDate()),
+                event.getVenue() != null ? event.getVenue().getVenueName() : null, event.getEventId());
+    }
+
+    /**
+     * Copy a venue's name to the bookings of its events
+     */
+    public void refreshVenue(Venue venue) {
+        jdbcTemplate.update("UPDATE user_booking_view v JOIN event e ON e.event_id = v.event_id " +
+                "SET v.venue_name = ? WHERE e.venue_id = ?", venue.getVenueName(), venue.getVenueId());
+    }
+
+    /**
+     * Copy a ticket type's name to its bookings
+     */
+    public void refreshTicketType(TicketType ticketType) {
+        jdbcTemplate.update("UPDATE user_booking_view SET ticket_type_name = ? WHERE ticket_type_id = ?",
+                ticketType.getTypeName(), ticketType.getTicketTypeId());
+    }
+}
@@ -3,6 +3,7 @@ package com.amdocs.spx.repository;
 import com.amdocs.spx.entity.Booking;
 import com.amdocs.spx.entity.Event;
 import com.amdocs.spx.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,4 +26,25 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserAndBookingStatus(User user, String bookingStatus);
 
     List<Booking> findByEventAndBookingStatus(Event event, String bookingStatus);
+
+    @Query("SELECT b.bookingId, b.bookingReference, b.user.userId, b.event.eventId, b.ticketType.ticketTypeId, " +
+            "b.quantity, b.bookingStatus FROM Booking b")
+    List<Object[]> findBookingRows();
+
+    /**
+     * Report columns of live and archived bookings after the given id, in id order.
+     * Each booking is joined to its first order only, so retried payments are not counted twice.
+     */
+    @Query(value = "SELECT r.booking_id, r.quantity, r.total_amount, r.booking_status, r.booking_date, " +
+            "e.category, v.city, r.payment_method FROM (" +
+            "SELECT b.booking_id, b.quantity, b.total_amount, b.booking_status, b.booking_date, b.event_id, o.payment_method " +
+            "FROM booking b LEFT JOIN orders o ON o.order_id = " +
+            "(SELECT MIN(o1.order_id) FROM orders o1 WHERE o1.booking_id = b.booking_id) WHERE b.booking_id > :afterId " +
+            "UNION ALL " +
+            "SELECT b.booking_id, b.quantity, b.total_amount, b.booking_status, b.booking_date, b.event_id, o.payment_method " +
+            "FROM booking_archive b LEFT JOIN orders_archive o ON o.order_id = " +
+            "(SELECT MIN(o1.order_id) FROM orders_archive o1 WHERE o1.booking_id = b.booking_id) WHERE b.booking_id > :afterId" +
+            ") r JOIN event e ON e.event_id = r.event_id JOIN venue v ON v.venue_id = e.venue_id " +
+            "ORDER BY r.booking_id", nativeQuery = true)
+    List<Object[]> findReportRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -3,24 +3,52 @@ package com.amdocs.spx.repository;
 import com.amdocs.spx.entity.Event;
 import com.amdocs.spx.entity.User;
 import com.amdocs.spx.entity.Venue;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    @EntityGraph(Event.DETAIL)
     List<Event> findByCategory(String category);
 
+    @EntityGraph(Event.CARD)
     List<Event> findByOrganizer(User organizer);
 
+    @EntityGraph(Event.DETAIL)
     List<Event> findByEventDateAfterAndStatus(LocalDateTime date, String status);
 
+    @EntityGraph(Event.DETAIL)
     List<Event> findByEventNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
             String eventName, String description);
 
+    @EntityGraph(Event.DETAIL)
     List<Event> findByVenue(Venue venue);
+
+    @EntityGraph(Event.DETAIL)
+    Optional<Event> findDetailByEventId(Long eventId);
+
+    /**
+     * All events with venue, organizer and ticket types
+     */
+    @EntityGraph(Event.DETAIL)
+    List<Event> findDetailBy();
+
+    /**
+     * All events with what a listing card shows: venue and ticket types
+     */
+    @EntityGraph(Event.CARD)
+    List<Event> findCardBy();
+
+    @Query("SELECT e.eventId, e.eventName, e.eventDate, e.category, e.status, MIN(t.price) " +
+            "FROM Event e LEFT JOIN e.ticketTypes t ON t.isActive = true " +
+            "GROUP BY e.eventId, e.eventName, e.eventDate, e.category, e.status ORDER BY e.eventId")
+    List<Object[]> findCardRows();
 }
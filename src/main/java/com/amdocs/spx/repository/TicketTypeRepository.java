@@ -5,6 +5,7 @@ import com.amdocs.spx.entity.TicketType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +14,6 @@ public interface TicketTypeRepository extends JpaRepository<TicketType, Long> {
     List<TicketType> findByEvent(Event event);
 
     List<TicketType> findByEventAndIsActive(Event event, boolean b);
+
+    List<TicketType> findByEventEventIdIn(Collection<Long> eventIds);
 }
@@ -1,16 +1,19 @@
 package com.amdocs.spx.request;
 
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class BookingRequest {
     private Long bookingId;
     private Long userId;
@@ -23,4 +26,6 @@ public class BookingRequest {
     private LocalDate bookingDate;
     private String venueName;
     private Long orderId;
+    private String ticketTypeName;
+    private BigDecimal totalAmount;
 }
@@ -0,0 +1,78 @@
+package com.amdocs.spx.request;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Parsed {@code fields=} parameter of list endpoints.
+ * Services use it to decide what to fetch, and its filter provider limits what Jackson writes
+ * for DTOs annotated with {@code @JsonFilter(FieldSelection.FILTER_ID)}.
+ */
+public class FieldSelection {
+
+    public static final String FILTER_ID = "fields";
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parse a comma separated field list, null or blank selects everything
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> parsed = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+        return parsed.isEmpty() ? ALL : new FieldSelection(Collections.unmodifiableSet(parsed));
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * True when every selected field is one of the given ones
+     */
+    public boolean isWithin(Set<String> allowed) {
+        return fields != null && allowed.containsAll(fields);
+    }
+
+    /**
+     * Stable text form, used in cache keys
+     */
+    public String key() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+
+    public FilterProvider filterProvider() {
+        SimpleBeanPropertyFilter filter = fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        return new SimpleFilterProvider()
+                .addFilter(FILTER_ID, filter)
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+}
@@ -0,0 +1,190 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.request.BookingRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves bookings and orders of long-finished events into archive tables and reads history across both.
+ * Only COMPLETED and CANCELLED bookings move. Each chunk is copied and deleted in its own short
+ * transaction with a pause in between, so the job never holds locks on the live tables for long.
+ * Scheduled runs go to the job's own thread, so the pauses do not hold up the shared scheduler thread.
+ */
+@Service
+public class ArchiveService {
+
+    private static final String BOOKING_COLUMNS =
+            "booking_id, booking_reference, user_id, event_id, ticket_type_id, quantity, total_amount, booking_status, booking_date";
+    private static final String ORDER_COLUMNS =
+            "order_id, order_number, booking_id, user_id, total_amount, payment_status, payment_method, " +
+            "transaction_id, payment_date, created_at";
+
+    private static final String HISTORY_QUERY =
+            "SELECT h.booking_id, h.user_id, h.event_id, h.ticket_type_id, h.quantity, h.booking_reference, " +
+            "h.booking_status, h.booking_date, e.event_name, v.venue_name, h.order_id FROM (" +
+            "SELECT b.booking_id, b.user_id, b.event_id, b.ticket_type_id, b.quantity, b.booking_reference, " +
+            "b.booking_status, b.booking_date, " +
+            "(SELECT MIN(o.order_id) FROM orders o WHERE o.booking_id = b.booking_id) AS order_id " +
+            "FROM booking b WHERE b.%1$s = ? " +
+            "UNION ALL " +
+            "SELECT b.booking_id, b.user_id, b.event_id, b.ticket_type_id, b.quantity, b.booking_reference, " +
+            "b.booking_status, b.booking_date, " +
+            "(SELECT MIN(o.order_id) FROM orders_archive o WHERE o.booking_id = b.booking_id) AS order_id " +
+            "FROM booking_archive b WHERE b.%1$s = ?" +
+            ") h JOIN event e ON e.event_id = h.event_id JOIN venue v ON v.venue_id = e.venue_id " +
+            "ORDER BY h.booking_date DESC, h.booking_id DESC";
+
+    private static final RowMapper<BookingRequest> HISTORY_ROW = (rs, rowNum) -> {
+        BookingRequest booking = new BookingRequest();
+        booking.setBookingId(rs.getLong("booking_id"));
+        booking.setUserId(rs.getLong("user_id"));
+        booking.setEventId(rs.getLong("event_id"));
+        booking.setTicketTypeId(rs.getLong("ticket_type_id"));
+        booking.setQuantity(rs.getInt("quantity"));
+        booking.setBookingReference(rs.getString("booking_reference"));
+        booking.setBookingStatus(rs.getString("booking_status"));
+        Timestamp bookingDate = rs.getTimestamp("booking_date");
+        booking.setBookingDate(bookingDate != null ? bookingDate.toLocalDateTime().toLocalDate() : null);
+        booking.setEventName(rs.getString("event_name"));
+        booking.setVenueName(rs.getString("venue_name"));
+        long orderId = rs.getLong("order_id");
+        booking.setOrderId(rs.wasNull() ? null : orderId);
+        return booking;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${spx.archive.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${spx.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${spx.archive.pause-ms:200}")
+    private long pauseMs;
+
+    public ArchiveService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Start an archive run on the archive thread, unless the previous one is still going
+     *
+     * @return false when a run was already going
+     */
+    @Scheduled(cron = "${spx.archive.cron:0 30 3 * * *}")
+    public boolean startArchive() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                archiveFinishedBookings();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Archive everything past the retention window, chunk by chunk, on the calling thread
+     *
+     * @return number of bookings moved
+     */
+    public int archiveFinishedBookings() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int moved = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> moveChunk(cutoff));
+            moved += chunk;
+        } while (chunk == chunkSize && pause());
+        return moved;
+    }
+
+    /**
+     * Bookings of a user, live and archived, newest first
+     */
+    public List<BookingRequest> getUserBookingHistory(Long userId) {
+        return jdbcTemplate.query(String.format(HISTORY_QUERY, "user_id"), HISTORY_ROW, userId, userId);
+    }
+
+    /**
+     * Bookings of an event, live and archived, newest first
+     */
+    public List<BookingRequest> getEventBookingHistory(Long eventId) {
+        return jdbcTemplate.query(String.format(HISTORY_QUERY, "event_id"), HISTORY_ROW, eventId, eventId);
+    }
+
+    private int moveChunk(LocalDateTime cutoff) {
+        List<Long> bookingIds = jdbcTemplate.queryForList(
+                "SELECT b.booking_id FROM booking b JOIN event e ON e.event_id = b.event_id " +
+                "WHERE e.event_date < ? AND b.booking_status IN ('COMPLETED', 'CANCELLED') " +
+                "ORDER BY b.booking_id LIMIT ? FOR UPDATE",
+                Long.class, Timestamp.valueOf(cutoff), chunkSize);
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        String in = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        Object[] ids = bookingIds.toArray();
+        Object[] stampedIds = new Object[ids.length + 1];
+        stampedIds[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(ids, 0, stampedIds, 1, ids.length);
+
+        jdbcTemplate.update("INSERT INTO orders_archive (" + ORDER_COLUMNS + ", archived_at) " +
+                "SELECT " + ORDER_COLUMNS + ", ? FROM orders WHERE booking_id IN (" + in + ")", stampedIds);
+        jdbcTemplate.update("INSERT INTO booking_archive (" + BOOKING_COLUMNS + ", archived_at) " +
+                "SELECT " + BOOKING_COLUMNS + ", ? FROM booking WHERE booking_id IN (" + in + ")", stampedIds);
+        changeOutbox.appendArchived(bookingIds);
+        jdbcTemplate.update("DELETE FROM orders WHERE booking_id IN (" + in + ")", ids);
+        jdbcTemplate.update("DELETE FROM booking WHERE booking_id IN (" + in + ")", ids);
+        jdbcTemplate.update("DELETE FROM user_booking_view WHERE booking_id IN (" + in + ")", ids);
+        return bookingIds.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.amdocs.spx.service;
 
 
+import com.amdocs.spx.bookinglog.BookingEventType;
+import com.amdocs.spx.bookinglog.BookingProjector;
 import com.amdocs.spx.entity.Booking;
 import com.amdocs.spx.entity.Event;
 import com.amdocs.spx.entity.TicketType;
@@ -9,20 +11,36 @@ import com.amdocs.spx.exception.ResourceNotFoundException;
 import com.amdocs.spx.repository.BookingRepository;
 import com.amdocs.spx.repository.EventRepository;
 import com.amdocs.spx.repository.TicketTypeRepository;
+import com.amdocs.spx.readmodel.UserBookingView;
 import com.amdocs.spx.repository.UserRepository;
 import com.amdocs.spx.request.BookingRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
-
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Booking lifecycle and lookups.
+ * Lookups a client makes right after writing (a booking by id or reference, a user's own bookings,
+ * validation) run in read-write transactions so they stay on the primary; only event-wide listings
+ * and reports are read-only and may be served by a replica.
+ */
 @Service
 public class BookingService {
 
+    /**
+     * Fields that can be served from booking columns alone
+     */
+    public static final Set<String> ROW_FIELDS = Set.of(
+            "bookingId", "bookingReference", "userId", "eventId", "ticketTypeId", "quantity", "bookingStatus");
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -38,9 +56,16 @@ public class BookingService {
     @Autowired
     private TicketTypeService ticketTypeService;
 
+    @Autowired
+    private BookingProjector bookingProjector;
+
+    @Autowired
+    private UserBookingView userBookingView;
+
     /**
      * Create new booking
      */
+    @Transactional
     public Booking createBooking(Booking booking) {
         // Validate user exists
         if (booking.getUser() != null && booking.getUser().getUserId() != null) {
@@ -87,22 +112,17 @@ public class BookingService {
         booking.setBookingReference(generateBookingReference());
         System.out.println("booking reference : " + booking.getBookingReference());
 
-        // Set default values
-        if (booking.getBookingStatus() == null) {
-            booking.setBookingStatus("PENDING");
-        }
         if (booking.getBookingDate() == null) {
             booking.setBookingDate(LocalDateTime.now());
         }
-        // Reserve tickets (increment sold count)
-        ticketTypeService.incrementSoldTickets(booking.getTicketType().getTicketTypeId(), booking.getQuantity());
-
-        return bookingRepository.save(booking);
+        // Save as PENDING and reserve the tickets
+        return bookingProjector.record(booking, BookingEventType.CREATED);
     }
 
     /**
      * Get booking details
      */
+    @Transactional
     public BookingRequest getBookingById(Long bookingId) {
        Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
@@ -122,6 +142,7 @@ public class BookingService {
     /**
      * Find booking by reference number
      */
+    @Transactional
     public Booking getBookingByReference(String bookingReference) {
         Booking booking =  bookingRepository.findByBookingReference(bookingReference)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with reference: " + bookingReference));
@@ -132,15 +153,28 @@ public class BookingService {
     /**
      * Get all bookings for a user
      */
+    @Transactional
     public List<Booking> getUserBookings(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         return bookingRepository.findByUser(user);
     }
 
+    /**
+     * Bookings of a user from the denormalized booking view, in booking order
+     */
+    @Transactional
+    public List<BookingRequest> getUserBookingRows(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        return userBookingView.findByUser(userId);
+    }
+
     /**
      * Get all bookings for an event
      */
+    @Transactional(readOnly = true)
     public List<Booking> getEventBookings(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
@@ -150,47 +184,39 @@ public class BookingService {
     /**
      * Change booking status
      */
+    @Transactional
     public Booking updateBookingStatus(Long bookingId, String status) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
 
-        // Validate status
-        List<String> validStatuses = Arrays.asList("PENDING", "CONFIRMED", "CANCELLED", "COMPLETED");
+        // Validate status; no lifecycle event moves a booking back to PENDING
+        List<String> validStatuses = Arrays.asList("CONFIRMED", "CANCELLED", "COMPLETED");
         if (!validStatuses.contains(status.toUpperCase())) {
             throw new IllegalArgumentException("Invalid status. Valid statuses are: " + validStatuses);
         }
 
-        booking.setBookingStatus(status.toUpperCase());
-        return bookingRepository.save(booking);
+        if (status.equalsIgnoreCase(booking.getBookingStatus())) {
+            return booking;
+        }
+        return bookingProjector.record(booking, BookingEventType.forStatus(status.toUpperCase()));
     }
 
     /**
      * Cancel a booking
      */
+    @Transactional
     public Booking cancelBooking(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
 
-        // Check if booking can be cancelled
-        if ("CANCELLED".equals(booking.getBookingStatus())) {
-            throw new IllegalStateException("Booking is already cancelled");
-        }
-
-        if ("COMPLETED".equals(booking.getBookingStatus())) {
-            throw new IllegalStateException("Cannot cancel a completed booking");
-        }
-
-        // Release tickets (decrement sold count)
-        ticketTypeService.decrementSoldTickets(booking.getTicketType().getTicketTypeId(), booking.getQuantity());
-
-        // Update status to cancelled
-        booking.setBookingStatus("CANCELLED");
-        return bookingRepository.save(booking);
+        // Releases the tickets; completed and already cancelled bookings are refused
+        return bookingProjector.record(booking, BookingEventType.CANCELLED);
     }
 
     /**
      * Confirm booking after payment
      */
+    @Transactional
     public Booking confirmBooking(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
@@ -205,25 +231,21 @@ public class BookingService {
             throw new IllegalStateException("Booking is no longer valid");
         }
 
-        booking.setBookingStatus("CONFIRMED");
-        return bookingRepository.save(booking);
+        return bookingProjector.record(booking, BookingEventType.CONFIRMED);
     }
 
     /**
      * Check booking validity
      */
+    @Transactional
     public boolean validateBooking(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
 
-        // Check if event is still upcoming
+        // Check if event is still upcoming. The status scheduler moves it on once it starts, but a
+        // tick can lag behind, so the date is checked as well
         Event event = booking.getEvent();
-        if (event.getEventDate().isBefore(LocalDateTime.now())) {
-            return false;
-        }
-
-        // Check if event is not cancelled
-        if ("CANCELLED".equals(event.getStatus())) {
+        if (!"UPCOMING".equals(event.getStatus()) || event.getEventDate().isBefore(LocalDateTime.now())) {
             return false;
         }
 
@@ -243,6 +265,7 @@ public class BookingService {
     /**
      * Get bookings by status
      */
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByStatus(String status) {
         return bookingRepository.findByBookingStatus(status.toUpperCase());
     }
@@ -250,6 +273,7 @@ public class BookingService {
     /**
      * Get user bookings by status
      */
+    @Transactional
     public List<Booking> getUserBookingsByStatus(Long userId, String status) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
@@ -259,6 +283,7 @@ public class BookingService {
     /**
      * Get event bookings by status
      */
+    @Transactional(readOnly = true)
     public List<Booking> getEventBookingsByStatus(Long eventId, String status) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
@@ -268,6 +293,7 @@ public class BookingService {
     /**
      * Get total revenue for an event
      */
+    @Transactional(readOnly = true)
     public BigDecimal getEventRevenue(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
@@ -297,23 +323,42 @@ public class BookingService {
     /**
      * Complete booking (mark as completed after event)
      */
+    @Transactional
     public Booking completeBooking(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
 
-        if (!"CONFIRMED".equals(booking.getBookingStatus())) {
-            throw new IllegalStateException("Only confirmed bookings can be completed");
-        }
-
-        booking.setBookingStatus("COMPLETED");
-        return bookingRepository.save(booking);
+        return bookingProjector.record(booking, BookingEventType.COMPLETED);
     }
 
+    @Transactional
     public String deleteBooking(Long id) {
         bookingRepository.deleteById(id);
+        userBookingView.delete(id);
         return "Booking with id " + id + " has been deleted";
     }
+    @Transactional(readOnly = true)
     public List<Booking> getAllBookings(){
         return bookingRepository.findAll();
     }
+
+    /**
+     * List all bookings reading only the booking columns
+     */
+    @Transactional(readOnly = true)
+    public List<BookingRequest> getAllBookingRows() {
+        return bookingRepository.findBookingRows().stream()
+                .map(row -> {
+                    BookingRequest bookingRequest = new BookingRequest();
+                    bookingRequest.setBookingId((Long) row[0]);
+                    bookingRequest.setBookingReference((String) row[1]);
+                    bookingRequest.setUserId((Long) row[2]);
+                    bookingRequest.setEventId((Long) row[3]);
+                    bookingRequest.setTicketTypeId((Long) row[4]);
+                    bookingRequest.setQuantity((Integer) row[5]);
+                    bookingRequest.setBookingStatus((String) row[6]);
+                    return bookingRequest;
+                })
+                .collect(Collectors.toList());
+    }
 }
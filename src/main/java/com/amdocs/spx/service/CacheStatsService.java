@@ -0,0 +1,45 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatsService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Hit, miss and put counts for every second-level cache region
+     */
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatsDTO> regions = new ArrayList<>();
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            long lookups = region.getHitCount() + region.getMissCount();
+            regions.add(new CacheRegionStatsDTO(name, region.getHitCount(), region.getMissCount(),
+                    region.getPutCount(), lookups == 0 ? 0.0 : (double) region.getHitCount() / lookups,
+                    region.getElementCountInMemory()));
+        }
+        return regions;
+    }
+
+    /**
+     * Reset all Hibernate statistics, to measure a tuning change from zero
+     */
+    public void resetStats() {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+}
@@ -0,0 +1,133 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.entity.TicketType;
+import com.amdocs.spx.entity.User;
+import com.amdocs.spx.entity.Venue;
+import com.amdocs.spx.repository.EventRepository;
+import com.amdocs.spx.repository.TicketTypeRepository;
+import com.amdocs.spx.repository.UserRepository;
+import com.amdocs.spx.repository.VenueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Request-scoped loader resolving entity lookups in batches.
+ * Ids not seen yet in this request are fetched with a single IN query per entity type;
+ * everything already resolved, found or not, is answered from memory.
+ */
+@Component
+@RequestScope
+public class EntityBatchLoader {
+
+    private static final int MAX_IN_SIZE = 500;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    private final Batch<Event> events = new Batch<>(ids -> eventRepository.findAllById(ids), Event::getEventId);
+    private final Batch<Venue> venues = new Batch<>(ids -> venueRepository.findAllById(ids), Venue::getVenueId);
+    private final Batch<User> users = new Batch<>(ids -> userRepository.findAllById(ids), User::getUserId);
+    private final Map<Long, List<TicketType>> ticketTypesByEvent = new HashMap<>();
+
+    public Map<Long, Event> events(Collection<Long> ids) {
+        return events.load(ids);
+    }
+
+    public Map<Long, Venue> venues(Collection<Long> ids) {
+        return venues.load(ids);
+    }
+
+    public Map<Long, User> users(Collection<Long> ids) {
+        return users.load(ids);
+    }
+
+    /**
+     * Ticket types of each event, fetched for all missing events in one query
+     */
+    public Map<Long, List<TicketType>> ticketTypesByEvent(Collection<Long> eventIds) {
+        Set<Long> missing = new HashSet<>(eventIds);
+        missing.removeAll(ticketTypesByEvent.keySet());
+        for (List<Long> chunk : chunks(missing)) {
+            for (Long eventId : chunk) {
+                ticketTypesByEvent.put(eventId, new ArrayList<>());
+            }
+            for (TicketType ticketType : ticketTypeRepository.findByEventEventIdIn(chunk)) {
+                ticketTypesByEvent.get(ticketType.getEvent().getEventId()).add(ticketType);
+            }
+        }
+        Map<Long, List<TicketType>> result = new LinkedHashMap<>();
+        for (Long eventId : eventIds) {
+            result.put(eventId, ticketTypesByEvent.get(eventId));
+        }
+        return result;
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>();
+        for (Long id : ids) {
+            chunk.add(id);
+            if (chunk.size() == MAX_IN_SIZE) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static class Batch<T> {
+        private final Function<Collection<Long>, List<T>> fetch;
+        private final Function<T, Long> idOf;
+        private final Map<Long, T> resolved = new HashMap<>();
+
+        Batch(Function<Collection<Long>, List<T>> fetch, Function<T, Long> idOf) {
+            this.fetch = fetch;
+            this.idOf = idOf;
+        }
+
+        Map<Long, T> load(Collection<Long> ids) {
+            Set<Long> missing = new HashSet<>(ids);
+            missing.removeAll(resolved.keySet());
+            for (List<Long> chunk : chunks(missing)) {
+                for (Long id : chunk) {
+                    resolved.put(id, null);
+                }
+                for (T entity : fetch.apply(chunk)) {
+                    resolved.put(idOf.apply(entity), entity);
+                }
+            }
+            Map<Long, T> result = new LinkedHashMap<>();
+            for (Long id : ids) {
+                T entity = resolved.get(id);
+                if (entity != null) {
+                    result.put(id, entity);
+                }
+            }
+            return result;
+        }
+    }
+}
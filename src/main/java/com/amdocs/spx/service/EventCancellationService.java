@@ -0,0 +1,233 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.bookinglog.BookingProjector;
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.cache.UpcomingEventIndex;
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.changefeed.ChangeType;
+import com.amdocs.spx.dto.EventCancellationProgressDTO;
+import com.amdocs.spx.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Cancels an event with all its bookings as a background job.
+ * The event is marked CANCELLED and its ticket types stop selling first. Then its open bookings are
+ * cancelled a chunk per transaction: paid orders are refunded, unpaid ones failed, and the tickets go
+ * back in one batched release per chunk. Finally the sold counts are recounted from the bookings, which
+ * leaves the tickets of completed bookings sold. Jobs run one at a time,
+ * and progress is kept in memory per event. Running the cancellation again resumes an interrupted job,
+ * since every step only touches what is still open.
+ */
+@Service
+public class EventCancellationService {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingProjector bookingProjector;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private UpcomingEventIndex upcomingEventIndex;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-cancellation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, EventCancellationProgressDTO> jobs = new ConcurrentHashMap<>();
+
+    @Value("${spx.cancellation.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${spx.cancellation.pause-ms:50}")
+    private long pauseMs;
+
+    public EventCancellationService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Start cancelling an event in the background
+     *
+     * @throws ResourceNotFoundException when the event does not exist
+     * @throws IllegalStateException when the event is already being cancelled
+     */
+    public EventCancellationProgressDTO cancelEvent(Long eventId) {
+        Integer events = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event WHERE event_id = ?",
+                Integer.class, eventId);
+        if (events == null || events == 0) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        EventCancellationProgressDTO progress = new EventCancellationProgressDTO(eventId, RUNNING, 0, 0, 0, 0,
+                LocalDateTime.now(), null, null);
+        EventCancellationProgressDTO current = jobs.compute(eventId, (id, previous) ->
+                previous != null && RUNNING.equals(previous.getState()) ? previous : progress);
+        if (current != progress) {
+            throw new IllegalStateException("Event " + eventId + " is already being cancelled");
+        }
+        executor.submit(() -> run(progress));
+        return copy(progress);
+    }
+
+    /**
+     * Progress of the latest cancellation of an event
+     */
+    public Optional<EventCancellationProgressDTO> getProgress(Long eventId) {
+        return Optional.ofNullable(jobs.get(eventId)).map(this::copy);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(EventCancellationProgressDTO progress) {
+        Long eventId = progress.getEventId();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("UPDATE event SET status = 'CANCELLED' WHERE event_id = ?", eventId);
+                ticketTypeService.closeSales(eventId);
+            });
+            catalogVersions.bump(CatalogVersions.EVENT, eventId);
+            upcomingEventIndex.remove(eventId);
+
+            Long open = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking WHERE event_id = ? " +
+                    "AND booking_status IN ('PENDING', 'CONFIRMED')", Long.class, eventId);
+            update(progress, p -> p.setTotalBookings(open != null ? open : 0));
+
+            int[] chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> cancelChunk(eventId));
+                int[] counts = chunk;
+                update(progress, p -> {
+                    p.setBookingsCancelled(p.getBookingsCancelled() + counts[0]);
+                    p.setOrdersFailed(p.getOrdersFailed() + counts[1]);
+                    p.setOrdersRefunded(p.getOrdersRefunded() + counts[2]);
+                });
+            } while (chunk[0] == chunkSize && pause());
+            if (chunk[0] == chunkSize) {
+                finish(progress, FAILED, "Interrupted, cancel the event again to resume");
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                ticketTypeService.recountSoldTickets(eventId);
+                jdbcTemplate.update("UPDATE event SET tickets_sold = (SELECT COALESCE(SUM(h.quantity), 0) FROM (" +
+                        "SELECT quantity FROM booking WHERE event_id = ? AND booking_status <> 'CANCELLED' " +
+                        "UNION ALL " +
+                        "SELECT quantity FROM booking_archive WHERE event_id = ? AND booking_status <> 'CANCELLED'" +
+                        ") h) WHERE event_id = ?", eventId, eventId, eventId);
+            });
+            catalogVersions.bump(CatalogVersions.EVENT, eventId);
+            finish(progress, COMPLETED, null);
+        } catch (RuntimeException e) {
+            finish(progress, FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * @return bookings cancelled, orders failed and orders refunded
+     */
+    private int[] cancelChunk(Long eventId) {
+        List<Long> bookingIds = jdbcTemplate.queryForList(
+                "SELECT booking_id FROM booking WHERE event_id = ? AND booking_status IN ('PENDING', 'CONFIRMED') " +
+                "ORDER BY booking_id LIMIT ? FOR UPDATE",
+                Long.class, eventId, chunkSize);
+        if (bookingIds.isEmpty()) {
+            return new int[3];
+        }
+        String in = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        List<Long> toFail = new ArrayList<>();
+        List<Long> toRefund = new ArrayList<>();
+        jdbcTemplate.query("SELECT order_id, payment_status FROM orders WHERE booking_id IN (" + in + ") " +
+                "AND payment_status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'CONFIRMED') " +
+                "ORDER BY order_id FOR UPDATE", rs -> {
+            String paymentStatus = rs.getString("payment_status");
+            boolean paid = "COMPLETED".equals(paymentStatus) || "CONFIRMED".equals(paymentStatus);
+            (paid ? toRefund : toFail).add(rs.getLong("order_id"));
+        }, bookingIds.toArray());
+
+        setPaymentStatus(toFail, "FAILED");
+        setPaymentStatus(toRefund, "REFUNDED");
+        List<Long> cancelled = bookingProjector.cancelAll(bookingIds);
+        return new int[]{cancelled.size(), toFail.size(), toRefund.size()};
+    }
+
+    private void setPaymentStatus(List<Long> orderIds, String paymentStatus) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        String in = String.join(",", Collections.nCopies(orderIds.size(), "?"));
+        Object[] args = new Object[orderIds.size() + 1];
+        args[0] = paymentStatus;
+        System.arraycopy(orderIds.toArray(), 0, args, 1, orderIds.size());
+        jdbcTemplate.update("UPDATE orders SET payment_status = ? WHERE order_id IN (" + in + ")", args);
+        changeOutbox.appendOrders(orderIds, ChangeType.UPDATED);
+    }
+
+    private void update(EventCancellationProgressDTO progress, Consumer<EventCancellationProgressDTO> change) {
+        synchronized (progress) {
+            change.accept(progress);
+        }
+    }
+
+    private void finish(EventCancellationProgressDTO progress, String state, String error) {
+        update(progress, p -> {
+            p.setState(state);
+            p.setError(error);
+            p.setFinishedAt(LocalDateTime.now());
+        });
+    }
+
+    private EventCancellationProgressDTO copy(EventCancellationProgressDTO progress) {
+        synchronized (progress) {
+            return new EventCancellationProgressDTO(progress.getEventId(), progress.getState(),
+                    progress.getTotalBookings(), progress.getBookingsCancelled(), progress.getOrdersFailed(),
+                    progress.getOrdersRefunded(), progress.getStartedAt(), progress.getFinishedAt(), progress.getError());
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.cache.UpcomingEventIndex;
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.changefeed.ChangeType;
+import com.amdocs.spx.dto.EventCompletionResultDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Completes events that have ended together with their confirmed bookings.
+ * Bookings move in chunks, each in its own short transaction with a pause in between, through set-based
+ * statements that also append the COMPLETED events to the booking log and update the user booking view
+ * and change feed. The event itself is marked COMPLETED only once none of its bookings are left
+ * CONFIRMED, so a run that stops halfway picks up where it left off.
+ * Scheduled runs go to the job's own thread, so the pauses do not hold up the shared scheduler thread.
+ */
+@Service
+public class EventCompletionService {
+
+    private static final String OPEN_STATUSES = "('UPCOMING', 'ONGOING')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private UpcomingEventIndex upcomingEventIndex;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-completion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${spx.completion.grace-minutes:360}")
+    private long graceMinutes;
+
+    @Value("${spx.completion.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${spx.completion.pause-ms:100}")
+    private long pauseMs;
+
+    public EventCompletionService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Start a completion run on the completion thread, unless the previous one is still going
+     *
+     * @return false when a run was already going
+     */
+    @Scheduled(cron = "${spx.completion.cron:0 10 * * * *}")
+    public boolean startCompletion() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                completeFinishedEvents();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Complete every open event whose date is more than the grace period ago, on the calling thread
+     */
+    public EventCompletionResultDTO completeFinishedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        List<Long> eventIds = jdbcTemplate.queryForList(
+                "SELECT event_id FROM event WHERE event_date < ? AND status IN " + OPEN_STATUSES + " ORDER BY event_id",
+                Long.class, Timestamp.valueOf(cutoff));
+
+        EventCompletionResultDTO result = new EventCompletionResultDTO();
+        for (Long eventId : eventIds) {
+            if (!completeEvent(eventId, cutoff, result)) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Complete one event and its confirmed bookings, if it is still open and ended more than the
+     * grace period ago.
+     */
+    public EventCompletionResultDTO completeEvent(Long eventId) {
+        EventCompletionResultDTO result = new EventCompletionResultDTO();
+        completeEvent(eventId, LocalDateTime.now().minusMinutes(graceMinutes), result);
+        return result;
+    }
+
+    /**
+     * Complete one event like {@link #completeEvent(Long)}, but on the completion thread. Used by the event
+     * status scheduler when the event's end comes due, so its tick does not wait for the chunks and pauses.
+     */
+    public void startEventCompletion(Long eventId) {
+        executor.execute(() -> completeEvent(eventId));
+    }
+
+    /**
+     * End of an event as far as completion is concerned: its date plus the grace period
+     */
+    public LocalDateTime endOf(LocalDateTime eventDate) {
+        return eventDate.plusMinutes(graceMinutes);
+    }
+
+    /**
+     * @return false when the run was interrupted before the event could be closed
+     */
+    private boolean completeEvent(Long eventId, LocalDateTime cutoff, EventCompletionResultDTO result) {
+        Integer open = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event WHERE event_id = ? AND event_date < ? " +
+                "AND status IN " + OPEN_STATUSES, Integer.class, eventId, Timestamp.valueOf(cutoff));
+        if (open == null || open == 0) {
+            return true;
+        }
+
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> completeChunk(eventId));
+            result.setBookingsCompleted(result.getBookingsCompleted() + chunk);
+        } while (chunk == chunkSize && pause());
+        if (chunk == chunkSize) {
+            return false;
+        }
+
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "UPDATE event SET status = 'COMPLETED' WHERE event_id = ? AND status IN " + OPEN_STATUSES, eventId));
+        if (updated != null && updated > 0) {
+            catalogVersions.bump(CatalogVersions.EVENT, eventId);
+            upcomingEventIndex.remove(eventId);
+            result.setEventsCompleted(result.getEventsCompleted() + 1);
+        }
+        return true;
+    }
+
+    private int completeChunk(Long eventId) {
+        List<Long> bookingIds = jdbcTemplate.queryForList(
+                "SELECT booking_id FROM booking WHERE event_id = ? AND booking_status = 'CONFIRMED' " +
+                "ORDER BY booking_id LIMIT ? FOR UPDATE",
+                Long.class, eventId, chunkSize);
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        String in = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        Object[] ids = bookingIds.toArray();
+        Object[] stampedIds = new Object[ids.length + 1];
+        stampedIds[0] = Timestamp.valueOf(LocalDateTime.now());
+        System.arraycopy(ids, 0, stampedIds, 1, ids.length);
+
+        jdbcTemplate.update("INSERT INTO booking_event (booking_id, ticket_type_id, event_type, quantity, occurred_at) " +
+                "SELECT booking_id, ticket_type_id, 'COMPLETED', quantity, ? FROM booking " +
+                "WHERE booking_id IN (" + in + ") ORDER BY booking_id", stampedIds);
+        jdbcTemplate.update("UPDATE booking SET booking_status = 'COMPLETED' WHERE booking_id IN (" + in + ")", ids);
+        jdbcTemplate.update("UPDATE user_booking_view SET booking_status = 'COMPLETED' WHERE booking_id IN (" + in + ")", ids);
+        changeOutbox.appendBookings(bookingIds, ChangeType.UPDATED);
+        return bookingIds.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
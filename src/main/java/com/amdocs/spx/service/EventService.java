@@ -1,25 +1,41 @@
 package com.amdocs.spx.service;
 
 
+import com.amdocs.spx.cache.UpcomingEventIndex;
 import com.amdocs.spx.dto.EventDTO;
 import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.entity.TicketType;
 import com.amdocs.spx.entity.User;
 import com.amdocs.spx.entity.Venue;
+import com.amdocs.spx.mapper.EventMapper;
+import com.amdocs.spx.readmodel.UserBookingView;
 import com.amdocs.spx.repository.EventRepository;
 import com.amdocs.spx.repository.UserRepository;
 import com.amdocs.spx.repository.VenueRepository;
+import com.amdocs.spx.request.FieldSelection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class EventService {
 
+    private static final Set<String> CARD_FIELDS =
+            Set.of("eventId", "eventName", "eventDate", "category", "status", "minPrice");
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -28,6 +44,18 @@ public class EventService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UpcomingEventIndex upcomingEventIndex;
+
+    @Autowired
+    private EventStatusScheduler eventStatusScheduler;
+
+    @Autowired
+    private UserBookingView userBookingView;
+
+    @Autowired
+    private EntityBatchLoader batchLoader;
+
     /**
      * Create new event
      */
@@ -54,7 +82,10 @@ public class EventService {
             event.setTicketsSold(0);
         }
 
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        upcomingEventIndex.put(EventMapper.toDTO(savedEvent));
+        eventStatusScheduler.schedule(savedEvent.getEventId(), savedEvent.getEventDate(), savedEvent.getStatus());
+        return savedEvent;
     }
 
     /**
@@ -90,7 +121,11 @@ public class EventService {
             event.setVenue(venue);
         }
 
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        upcomingEventIndex.put(EventMapper.toDTO(savedEvent));
+        userBookingView.refreshEvent(savedEvent);
+        eventStatusScheduler.schedule(savedEvent.getEventId(), savedEvent.getEventDate(), savedEvent.getStatus());
+        return savedEvent;
     }
 
     /**
@@ -106,26 +141,94 @@ public class EventService {
         }
 
         eventRepository.delete(event);
+        upcomingEventIndex.remove(eventId);
     }
 
     /**
-     * Get event details
+     * Get event details.
+     * Read on the primary, like the event listings: their bodies go out under catalog version tags that
+     * move at primary commit, and a replica could still hold the data from before the change.
      */
+    @Transactional
     public Event getEventById(Long eventId) {
-        return eventRepository.findById(eventId)
+        return eventRepository.findDetailByEventId(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
     }
 
     /**
      * List all events
      */
+    @Transactional
     public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+        return eventRepository.findDetailBy();
+    }
+
+    /**
+     * List all events with only the selected fields.
+     * Card fields come from a single column query, anything else loads only the associations asked for.
+     */
+    @Transactional
+    public List<EventDTO> getAllEvents(FieldSelection fields) {
+        if (fields.isWithin(CARD_FIELDS)) {
+            return eventRepository.findCardRows().stream()
+                    .map(row -> {
+                        EventDTO dto = new EventDTO();
+                        dto.setEventId((Long) row[0]);
+                        dto.setEventName((String) row[1]);
+                        dto.setEventDate((LocalDateTime) row[2]);
+                        dto.setCategory((String) row[3]);
+                        dto.setStatus((String) row[4]);
+                        dto.setMinPrice(row[5] != null ? ((BigDecimal) row[5]).doubleValue() : null);
+                        return dto;
+                    })
+                    .collect(Collectors.toList());
+        }
+        List<Event> events = fields.includes("organizer") ? eventRepository.findDetailBy() : eventRepository.findCardBy();
+        return events.stream()
+                .map(event -> EventMapper.toDTO(event, fields))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get many events at once with their venues, organizers and ticket types.
+     * Lookups go through the request's batch loader, one IN query per entity type.
+     */
+    @Transactional(readOnly = true)
+    public List<EventDTO> getEventsByIds(List<Long> eventIds) {
+        Map<Long, Event> events = batchLoader.events(eventIds);
+        Set<Long> venueIds = new HashSet<>();
+        Set<Long> organizerIds = new HashSet<>();
+        for (Event event : events.values()) {
+            if (event.getVenue() != null) {
+                venueIds.add(event.getVenue().getVenueId());
+            }
+            if (event.getOrganizer() != null) {
+                organizerIds.add(event.getOrganizer().getUserId());
+            }
+        }
+        Map<Long, Venue> venues = batchLoader.venues(venueIds);
+        Map<Long, User> organizers = batchLoader.users(organizerIds);
+        Map<Long, List<TicketType>> ticketTypes = batchLoader.ticketTypesByEvent(events.keySet());
+
+        List<EventDTO> eventDTOs = new ArrayList<>();
+        for (Long eventId : eventIds) {
+            Event event = events.get(eventId);
+            if (event == null) {
+                continue;
+            }
+            eventDTOs.add(EventMapper.toDTO(event,
+                    event.getVenue() != null ? venues.get(event.getVenue().getVenueId()) : null,
+                    event.getOrganizer() != null ? organizers.get(event.getOrganizer().getUserId()) : null,
+                    ticketTypes.getOrDefault(eventId, List.of()),
+                    FieldSelection.all()));
+        }
+        return eventDTOs;
     }
 
     /**
      * Filter events by category
      */
+    @Transactional(readOnly = true)
     public List<Event> getEventsByCategory(String category) {
         return eventRepository.findByCategory(category);
     }
@@ -133,6 +236,7 @@ public class EventService {
     /**
      * Get events by organizer
      */
+    @Transactional(readOnly = true)
     public List<Event> getEventsByOrganizer(Long organizerId) {
         User organizer = userRepository.findById(organizerId)
                 .orElseThrow(() -> new RuntimeException("Organizer not found with id: " + organizerId));
@@ -140,16 +244,73 @@ public class EventService {
     }
 
     /**
-     * Get future events
+     * Get future events, served from the in-memory upcoming feed
      */
-    public List<Event> getUpcomingEvents() {
-        LocalDateTime now = LocalDateTime.now();
-        return eventRepository.findByEventDateAfterAndStatus(now, "UPCOMING");
+    public List<EventDTO> getUpcomingEvents(Integer limit, String category, String city) {
+        return upcomingEventIndex.next(limit, category, city);
+    }
+
+    /**
+     * Version of the upcoming feed, moves whenever its contents change
+     */
+    public long getUpcomingFeedVersion() {
+        return upcomingEventIndex.version();
+    }
+
+    /**
+     * Reload the upcoming feed from the database.
+     * Reads the primary: changes reach the index at commit, and a lagging replica would put them back.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${spx.upcoming.reload-interval-ms:600000}")
+    @Transactional
+    public void reloadUpcomingEvents() {
+        List<Event> events = eventRepository.findByEventDateAfterAndStatus(LocalDateTime.now(), "UPCOMING");
+        upcomingEventIndex.replaceAll(events.stream()
+                .map(EventMapper::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Push a changed ticket type into the upcoming feed, once the surrounding transaction commits
+     */
+    public void refreshUpcomingTicketType(TicketType ticketType) {
+        refreshUpcomingTicketType(ticketType, ticketType.getQuantitySold());
+    }
+
+    /**
+     * Push a changed ticket type into the upcoming feed with a sold count kept outside the entity
+     */
+    public void refreshUpcomingTicketType(TicketType ticketType, Integer quantitySold) {
+        Long eventId = ticketType.getEvent().getEventId();
+        EventDTO.TicketTypeDTO ticketTypeDTO = EventMapper.toTicketTypeDTO(ticketType);
+        ticketTypeDTO.setQuantitySold(quantitySold);
+        afterCommit(() -> upcomingEventIndex.putTicketType(eventId, ticketTypeDTO));
+    }
+
+    /**
+     * Remove a deleted ticket type from the upcoming feed, once the surrounding transaction commits
+     */
+    public void removeUpcomingTicketType(Long eventId, Long ticketTypeId) {
+        afterCommit(() -> upcomingEventIndex.removeTicketType(eventId, ticketTypeId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
      * Search events by criteria (name or description)
      */
+    @Transactional(readOnly = true)
     public List<Event> searchEvents(String keyword) {
         return eventRepository.findByEventNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(keyword, keyword);
     }
@@ -168,88 +329,29 @@ public class EventService {
         }
 
         event.setStatus(status.toUpperCase());
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        upcomingEventIndex.put(EventMapper.toDTO(savedEvent));
+        eventStatusScheduler.schedule(savedEvent.getEventId(), savedEvent.getEventDate(), savedEvent.getStatus());
+        return savedEvent;
     }
 
     /**
      * Get events at specific venue
      */
+    @Transactional(readOnly = true)
     public List<Event> getEventsByVenue(Long venueId) {
         Venue venue = venueRepository.findById(venueId)
                 .orElseThrow(() -> new RuntimeException("Venue not found with id: " + venueId));
         return eventRepository.findByVenue(venue);
     }
 
+    @Transactional(readOnly = true)
     public List<EventDTO> getEventByUserId(Long userId) {
 
         User user = userRepository.findById(Long.valueOf(userId))
                 .orElseThrow(()-> new RuntimeException("User not found"));
-       List<Event> events = eventRepository.findAll();
-       List<Event> eventOfAnOrganizer = new ArrayList<>();
-       for(Event event: events){
-           if(event.getOrganizer() == user){
-               eventOfAnOrganizer.add(event);
-           }
-       }
-       List<EventDTO> eventDTOs = new ArrayList<>();
-       for(Event event: eventOfAnOrganizer){
-           EventDTO eventDTO = convertToDTO(event);
-           eventDTOs.add(eventDTO);
-       }
-       return eventDTOs;
-    }
-
-    private EventDTO convertToDTO(Event event) {
-        EventDTO dto = new EventDTO();
-        dto.setEventId(event.getEventId());
-        dto.setEventName(event.getEventName());
-
-        dto.setCategory(event.getCategory());
-        dto.setEventDate(event.getEventDate());
-        dto.setStatus(event.getStatus());
-        dto.setBannerImageUrl(event.getBannerImageUrl());
-        dto.setTotalTicketsAvailable(event.getTotalTicketsAvailable());
-        dto.setTicketsSold(event.getTicketsSold());
-
-        // Convert Venue
-        if (event.getVenue() != null) {
-            EventDTO.VenueDTO venueDTO = new EventDTO.VenueDTO();
-            venueDTO.setVenueId(event.getVenue().getVenueId());
-            venueDTO.setVenueName(event.getVenue().getVenueName());
-            venueDTO.setAddress(event.getVenue().getAddress());
-            venueDTO.setCity(event.getVenue().getCity());
-            venueDTO.setCapacity(event.getVenue().getTotalCapacity());
-            dto.setVenue(venueDTO);
-        }
-
-        // Convert Organizer
-        if (event.getOrganizer() != null) {
-            EventDTO.OrganizerDTO organizerDTO = new EventDTO.OrganizerDTO();
-            organizerDTO.setUserId(event.getOrganizer().getUserId());
-            organizerDTO.setFirstName(event.getOrganizer().getFirstName());
-            organizerDTO.setLastName(event.getOrganizer().getLastName());
-            organizerDTO.setEmail(event.getOrganizer().getEmail());
-            dto.setOrganizer(organizerDTO);
-        }
-
-        // Convert Ticket Types
-        if (event.getTicketTypes() != null && !event.getTicketTypes().isEmpty()) {
-            List<EventDTO.TicketTypeDTO> ticketTypeDTOs = event.getTicketTypes().stream()
-                    .map(tt -> {
-                        EventDTO.TicketTypeDTO ttDTO = new EventDTO.TicketTypeDTO();
-                        ttDTO.setTicketTypeId(tt.getTicketTypeId());
-                        ttDTO.setTypeName(tt.getTypeName());
-
-                        ttDTO.setPrice(tt.getPrice().doubleValue());
-                        ttDTO.setQuantityAvailable(tt.getQuantityAvailable());
-                        ttDTO.setQuantitySold(tt.getQuantitySold());
-                        ttDTO.setIsActive(tt.getIsActive());
-                        return ttDTO;
-                    })
-                    .collect(Collectors.toList());
-            dto.setTicketTypes(ticketTypeDTOs);
-        }
-
-        return dto;
+        return eventRepository.findByOrganizer(user).stream()
+                .map(EventMapper::toDTO)
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.cache.EventTransitionQueue;
+import com.amdocs.spx.cache.UpcomingEventIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves events through their statuses when their time comes, so readers can trust {@code event.status}
+ * instead of comparing dates. Starts and ends falling within the horizon sit in a time-ordered queue,
+ * refilled from the database periodically and fed by event writes in between. Each tick flips the
+ * events that have started from UPCOMING to ONGOING in one batch and hands events that have ended to
+ * {@link EventCompletionService}, which completes them on its own thread so a large event does not hold
+ * up the starts behind it. Every transition is re-checked against the database when applied,
+ * so stale or repeated queue entries do nothing.
+ */
+@Service
+public class EventStatusScheduler {
+
+    private static final int START_BATCH = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventCompletionService eventCompletionService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private UpcomingEventIndex upcomingEventIndex;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EventTransitionQueue queue = new EventTransitionQueue();
+
+    @Value("${spx.events.schedule-horizon-hours:24}")
+    private long horizonHours;
+
+    public EventStatusScheduler(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queue the transitions of every open event starting or ending within the horizon,
+     * including overdue ones left over from downtime
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${spx.events.schedule-reload-ms:900000}")
+    public void reload() {
+        LocalDateTime horizon = LocalDateTime.now().plusHours(horizonHours);
+        jdbcTemplate.query("SELECT event_id, event_date, status FROM event " +
+                "WHERE status IN ('UPCOMING', 'ONGOING') AND event_date < ?", rs -> {
+            schedule(rs.getLong("event_id"), rs.getTimestamp("event_date").toLocalDateTime(),
+                    rs.getString("status"), horizon);
+        }, Timestamp.valueOf(horizon));
+    }
+
+    /**
+     * Queue an event's next transitions after it was created or changed
+     */
+    public void schedule(Long eventId, LocalDateTime eventDate, String status) {
+        if (eventId != null && eventDate != null) {
+            schedule(eventId, eventDate, status, LocalDateTime.now().plusHours(horizonHours));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${spx.events.status-tick-ms:1000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> started = queue.pollDue(now, EventTransitionQueue.Kind.START);
+        for (int from = 0; from < started.size(); from += START_BATCH) {
+            start(started.subList(from, Math.min(from + START_BATCH, started.size())), now);
+        }
+        for (Long eventId : queue.pollDue(now, EventTransitionQueue.Kind.END)) {
+            eventCompletionService.startEventCompletion(eventId);
+        }
+    }
+
+    private void schedule(long eventId, LocalDateTime eventDate, String status, LocalDateTime horizon) {
+        if ("UPCOMING".equals(status) && eventDate.isBefore(horizon)) {
+            queue.add(eventDate, eventId, EventTransitionQueue.Kind.START);
+        }
+        LocalDateTime end = eventCompletionService.endOf(eventDate);
+        if (("UPCOMING".equals(status) || "ONGOING".equals(status)) && end.isBefore(horizon)) {
+            queue.add(end, eventId, EventTransitionQueue.Kind.END);
+        }
+    }
+
+    private void start(List<Long> eventIds, LocalDateTime now) {
+        String in = String.join(",", Collections.nCopies(eventIds.size(), "?"));
+        Object[] args = new Object[eventIds.size() + 1];
+        System.arraycopy(eventIds.toArray(), 0, args, 0, eventIds.size());
+        args[eventIds.size()] = Timestamp.valueOf(now);
+        List<Long> flipped = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList("SELECT event_id FROM event " +
+                    "WHERE event_id IN (" + in + ") AND status = 'UPCOMING' AND event_date <= ? FOR UPDATE",
+                    Long.class, args));
+            if (!ids.isEmpty()) {
+                String flippedIn = String.join(",", Collections.nCopies(ids.size(), "?"));
+                jdbcTemplate.update("UPDATE event SET status = 'ONGOING' WHERE event_id IN (" + flippedIn + ")",
+                        ids.toArray());
+            }
+            return ids;
+        });
+        for (Long eventId : flipped) {
+            catalogVersions.bump(CatalogVersions.EVENT, eventId);
+            upcomingEventIndex.remove(eventId);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.amdocs.spx.service;
 
+import com.amdocs.spx.bookinglog.BookingEventType;
+import com.amdocs.spx.bookinglog.BookingProjector;
 import com.amdocs.spx.dto.OrderDTO;
 import com.amdocs.spx.entity.Booking;
 import com.amdocs.spx.entity.User;
 import com.amdocs.spx.exception.ResourceNotFoundException;
 import com.amdocs.spx.mapper.OrderMapper;
+import com.amdocs.spx.readmodel.UserBookingView;
 import com.amdocs.spx.repository.BookingRepository;
 import com.amdocs.spx.repository.OrderRepository;
 import com.amdocs.spx.repository.UserRepository;
@@ -12,6 +15,7 @@ import com.amdocs.spx.entity.Order;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -20,6 +24,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Orders and payments.
+ * An order is looked up on the primary, as a client reads it back right after placing or paying it;
+ * only the full listing may be served by a replica.
+ */
 @Service
 public class OrderService {
 
@@ -35,17 +44,39 @@ public class OrderService {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingProjector bookingProjector;
+
+    @Autowired
+    private UserBookingView userBookingView;
+
     @Autowired
     private OrderMapper orderMapper;
 
     /**
      * Create order from booking
      */
+    @Transactional
     public OrderDTO createOrder(Long bookingId) {
+        return orderMapper.toDTO(placeOrder(bookingId, null));
+    }
+
+    /**
+     * Create order with payment method
+     */
+    @Transactional
+    public OrderDTO createOrder(Long bookingId, String paymentMethod) {
+        return orderMapper.toDTO(placeOrder(bookingId, paymentMethod));
+    }
+
+    /**
+     * Create the order and confirm its booking in the caller's transaction.
+     * The booking is loaded once and confirmed through dirty checking.
+     */
+    private Order placeOrder(Long bookingId, String paymentMethod) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
-        User user = userRepository.findById(booking.getUser().getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + booking.getUser().getUserId()));
+        User user = booking.getUser();
         if(!booking.getOrders().isEmpty()) {
             throw new ResourceNotFoundException("Orders already exist");
         }
@@ -55,32 +86,22 @@ public class OrderService {
         order.setUser(user);
         order.setTotalAmount(booking.getTotalAmount());
         order.setPaymentStatus("CONFIRMED");
+        order.setPaymentMethod(paymentMethod);
         order.setCreatedAt(LocalDateTime.now());
         Order savedOrder = orderRepository.save(order);
-        booking.setBookingStatus("CONFIRMED");
-        bookingRepository.save(booking);
-        return orderMapper.toDTO(savedOrder);
-    }
-
-    /**
-     * Create order with payment method
-     */
-    public OrderDTO createOrder(Long bookingId, String paymentMethod) {
-        OrderDTO orderDTO = createOrder(bookingId);
-        
-        // Get the order entity to update payment method
-        Order order = orderRepository.findById(orderDTO.getOrderId())
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-        
-        order.setPaymentMethod(paymentMethod);
-        Order updatedOrder = orderRepository.save(order);
-        
-        return orderMapper.toDTO(updatedOrder);
+        booking.getOrders().add(savedOrder);
+        if ("PENDING".equals(booking.getBookingStatus())) {
+            bookingProjector.record(booking, BookingEventType.CONFIRMED);
+        } else {
+            userBookingView.upsert(booking);
+        }
+        return savedOrder;
     }
 
     /**
      * Get order details
      */
+    @Transactional
     public OrderDTO getOrderById(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
@@ -90,6 +111,7 @@ public class OrderService {
     /**
      * Find order by order number
      */
+    @Transactional
     public OrderDTO getOrderByNumber(String orderNumber) {
         Order order = orderRepository.findByOrderNumber(orderNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with number: " + orderNumber));
@@ -99,6 +121,7 @@ public class OrderService {
     /**
      * Get all orders for a user
      */
+    @Transactional
     public List<OrderDTO> getUserOrders(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
@@ -111,6 +134,7 @@ public class OrderService {
     /**
      * Update payment status
      */
+    @Transactional
     public OrderDTO updatePaymentStatus(Long orderId, String paymentStatus) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
@@ -121,6 +145,14 @@ public class OrderService {
             throw new IllegalArgumentException("Invalid payment status. Valid statuses are: " + validStatuses);
         }
 
+        // A refund cancels a confirmed booking and gives its tickets back.
+        // Pending bookings were never paid for and completed ones have been used, so they keep their status.
+        Booking booking = order.getBooking();
+        if ("REFUNDED".equals(paymentStatus.toUpperCase()) && !"REFUNDED".equals(order.getPaymentStatus())
+                && "CONFIRMED".equals(booking.getBookingStatus())) {
+            bookingProjector.record(booking, BookingEventType.REFUNDED);
+        }
+
         order.setPaymentStatus(paymentStatus.toUpperCase());
 
         // If payment is completed, update payment date
@@ -130,13 +162,13 @@ public class OrderService {
             bookingService.confirmBooking(order.getBooking().getBookingId());
         }
 
-        Order updatedOrder = orderRepository.save(order);
-        return orderMapper.toDTO(updatedOrder);
+        return orderMapper.toDTO(order);
     }
 
     /**
      * Handle payment processing
      */
+    @Transactional
     public OrderDTO processPayment(Long orderId, String paymentMethod, String transactionId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
@@ -156,8 +188,7 @@ public class OrderService {
         order.setTransactionId(transactionId);
         order.setPaymentStatus("PROCESSING");
 
-        Order processedOrder = orderRepository.save(order);
-        return orderMapper.toDTO(processedOrder);
+        return orderMapper.toDTO(order);
     }
 
 
@@ -185,6 +216,7 @@ public class OrderService {
 
 
 
+    @Transactional(readOnly = true)
     public ResponseEntity<List<OrderDTO>> getAllOrders() {
         List<Order> orders = orderRepository.findAll();
         return ResponseEntity.ok(orders.stream()
@@ -192,14 +224,19 @@ public class OrderService {
                 .collect(Collectors.toList()));
     }
 
+    @Transactional
     public String deleteOrder(Long id) {
         Order order = orderRepository.findById(id)
                         .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
-        orderRepository.deleteById(id);
+        Booking booking = order.getBooking();
+        booking.getOrders().remove(order);
+        orderRepository.delete(order);
+        userBookingView.upsert(booking);
         return "Order deleted Successfully";
     }
 
 
+    @Transactional
     public OrderDTO editOrder(Long id, OrderDTO orderDTO) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
@@ -220,10 +257,16 @@ public class OrderService {
         if (orderDTO.getBookingId() != null) {
             Booking booking = bookingRepository.findById(orderDTO.getBookingId())
                     .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + orderDTO.getBookingId()));
-            order.setBooking(booking);
+            Booking previous = order.getBooking();
+            if (!booking.getBookingId().equals(previous.getBookingId())) {
+                previous.getOrders().remove(order);
+                booking.getOrders().add(order);
+                order.setBooking(booking);
+                userBookingView.upsert(previous);
+                userBookingView.upsert(booking);
+            }
         }
 
-        Order updatedOrder = orderRepository.save(order);
-        return orderMapper.toDTO(updatedOrder);
+        return orderMapper.toDTO(order);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.dto.PoolStatsDTO;
+import com.amdocs.spx.metrics.AdaptivePoolSizer;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Service
+public class PoolStatsService {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private AdaptivePoolSizer adaptivePoolSizer;
+
+    /**
+     * Current state of the primary connection pool and, when adaptive sizing is on, the
+     * wait and latency it last acted on
+     */
+    public PoolStatsDTO getPoolStats() throws SQLException {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        return new PoolStatsDTO(
+                pool.getPoolName(),
+                poolBean != null ? poolBean.getActiveConnections() : 0,
+                poolBean != null ? poolBean.getIdleConnections() : 0,
+                poolBean != null ? poolBean.getTotalConnections() : 0,
+                poolBean != null ? poolBean.getThreadsAwaitingConnection() : 0,
+                config.getMinimumIdle(),
+                config.getMaximumPoolSize(),
+                adaptivePoolSizer != null,
+                adaptivePoolSizer != null ? adaptivePoolSizer.getWaitMs() : 0.0,
+                adaptivePoolSizer != null ? adaptivePoolSizer.getDbMs() : 0.0);
+    }
+}
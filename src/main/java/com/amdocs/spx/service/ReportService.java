@@ -0,0 +1,33 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.analytics.BookingColumnStore;
+import com.amdocs.spx.analytics.GroupBy;
+import com.amdocs.spx.analytics.ReportFilter;
+import com.amdocs.spx.dto.ReportRowDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ReportService {
+
+    @Autowired
+    private BookingColumnStore bookingColumnStore;
+
+    /**
+     * Aggregate bookings grouped by the given dimension
+     */
+    public List<ReportRowDTO> getBookingReport(String groupBy, ReportFilter filter) {
+        GroupBy dimension;
+        try {
+            dimension = GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid group. Valid groups are: " + List.of(GroupBy.values()));
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        return bookingColumnStore.snapshot().aggregate(filter, dimension);
+    }
+}
@@ -0,0 +1,119 @@
+package com.amdocs.spx.service;
+
+import com.amdocs.spx.bookinglog.BookingProjector;
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.changefeed.ChangeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fails PENDING and PROCESSING orders whose payment never arrived and gives their tickets back.
+ * Stale orders are read in keyset order on (created_at, order_id), a chunk per short transaction. Rows a live
+ * request holds locked are skipped and retried on a later tick. Each tick stops once it has used its budget of
+ * orders or time, so a large backlog drains over several ticks instead of competing with live traffic.
+ */
+@Service
+public class StaleOrderSweeper {
+
+    private static final List<String> STALE_STATUSES = List.of("PENDING", "PROCESSING");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingProjector bookingProjector;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spx.orders.stale-after-minutes:30}")
+    private long staleAfterMinutes;
+
+    @Value("${spx.orders.sweep.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${spx.orders.sweep.budget-orders:2000}")
+    private int budgetOrders;
+
+    @Value("${spx.orders.sweep.budget-ms:2000}")
+    private long budgetMs;
+
+    public StaleOrderSweeper(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Sweep stale orders until the tick's budget is used up
+     *
+     * @return number of orders failed
+     */
+    @Scheduled(fixedDelayString = "${spx.orders.sweep.interval-ms:60000}")
+    public int sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+        long deadline = System.currentTimeMillis() + budgetMs;
+        int failed = 0;
+        for (String status : STALE_STATUSES) {
+            Cursor cursor = new Cursor();
+            while (!cursor.exhausted && failed < budgetOrders && System.currentTimeMillis() < deadline) {
+                int limit = Math.min(chunkSize, budgetOrders - failed);
+                failed += transactionTemplate.execute(tx -> sweepChunk(status, cutoff, cursor, limit));
+            }
+        }
+        return failed;
+    }
+
+    private int sweepChunk(String status, LocalDateTime cutoff, Cursor cursor, int limit) {
+        List<Long> orderIds = new ArrayList<>();
+        Set<Long> bookingIds = new LinkedHashSet<>();
+        jdbcTemplate.query("SELECT order_id, booking_id, created_at FROM orders " +
+                "WHERE payment_status = ? AND created_at < ? AND (created_at > ? OR (created_at = ? AND order_id > ?)) " +
+                "ORDER BY created_at, order_id LIMIT ? FOR UPDATE SKIP LOCKED", rs -> {
+            orderIds.add(rs.getLong("order_id"));
+            bookingIds.add(rs.getLong("booking_id"));
+            cursor.createdAt = rs.getTimestamp("created_at");
+            cursor.orderId = rs.getLong("order_id");
+        }, status, Timestamp.valueOf(cutoff), cursor.createdAt, cursor.createdAt, cursor.orderId, limit);
+        cursor.exhausted = orderIds.size() < limit;
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        String in = String.join(",", Collections.nCopies(orderIds.size(), "?"));
+        jdbcTemplate.update("UPDATE orders SET payment_status = 'FAILED' WHERE order_id IN (" + in + ")",
+                orderIds.toArray());
+        changeOutbox.appendOrders(orderIds, ChangeType.UPDATED);
+
+        // A booking that also has a paid order keeps its tickets
+        String bookingIn = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        List<Long> unpaid = jdbcTemplate.queryForList("SELECT b.booking_id FROM booking b " +
+                "WHERE b.booking_id IN (" + bookingIn + ") AND NOT EXISTS (SELECT 1 FROM orders o " +
+                "WHERE o.booking_id = b.booking_id AND o.payment_status IN ('COMPLETED', 'CONFIRMED'))",
+                Long.class, bookingIds.toArray());
+        bookingProjector.cancelAll(unpaid);
+        return orderIds.size();
+    }
+
+    /**
+     * Keyset position within one status, just past the last order read
+     */
+    private static class Cursor {
+        private Timestamp createdAt = new Timestamp(0);
+        private long orderId;
+        private boolean exhausted;
+    }
+}
@@ -1,16 +1,27 @@
 package com.amdocs.spx.service;
 
 
+import com.amdocs.spx.cache.CatalogVersions;
 import com.amdocs.spx.entity.Event;
 import com.amdocs.spx.entity.TicketType;
 import com.amdocs.spx.exception.ResourceNotFoundException;
+import com.amdocs.spx.inventory.InventoryLedger;
+import com.amdocs.spx.readmodel.UserBookingView;
 import com.amdocs.spx.repository.EventRepository;
 import com.amdocs.spx.repository.TicketTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class TicketTypeService {
@@ -21,9 +32,28 @@ public class TicketTypeService {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private EventService eventService;
+
+    @Autowired(required = false)
+    private InventoryLedger inventoryLedger;
+
+    @Autowired
+    private UserBookingView userBookingView;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     /**
      * Add ticket type to event
      */
+    @Transactional
     public TicketType createTicketType(TicketType ticketType) {
         // Validate event exists
         if (ticketType.getEvent() != null && ticketType.getEvent().getEventId() != null) {
@@ -52,18 +82,22 @@ public class TicketTypeService {
             throw new IllegalArgumentException("Price cannot be negative");
         }
 
-        return ticketTypeRepository.save(ticketType);
+        TicketType savedTicketType = ticketTypeRepository.save(ticketType);
+        eventService.refreshUpcomingTicketType(savedTicketType);
+        return savedTicketType;
     }
 
     /**
      * Modify ticket type details
      */
+    @Transactional
     public TicketType updateTicketType(Long ticketTypeId, TicketType ticketTypeDetails) {
         TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
 
-        if (ticketTypeDetails.getTypeName() != null) {
+        if (ticketTypeDetails.getTypeName() != null && !ticketTypeDetails.getTypeName().equals(ticketType.getTypeName())) {
             ticketType.setTypeName(ticketTypeDetails.getTypeName());
+            userBookingView.refreshTicketType(ticketType);
         }
         if (ticketTypeDetails.getPrice() != null) {
             if (ticketTypeDetails.getPrice().compareTo(BigDecimal.ZERO) < 0) {
@@ -73,24 +107,26 @@ public class TicketTypeService {
         }
         if (ticketTypeDetails.getQuantityAvailable() != null) {
             // Ensure new quantity is not less than already sold tickets
-            if (ticketTypeDetails.getQuantityAvailable() < ticketType.getQuantitySold()) {
+            if (ticketTypeDetails.getQuantityAvailable() < soldTickets(ticketType)) {
                 throw new IllegalArgumentException("Quantity available cannot be less than quantity already sold");
             }
             ticketType.setQuantityAvailable(ticketTypeDetails.getQuantityAvailable());
         }
 
-        return ticketTypeRepository.save(ticketType);
+        eventService.refreshUpcomingTicketType(ticketType);
+        return ticketType;
     }
 
     /**
      * Remove ticket type
      */
+    @Transactional
     public void deleteTicketType(Long ticketTypeId) {
         TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
 
         // Check if any tickets have been sold
-        if (ticketType.getQuantitySold() > 0) {
+        if (soldTickets(ticketType) > 0) {
             throw new IllegalStateException("Cannot delete ticket type with sold tickets");
         }
 
@@ -100,11 +136,13 @@ public class TicketTypeService {
         }
 
         ticketTypeRepository.delete(ticketType);
+        eventService.removeUpcomingTicketType(ticketType.getEvent().getEventId(), ticketTypeId);
     }
 
     /**
-     * Get ticket type details
+     * Get ticket type details, from the primary as it is served under a catalog version tag
      */
+    @Transactional
     public TicketType getTicketTypeById(Long ticketTypeId) {
         return ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
@@ -113,6 +151,7 @@ public class TicketTypeService {
     /**
      * Get all ticket types for an event
      */
+    @Transactional(readOnly = true)
     public List<TicketType> getTicketTypesByEvent(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
@@ -122,18 +161,20 @@ public class TicketTypeService {
     /**
      * Update available quantity
      */
+    @Transactional
     public TicketType updateTicketAvailability(Long ticketTypeId, Integer newQuantity) {
         TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
 
         // Ensure new quantity is not less than already sold tickets
-        if (newQuantity < ticketType.getQuantitySold()) {
+        if (newQuantity < soldTickets(ticketType)) {
             throw new IllegalArgumentException("New quantity cannot be less than quantity already sold (" +
-                    ticketType.getQuantitySold() + ")");
+                    soldTickets(ticketType) + ")");
         }
 
         ticketType.setQuantityAvailable(newQuantity);
-        return ticketTypeRepository.save(ticketType);
+        eventService.refreshUpcomingTicketType(ticketType);
+        return ticketType;
     }
 
     /**
@@ -147,7 +188,7 @@ public class TicketTypeService {
             return false;
         }
 
-        int availableTickets = ticketType.getQuantityAvailable() - ticketType.getQuantitySold();
+        int availableTickets = ticketType.getQuantityAvailable() - soldTickets(ticketType);
         return availableTickets >= requestedQuantity;
     }
 
@@ -158,34 +199,39 @@ public class TicketTypeService {
         TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
 
-        return ticketType.getQuantityAvailable() - ticketType.getQuantitySold();
+        return ticketType.getQuantityAvailable() - soldTickets(ticketType);
     }
 
     /**
      * Enable ticket type
      */
+    @Transactional
     public TicketType activateTicketType(Long ticketTypeId) {
         TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
 
         ticketType.setIsActive(true);
-        return ticketTypeRepository.save(ticketType);
+        eventService.refreshUpcomingTicketType(ticketType);
+        return ticketType;
     }
 
     /**
      * Disable ticket type
      */
+    @Transactional
     public TicketType deactivateTicketType(Long ticketTypeId) {
         TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
 
         ticketType.setIsActive(false);
-        return ticketTypeRepository.save(ticketType);
+        eventService.refreshUpcomingTicketType(ticketType);
+        return ticketType;
     }
 
     /**
      * Get active ticket types for an event
      */
+    @Transactional(readOnly = true)
     public List<TicketType> getActiveTicketTypesByEvent(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
@@ -193,34 +239,210 @@ public class TicketTypeService {
     }
 
     /**
-     * Increment sold tickets (used during booking)
+     * Increment sold tickets (used during booking).
+     * Without the inventory ledger the check and the increment are one conditional update, so two
+     * bookings racing for the last tickets cannot both pass; the row stays locked until commit.
      */
-    public TicketType incrementSoldTickets(Long ticketTypeId, Integer quantity) {
+    @Transactional
+    public void incrementSoldTickets(Long ticketTypeId, Integer quantity) {
         TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
 
-        // Check availability
-        if (!checkTicketAvailability(ticketTypeId, quantity)) {
-            throw new IllegalStateException("Not enough tickets available");
+        if (inventoryLedger != null) {
+            if (!ticketType.getIsActive() || !inventoryLedger.reserve(ticketTypeId, quantity,
+                    ticketType.getQuantityAvailable(), ticketType.getQuantitySold())) {
+                throw new IllegalStateException("Not enough tickets available");
+            }
+            undoOnRollback(ticketTypeId, -quantity);
+            eventService.refreshUpcomingTicketType(ticketType, soldTickets(ticketType));
+            return;
         }
 
-        ticketType.setQuantitySold(ticketType.getQuantitySold() + quantity);
-        return ticketTypeRepository.save(ticketType);
+        int updated = jdbcTemplate.update("UPDATE ticket_type SET quantity_sold = quantity_sold + ? " +
+                "WHERE ticket_type_id = ? AND is_active AND quantity_sold + ? <= quantity_available",
+                quantity, ticketTypeId, quantity);
+        if (updated == 0) {
+            throw new IllegalStateException("Not enough tickets available");
+        }
+        soldCountChanged(ticketType);
     }
 
     /**
      * Decrement sold tickets (used during booking cancellation)
      */
-    public TicketType decrementSoldTickets(Long ticketTypeId, Integer quantity) {
+    @Transactional
+    public void decrementSoldTickets(Long ticketTypeId, Integer quantity) {
         TicketType ticketType = ticketTypeRepository.findById(ticketTypeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket type not found with id: " + ticketTypeId));
 
-        int newQuantitySold = ticketType.getQuantitySold() - quantity;
-        if (newQuantitySold < 0) {
+        if (inventoryLedger != null) {
+            inventoryLedger.release(ticketTypeId, quantity, ticketType.getQuantitySold());
+            undoOnRollback(ticketTypeId, quantity);
+            eventService.refreshUpcomingTicketType(ticketType, soldTickets(ticketType));
+            return;
+        }
+
+        int updated = jdbcTemplate.update("UPDATE ticket_type SET quantity_sold = quantity_sold - ? " +
+                "WHERE ticket_type_id = ? AND quantity_sold >= ?", quantity, ticketTypeId, quantity);
+        if (updated == 0) {
             throw new IllegalStateException("Cannot decrement tickets below zero");
         }
+        soldCountChanged(ticketType);
+    }
+
+    /**
+     * Follow up a sold count changed with a conditional update: the count is read back under the row
+     * lock for the upcoming feed, and cached copies are evicted and catalog versions moved as
+     * {@link #releaseSoldTickets} does
+     */
+    private void soldCountChanged(TicketType ticketType) {
+        Long ticketTypeId = ticketType.getTicketTypeId();
+        Integer quantitySold = jdbcTemplate.queryForObject(
+                "SELECT quantity_sold FROM ticket_type WHERE ticket_type_id = ?", Integer.class, ticketTypeId);
+        eventService.refreshUpcomingTicketType(ticketType, quantitySold);
+        List<Long> ticketTypeIds = List.of(ticketTypeId);
+        evictTicketTypes(ticketTypeIds);
+        Long eventId = ticketType.getEvent() != null ? ticketType.getEvent().getEventId() : null;
+        afterCommit(() -> {
+            evictTicketTypes(ticketTypeIds);
+            catalogVersions.bumpTicketType(ticketTypeId, eventId);
+        });
+    }
 
-        ticketType.setQuantitySold(newQuantitySold);
-        return ticketTypeRepository.save(ticketType);
+    /**
+     * Give back tickets of many ticket types at once (bulk cancellations).
+     * Without the inventory ledger the counts go down in one batched update instead of an entity load per
+     * ticket type; cached copies are evicted now so the upcoming feed reads the new counts, and again after
+     * commit in case a concurrent reader cached the old ones in between. Catalog versions move after commit,
+     * as the JPA listener would have moved them for an entity update.
+     *
+     * @param releases quantity to release by ticket type id
+     */
+    @Transactional
+    public void releaseSoldTickets(Map<Long, Integer> releases) {
+        if (releases.isEmpty()) {
+            return;
+        }
+        if (inventoryLedger == null) {
+            jdbcTemplate.batchUpdate("UPDATE ticket_type SET quantity_sold = GREATEST(quantity_sold - ?, 0) " +
+                    "WHERE ticket_type_id = ?", new ArrayList<>(releases.entrySet()), releases.size(),
+                    (statement, release) -> {
+                        statement.setInt(1, release.getValue());
+                        statement.setLong(2, release.getKey());
+                    });
+            evictTicketTypes(releases.keySet());
+        }
+        Map<Long, Long> eventIds = new HashMap<>();
+        for (TicketType ticketType : ticketTypeRepository.findAllById(releases.keySet())) {
+            if (inventoryLedger != null) {
+                int quantity = releases.get(ticketType.getTicketTypeId());
+                inventoryLedger.release(ticketType.getTicketTypeId(), quantity, ticketType.getQuantitySold());
+                undoOnRollback(ticketType.getTicketTypeId(), quantity);
+            }
+            eventService.refreshUpcomingTicketType(ticketType, soldTickets(ticketType));
+            eventIds.put(ticketType.getTicketTypeId(), ticketType.getEvent() != null ? ticketType.getEvent().getEventId() : null);
+        }
+        if (inventoryLedger == null) {
+            afterCommit(() -> {
+                evictTicketTypes(releases.keySet());
+                eventIds.forEach(catalogVersions::bumpTicketType);
+            });
+        }
+    }
+
+    /**
+     * Stop sales of all ticket types of an event, used when the event is cancelled
+     */
+    @Transactional
+    public void closeSales(Long eventId) {
+        List<Long> ticketTypeIds = jdbcTemplate.queryForList("SELECT ticket_type_id FROM ticket_type WHERE event_id = ?",
+                Long.class, eventId);
+        jdbcTemplate.update("UPDATE ticket_type SET is_active = FALSE WHERE event_id = ?", eventId);
+        evictTicketTypes(ticketTypeIds);
+        afterCommit(() -> {
+            evictTicketTypes(ticketTypeIds);
+            ticketTypeIds.forEach(ticketTypeId -> catalogVersions.bumpTicketType(ticketTypeId, eventId));
+        });
+    }
+
+    /**
+     * Set the sold counts of all ticket types of an event to the tickets its bookings still hold, once the
+     * open ones are cancelled. Completed bookings keep their tickets, as they do in the booking log, and
+     * whatever drift the counts had from the bookings is cleared.
+     */
+    @Transactional
+    public void recountSoldTickets(Long eventId) {
+        Map<Long, Integer> persisted = new HashMap<>();
+        Map<Long, Integer> held = new HashMap<>();
+        jdbcTemplate.query("SELECT t.ticket_type_id, t.quantity_sold, COALESCE(SUM(h.quantity), 0) AS held " +
+                "FROM ticket_type t LEFT JOIN (" +
+                "SELECT ticket_type_id, quantity FROM booking WHERE event_id = ? AND booking_status <> 'CANCELLED' " +
+                "UNION ALL " +
+                "SELECT ticket_type_id, quantity FROM booking_archive WHERE event_id = ? AND booking_status <> 'CANCELLED'" +
+                ") h ON h.ticket_type_id = t.ticket_type_id " +
+                "WHERE t.event_id = ? GROUP BY t.ticket_type_id, t.quantity_sold", rs -> {
+            persisted.put(rs.getLong("ticket_type_id"), rs.getInt("quantity_sold"));
+            held.put(rs.getLong("ticket_type_id"), rs.getInt("held"));
+        }, eventId, eventId, eventId);
+        if (inventoryLedger == null) {
+            List<Object[]> counts = new ArrayList<>();
+            held.forEach((ticketTypeId, quantity) -> counts.add(new Object[]{quantity, ticketTypeId}));
+            jdbcTemplate.batchUpdate("UPDATE ticket_type SET quantity_sold = ? WHERE ticket_type_id = ?", counts);
+            evictTicketTypes(held.keySet());
+            afterCommit(() -> {
+                evictTicketTypes(held.keySet());
+                held.keySet().forEach(ticketTypeId -> catalogVersions.bumpTicketType(ticketTypeId, eventId));
+            });
+            return;
+        }
+        for (Map.Entry<Long, Integer> ticketType : persisted.entrySet()) {
+            int excess = inventoryLedger.sold(ticketType.getKey(), ticketType.getValue()) - held.get(ticketType.getKey());
+            if (excess > 0) {
+                inventoryLedger.release(ticketType.getKey(), excess, ticketType.getValue());
+                undoOnRollback(ticketType.getKey(), excess);
+            }
+        }
+    }
+
+    private void evictTicketTypes(Iterable<Long> ticketTypeIds) {
+        for (Long ticketTypeId : ticketTypeIds) {
+            entityManagerFactory.getCache().evict(TicketType.class, ticketTypeId);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Sold count, from the inventory ledger when it is enabled
+     */
+    private int soldTickets(TicketType ticketType) {
+        return inventoryLedger != null
+                ? inventoryLedger.sold(ticketType.getTicketTypeId(), ticketType.getQuantitySold())
+                : ticketType.getQuantitySold();
+    }
+
+    /**
+     * Ledger changes are not transactional, so reverse one if the surrounding transaction rolls back
+     */
+    private void undoOnRollback(Long ticketTypeId, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        inventoryLedger.adjust(ticketTypeId, delta);
+                    }
+                }
+            });
+        }
     }
 }
@@ -3,12 +3,14 @@ package com.amdocs.spx.service;
 
 import com.amdocs.spx.entity.Event;
 import com.amdocs.spx.entity.Venue;
+import com.amdocs.spx.readmodel.UserBookingView;
+import com.amdocs.spx.repository.EventRepository;
 import com.amdocs.spx.repository.VenueRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,26 +20,37 @@ public class VenueService {
     @Autowired
     private VenueRepository venueRepository;
 
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserBookingView userBookingView;
+
     public Venue createVenue(Venue venue) {
         return venueRepository.save(venue);
     }
     public Venue updateVenue(Venue venue) {
-        return venueRepository.save(venue);
+        Venue savedVenue = venueRepository.save(venue);
+        userBookingView.refreshVenue(savedVenue);
+        return savedVenue;
     }
     public String deleteVenue(Venue venue) {
         venueRepository.delete(venue);
         return "Venue deleted successfully";
     }
+    @Transactional
     public Optional<Venue> getVenueById(Long venueId) {
         return venueRepository.findById(venueId);
     }
+    @Transactional
     public List<Venue> getAllVenue() {
         return venueRepository.findAll();
     }
+    @Transactional(readOnly = true)
     public List<Event> getAllEventsByVenueId(Long venueId) {
-        Optional<Venue> venue = Optional.ofNullable(venueRepository.findById(venueId)
-                .orElseThrow(() -> new EntityNotFoundException("Venue not found")));
-        return new ArrayList<>(venue.get().getEvents());
+        Venue venue = venueRepository.findById(venueId)
+                .orElseThrow(() -> new EntityNotFoundException("Venue not found"));
+        return eventRepository.findByVenue(venue);
     }
 
 }
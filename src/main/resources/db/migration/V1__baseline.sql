@@ -0,0 +1,103 @@
+-- Schema as previously created by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE id_generator (
+    entity_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (entity_name)
+) ENGINE=InnoDB;
+
+CREATE TABLE users (
+    user_id BIGINT NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    phone_number VARCHAR(20),
+    role ENUM('CUSTOMER', 'ORGANIZER', 'ADMIN'),
+    is_active BIT,
+    PRIMARY KEY (user_id),
+    UNIQUE KEY uk_users_username (username),
+    UNIQUE KEY uk_users_email (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE venue (
+    venue_id BIGINT NOT NULL,
+    venue_name VARCHAR(255) NOT NULL,
+    address VARCHAR(500) NOT NULL,
+    city VARCHAR(100) NOT NULL,
+    total_capacity INTEGER NOT NULL,
+    PRIMARY KEY (venue_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE event (
+    event_id BIGINT NOT NULL,
+    event_name VARCHAR(255) NOT NULL,
+    description TEXT,
+    category VARCHAR(50) NOT NULL,
+    venue_id BIGINT NOT NULL,
+    organizer_id BIGINT NOT NULL,
+    event_date DATETIME(6) NOT NULL,
+    status VARCHAR(50),
+    banner_image_url VARCHAR(500),
+    total_tickets_available INTEGER NOT NULL,
+    tickets_sold INTEGER,
+    PRIMARY KEY (event_id),
+    KEY fk_event_venue (venue_id),
+    KEY fk_event_organizer (organizer_id),
+    CONSTRAINT fk_event_venue FOREIGN KEY (venue_id) REFERENCES venue (venue_id),
+    CONSTRAINT fk_event_organizer FOREIGN KEY (organizer_id) REFERENCES users (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE ticket_type (
+    ticket_type_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    type_name VARCHAR(100) NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    quantity_available INTEGER NOT NULL,
+    quantity_sold INTEGER,
+    is_active BIT,
+    PRIMARY KEY (ticket_type_id),
+    KEY fk_ticket_type_event (event_id),
+    CONSTRAINT fk_ticket_type_event FOREIGN KEY (event_id) REFERENCES event (event_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE booking (
+    booking_id BIGINT NOT NULL,
+    booking_reference VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    ticket_type_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    booking_status VARCHAR(50),
+    booking_date DATETIME(6),
+    PRIMARY KEY (booking_id),
+    UNIQUE KEY uk_booking_reference (booking_reference),
+    KEY fk_booking_user (user_id),
+    KEY fk_booking_event (event_id),
+    KEY fk_booking_ticket_type (ticket_type_id),
+    CONSTRAINT fk_booking_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT fk_booking_event FOREIGN KEY (event_id) REFERENCES event (event_id),
+    CONSTRAINT fk_booking_ticket_type FOREIGN KEY (ticket_type_id) REFERENCES ticket_type (ticket_type_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE orders (
+    order_id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    payment_status VARCHAR(50),
+    payment_method VARCHAR(50),
+    transaction_id VARCHAR(255),
+    payment_date DATETIME(6),
+    created_at DATETIME(6),
+    PRIMARY KEY (order_id),
+    UNIQUE KEY uk_orders_order_number (order_number),
+    KEY fk_orders_booking (booking_id),
+    KEY fk_orders_user (user_id),
+    CONSTRAINT fk_orders_booking FOREIGN KEY (booking_id) REFERENCES booking (booking_id),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,24 @@
+-- Databases baselined at V1 may predate pooled ids.
+CREATE TABLE IF NOT EXISTS id_generator (
+    entity_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (entity_name)
+) ENGINE=InnoDB;
+
+-- Composite indexes for the repository finders, equality columns first, then range or sort columns.
+
+CREATE INDEX idx_booking_event_status ON booking (event_id, booking_status);
+CREATE INDEX idx_booking_user_status ON booking (user_id, booking_status);
+CREATE INDEX idx_booking_status_date ON booking (booking_status, booking_date);
+
+CREATE INDEX idx_orders_status_created ON orders (payment_status, created_at);
+CREATE INDEX idx_orders_user_status ON orders (user_id, payment_status);
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at);
+CREATE INDEX idx_orders_created ON orders (created_at);
+
+CREATE INDEX idx_event_status_date ON event (status, event_date);
+CREATE INDEX idx_event_category ON event (category);
+
+CREATE INDEX idx_ticket_type_event_active ON ticket_type (event_id, is_active);
+
+CREATE INDEX idx_venue_city ON venue (city);
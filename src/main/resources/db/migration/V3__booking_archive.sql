@@ -0,0 +1,37 @@
+-- Cold storage for bookings and orders of long-finished events.
+-- Same columns as the live tables plus the time a row was moved, no foreign keys.
+
+CREATE TABLE booking_archive (
+    booking_id BIGINT NOT NULL,
+    booking_reference VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    ticket_type_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    booking_status VARCHAR(50),
+    booking_date DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (booking_id),
+    UNIQUE KEY uk_booking_archive_reference (booking_reference),
+    KEY idx_booking_archive_user (user_id),
+    KEY idx_booking_archive_event (event_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE orders_archive (
+    order_id BIGINT NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    payment_status VARCHAR(50),
+    payment_method VARCHAR(50),
+    transaction_id VARCHAR(255),
+    payment_date DATETIME(6),
+    created_at DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (order_id),
+    UNIQUE KEY uk_orders_archive_number (order_number),
+    KEY idx_orders_archive_booking (booking_id),
+    KEY idx_orders_archive_user (user_id)
+) ENGINE=InnoDB;
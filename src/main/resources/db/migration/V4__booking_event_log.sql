@@ -0,0 +1,45 @@
+-- Append-only log of booking lifecycle events, and snapshots of the state folded from it.
+-- Existing bookings are backfilled with the events that lead to their current status.
+
+CREATE TABLE booking_event (
+    booking_event_id BIGINT NOT NULL AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    ticket_type_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    quantity INTEGER NOT NULL,
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (booking_event_id),
+    KEY idx_booking_event_booking (booking_id, booking_event_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE booking_event_snapshot (
+    snapshot_id BIGINT NOT NULL AUTO_INCREMENT,
+    last_booking_event_id BIGINT NOT NULL,
+    bookings INTEGER NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    state LONGBLOB NOT NULL,
+    PRIMARY KEY (snapshot_id)
+) ENGINE=InnoDB;
+
+INSERT INTO booking_event (booking_id, ticket_type_id, event_type, quantity, occurred_at)
+SELECT booking_id, ticket_type_id, 'CREATED', quantity, COALESCE(booking_date, NOW(6))
+FROM (SELECT booking_id, ticket_type_id, quantity, booking_date FROM booking
+      UNION ALL
+      SELECT booking_id, ticket_type_id, quantity, booking_date FROM booking_archive) b
+ORDER BY booking_id;
+
+INSERT INTO booking_event (booking_id, ticket_type_id, event_type, quantity, occurred_at)
+SELECT booking_id, ticket_type_id, 'CONFIRMED', quantity, COALESCE(booking_date, NOW(6))
+FROM (SELECT booking_id, ticket_type_id, quantity, booking_date, booking_status FROM booking
+      UNION ALL
+      SELECT booking_id, ticket_type_id, quantity, booking_date, booking_status FROM booking_archive) b
+WHERE booking_status IN ('CONFIRMED', 'COMPLETED')
+ORDER BY booking_id;
+
+INSERT INTO booking_event (booking_id, ticket_type_id, event_type, quantity, occurred_at)
+SELECT booking_id, ticket_type_id, booking_status, quantity, COALESCE(booking_date, NOW(6))
+FROM (SELECT booking_id, ticket_type_id, quantity, booking_date, booking_status FROM booking
+      UNION ALL
+      SELECT booking_id, ticket_type_id, quantity, booking_date, booking_status FROM booking_archive) b
+WHERE booking_status IN ('COMPLETED', 'CANCELLED')
+ORDER BY booking_id;
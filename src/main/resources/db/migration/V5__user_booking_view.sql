@@ -0,0 +1,34 @@
+-- Denormalized read model of live bookings, one row per booking, read by user.
+-- Kept up to date by the services that change bookings, orders, events, venues and ticket types.
+
+CREATE TABLE user_booking_view (
+    booking_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    booking_reference VARCHAR(50) NOT NULL,
+    booking_status VARCHAR(50),
+    booking_date DATETIME(6),
+    quantity INTEGER NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    event_id BIGINT NOT NULL,
+    event_name VARCHAR(255) NOT NULL,
+    event_date DATETIME(6) NOT NULL,
+    venue_name VARCHAR(255),
+    ticket_type_id BIGINT NOT NULL,
+    ticket_type_name VARCHAR(100) NOT NULL,
+    order_id BIGINT,
+    PRIMARY KEY (booking_id),
+    KEY idx_user_booking_view_user (user_id, booking_id),
+    KEY idx_user_booking_view_event (event_id),
+    KEY idx_user_booking_view_ticket_type (ticket_type_id)
+) ENGINE=InnoDB;
+
+INSERT INTO user_booking_view (booking_id, user_id, booking_reference, booking_status, booking_date, quantity,
+                               total_amount, event_id, event_name, event_date, venue_name, ticket_type_id,
+                               ticket_type_name, order_id)
+SELECT b.booking_id, b.user_id, b.booking_reference, b.booking_status, b.booking_date, b.quantity,
+       b.total_amount, e.event_id, e.event_name, e.event_date, v.venue_name, t.ticket_type_id,
+       t.type_name, (SELECT MIN(o.order_id) FROM orders o WHERE o.booking_id = b.booking_id)
+FROM booking b
+JOIN event e ON e.event_id = b.event_id
+LEFT JOIN venue v ON v.venue_id = e.venue_id
+JOIN ticket_type t ON t.ticket_type_id = b.ticket_type_id;
@@ -0,0 +1,14 @@
+-- Ordered feed of booking and order changes, written in the same transaction as the change.
+-- change_id is the consumer's cursor; rows are pruned once older than the retention window.
+
+CREATE TABLE change_outbox (
+    change_id BIGINT NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    payload JSON NOT NULL,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (change_id),
+    KEY idx_change_outbox_type (aggregate_type, change_id),
+    KEY idx_change_outbox_created (created_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,87 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.metrics.AdaptivePoolSizer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptivePoolSizerTest {
+
+    private static final String POOL = "primary";
+
+    /**
+     * Unstarted pool reporting a fixed number of threads waiting for a connection
+     */
+    private static class WaitedOnPool extends HikariDataSource {
+
+        private final int waiting;
+
+        WaitedOnPool(int maximumPoolSize, int waiting) {
+            this.waiting = waiting;
+            setPoolName(POOL);
+            setMaximumPoolSize(maximumPoolSize);
+        }
+
+        @Override
+        public HikariPoolMXBean getHikariPoolMXBean() {
+            return (HikariPoolMXBean) Proxy.newProxyInstance(HikariPoolMXBean.class.getClassLoader(),
+                    new Class<?>[]{HikariPoolMXBean.class},
+                    (proxy, method, args) -> method.getName().equals("getThreadsAwaitingConnection") ? waiting : 0);
+        }
+    }
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private AdaptivePoolSizer newSizer(HikariDataSource pool) throws SQLException {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer();
+        ReflectionTestUtils.setField(sizer, "dataSource", pool);
+        ReflectionTestUtils.setField(sizer, "meterRegistry", registry);
+        ReflectionTestUtils.setField(sizer, "minSize", 5);
+        ReflectionTestUtils.setField(sizer, "maxSize", 20);
+        ReflectionTestUtils.setField(sizer, "step", 2);
+        ReflectionTestUtils.setField(sizer, "targetWaitMs", 5.0);
+        ReflectionTestUtils.setField(sizer, "maxDbLatencyMs", 50.0);
+        sizer.init();
+        return sizer;
+    }
+
+    private void record(String name, long millis) {
+        Timer.builder(name).tag("pool", POOL).register(registry).record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void testStarvedPoolGrows() throws SQLException {
+        HikariDataSource pool = new WaitedOnPool(10, 4);
+        AdaptivePoolSizer sizer = newSizer(pool);
+        // Repository calls take 84ms, but 80ms of that is waiting for a connection
+        record("hikaricp.connections.acquire", 80);
+        record("hikaricp.connections.usage", 4);
+        Timer.builder("spring.data.repository.invocations").register(registry).record(84, TimeUnit.MILLISECONDS);
+
+        sizer.adjust();
+
+        Assertions.assertEquals(4.0, sizer.getDbMs(), 0.001);
+        Assertions.assertEquals(12, pool.getMaximumPoolSize());
+    }
+
+    @Test
+    void testSlowDatabaseShrinks() throws SQLException {
+        HikariDataSource pool = new WaitedOnPool(10, 4);
+        AdaptivePoolSizer sizer = newSizer(pool);
+        record("hikaricp.connections.acquire", 80);
+        record("hikaricp.connections.usage", 120);
+
+        sizer.adjust();
+
+        Assertions.assertEquals(8, pool.getMaximumPoolSize());
+    }
+}
@@ -0,0 +1,96 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.service.ArchiveService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ArchiveServiceTest {
+
+    private static final String SELECT_CHUNK = "SELECT b.booking_id FROM booking b JOIN event e";
+
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+    private final RecordingTransactionManager transactions = new RecordingTransactionManager();
+
+    private ArchiveService newService(int chunkSize) {
+        ArchiveService service = new ArchiveService(transactions);
+        ChangeOutbox changeOutbox = new ChangeOutbox();
+        ReflectionTestUtils.setField(changeOutbox, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(service, "changeOutbox", changeOutbox);
+        ReflectionTestUtils.setField(service, "retentionDays", 365);
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(service, "pauseMs", 0L);
+        return service;
+    }
+
+    @Test
+    void testMovesChunksUntilAShortOne() {
+        ArchiveService service = newService(2);
+        jdbc.answer(SELECT_CHUNK, List.of(1L, 2L)).answer(SELECT_CHUNK, List.of(3L));
+
+        Assertions.assertEquals(3, service.archiveFinishedBookings());
+        Assertions.assertEquals(2, jdbc.callsMatching(SELECT_CHUNK).size());
+        Assertions.assertEquals(2, transactions.getCommits());
+        Assertions.assertEquals(List.of(3L), jdbc.callsMatching("DELETE FROM booking WHERE").get(1).args);
+    }
+
+    @Test
+    void testCopiesAndRecordsBeforeDeleting() {
+        ArchiveService service = newService(10);
+        jdbc.answer(SELECT_CHUNK, List.of(1L, 2L));
+
+        service.archiveFinishedBookings();
+
+        int copyOrders = jdbc.indexOf("INSERT INTO orders_archive");
+        int copyBookings = jdbc.indexOf("INSERT INTO booking_archive");
+        int feed = jdbc.indexOf("'ARCHIVED'");
+        int deleteOrders = jdbc.indexOf("DELETE FROM orders");
+        int deleteBookings = jdbc.indexOf("DELETE FROM booking WHERE");
+        Assertions.assertTrue(copyOrders >= 0 && copyBookings >= 0 && feed >= 0);
+        Assertions.assertTrue(Math.max(copyOrders, Math.max(copyBookings, feed)) < deleteOrders);
+        Assertions.assertTrue(deleteOrders < deleteBookings);
+        Assertions.assertTrue(jdbc.indexOf("DELETE FROM user_booking_view") > 0);
+    }
+
+    @Test
+    void testNothingToMove() {
+        ArchiveService service = newService(10);
+
+        Assertions.assertEquals(0, service.archiveFinishedBookings());
+        Assertions.assertEquals(1, jdbc.getCalls().size());
+    }
+
+    @Test
+    void testScheduledRunsDoNotOverlap() throws InterruptedException {
+        CountDownLatch selecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingJdbcTemplate blocking = new RecordingJdbcTemplate() {
+            @Override
+            public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+                selecting.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.queryForList(sql, elementType, args);
+            }
+        };
+        ArchiveService service = newService(10);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", blocking);
+        try {
+            Assertions.assertTrue(service.startArchive());
+            Assertions.assertTrue(selecting.await(5, TimeUnit.SECONDS));
+            Assertions.assertFalse(service.startArchive());
+            release.countDown();
+        } finally {
+            service.shutdown();
+        }
+    }
+}
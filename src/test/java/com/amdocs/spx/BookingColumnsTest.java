@@ -0,0 +1,67 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.analytics.BookingColumns;
+import com.amdocs.spx.analytics.GroupBy;
+import com.amdocs.spx.analytics.ReportFilter;
+import com.amdocs.spx.dto.ReportRowDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingColumnsTest {
+
+    @Test
+    void testRevenueByCategory() {
+        BookingColumns columns = new BookingColumns();
+        columns.append(1L, 2, new BigDecimal("100.00"), "CONFIRMED", LocalDateTime.of(2025, 1, 10, 18, 0), "Music", "Pune", "UPI");
+        columns.append(2L, 1, new BigDecimal("80.50"), "CONFIRMED", LocalDateTime.of(2025, 1, 11, 18, 0), "Sports", "Mumbai", "UPI");
+        columns.append(3L, 3, new BigDecimal("150.00"), "CONFIRMED", LocalDateTime.of(2025, 1, 12, 18, 0), "Music", "Mumbai", null);
+        columns.append(4L, 1, new BigDecimal("50.00"), "CANCELLED", LocalDateTime.of(2025, 1, 12, 18, 0), "Music", "Pune", "UPI");
+
+        ReportFilter filter = new ReportFilter();
+        filter.setStatus("confirmed");
+        List<ReportRowDTO> rows = columns.snapshot().aggregate(filter, GroupBy.CATEGORY);
+
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertEquals("Music", rows.get(0).getKey());
+        Assertions.assertEquals(2, rows.get(0).getBookings());
+        Assertions.assertEquals(5, rows.get(0).getTickets());
+        Assertions.assertEquals(new BigDecimal("250.00"), rows.get(0).getRevenue());
+    }
+
+    @Test
+    void testDateRangeAndDayGrouping() {
+        BookingColumns columns = new BookingColumns();
+        for (long id = 1; id <= 40_000; id++) {
+            LocalDateTime date = LocalDateTime.of(2025, 3, 1, 12, 0).plusDays(id % 10);
+            columns.append(id, 1, new BigDecimal("10.00"), "CONFIRMED", date, "Music", "Pune", "UPI");
+        }
+
+        ReportFilter filter = new ReportFilter();
+        filter.setFrom(LocalDate.of(2025, 3, 2));
+        filter.setTo(LocalDate.of(2025, 3, 3));
+        List<ReportRowDTO> rows = columns.snapshot().aggregate(filter, GroupBy.DAY);
+
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertEquals("2025-03-02", rows.get(0).getKey());
+        Assertions.assertEquals(4_000, rows.get(0).getBookings());
+        Assertions.assertEquals(new BigDecimal("40000.00"), rows.get(1).getRevenue());
+    }
+
+    @Test
+    void testSnapshotIgnoresLaterAppends() {
+        BookingColumns columns = new BookingColumns();
+        columns.append(1L, 1, new BigDecimal("10.00"), "PENDING", LocalDateTime.now(), "Music", "Pune", null);
+        BookingColumns.Snapshot snapshot = columns.snapshot();
+        columns.append(2L, 1, new BigDecimal("10.00"), "PENDING", LocalDateTime.now(), "Comedy", "Delhi", null);
+
+        Assertions.assertEquals(1, snapshot.size());
+        Assertions.assertTrue(snapshot.aggregate(new ReportFilter(), GroupBy.CITY).stream()
+                .noneMatch(row -> row.getKey().equals("Delhi")));
+        Assertions.assertEquals(2, columns.lastBookingId());
+    }
+}
@@ -0,0 +1,137 @@
+package com.amdocs.spx;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+/**
+ * Insert throughput for 100k booking rows persisted through Hibernate, IDENTITY ids against pooled-lo
+ * table ids, with the JDBC batching settings of application.properties.
+ * Needs a scratch MySQL schema, run with
+ * {@code mvn test -Dtest=BookingInsertBenchmark -Dspx.benchmark.url=jdbc:mysql://localhost:3306/spx_bench -Dspx.benchmark.user=root -Dspx.benchmark.password=...}
+ * An in-memory H2 URL also works but has no network round trips to save, so it understates the gap.
+ */
+@EnabledIfSystemProperty(named = "spx.benchmark.url", matches = ".+")
+public class BookingInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * Booking's own columns, without the associations the benchmark has no rows for
+     */
+    @MappedSuperclass
+    public abstract static class BenchBooking {
+
+        @Column(name = "booking_reference", nullable = false, length = 50)
+        private String bookingReference;
+
+        @Column(name = "quantity", nullable = false)
+        private Integer quantity;
+
+        @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+        private BigDecimal totalAmount;
+
+        @Column(name = "booking_status", length = 50)
+        private String bookingStatus;
+
+        @Column(name = "booking_date")
+        private LocalDateTime bookingDate;
+
+        BenchBooking fill(int i) {
+            bookingReference = "BENCH-" + i;
+            quantity = 1 + i % 4;
+            totalAmount = new BigDecimal("499.00");
+            bookingStatus = "PENDING";
+            bookingDate = LocalDateTime.now();
+            return this;
+        }
+    }
+
+    @Entity
+    @Table(name = "booking_bench_identity")
+    public static class IdentityBooking extends BenchBooking {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "booking_id")
+        private Long bookingId;
+    }
+
+    @Entity
+    @Table(name = "booking_bench_pooled")
+    public static class PooledBooking extends BenchBooking {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_bench_id_gen")
+        @TableGenerator(name = "booking_bench_id_gen", table = "id_generator_bench", pkColumnName = "entity_name",
+                valueColumnName = "next_val", pkColumnValue = "booking", allocationSize = BATCH_SIZE)
+        @Column(name = "booking_id")
+        private Long bookingId;
+    }
+
+    @Test
+    void compareIdentityAndPooledIds() {
+        String url = System.getProperty("spx.benchmark.url");
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(IdentityBooking.class)
+                .addAnnotatedClass(PooledBooking.class)
+                .setProperty("hibernate.connection.url", url + (url.startsWith("jdbc:mysql:")
+                        ? (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true" : ""))
+                .setProperty("hibernate.connection.username", System.getProperty("spx.benchmark.user", "root"))
+                .setProperty("hibernate.connection.password", System.getProperty("spx.benchmark.password", ""))
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE))
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .setProperty("hibernate.cache.use_second_level_cache", "false");
+
+        try (SessionFactory sessionFactory = configuration.buildSessionFactory()) {
+            // One short warm-up of each, so class loading and statement preparation stay out of the timings
+            persist(sessionFactory, 1_000, i -> new IdentityBooking().fill(i));
+            persist(sessionFactory, 1_000, i -> new PooledBooking().fill(i));
+
+            long identityMillis = persist(sessionFactory, ROWS, i -> new IdentityBooking().fill(i));
+            long pooledMillis = persist(sessionFactory, ROWS, i -> new PooledBooking().fill(i));
+
+            System.out.printf("identity ids, one insert per persist: %d rows in %d ms (%.0f rows/s)%n",
+                    ROWS, identityMillis, ROWS * 1000.0 / identityMillis);
+            System.out.printf("pooled-lo table ids, batches of %d: %d rows in %d ms (%.0f rows/s)%n",
+                    BATCH_SIZE, ROWS, pooledMillis, ROWS * 1000.0 / pooledMillis);
+        }
+    }
+
+    /**
+     * Persist the rows in one transaction, flushing and clearing the session every batch as a bulk
+     * import through JPA would
+     */
+    private long persist(SessionFactory sessionFactory, int rows, IntFunction<BenchBooking> booking) {
+        long start = System.nanoTime();
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                session.persist(booking.apply(i));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.getTransaction().commit();
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
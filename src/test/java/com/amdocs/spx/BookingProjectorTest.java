@@ -0,0 +1,194 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.bookinglog.BookingEventLog;
+import com.amdocs.spx.bookinglog.BookingEventRecord;
+import com.amdocs.spx.bookinglog.BookingEventType;
+import com.amdocs.spx.bookinglog.BookingProjector;
+import com.amdocs.spx.bookinglog.BookingState;
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.dto.BookingProjectionReportDTO;
+import com.amdocs.spx.persistence.CommitHorizon;
+import com.amdocs.spx.repository.BookingRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class BookingProjectorTest {
+
+    private static final String PAGE = "ORDER BY booking_event_id LIMIT ?";
+    private static final String NEWER = "SELECT booking_id, ticket_type_id FROM booking_event";
+    private static final String BOOKINGS = "SELECT booking_id, booking_status FROM booking";
+    private static final String TICKET_TYPES = "FROM ticket_type";
+    private static final String SETTLED = "information_schema.innodb_trx";
+    private static final String LATEST_SNAPSHOT = "SELECT state FROM booking_event_snapshot";
+    private static final String SAVE_SNAPSHOT = "INSERT INTO booking_event_snapshot";
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+    private final RecordingTransactionManager transactions = new RecordingTransactionManager();
+    private final CatalogVersions catalogVersions = new CatalogVersions();
+    private final List<Object> evicted = new ArrayList<>();
+
+    private BookingProjector newProjector() {
+        BookingEventLog eventLog = new BookingEventLog();
+        ReflectionTestUtils.setField(eventLog, "jdbcTemplate", jdbc);
+        BookingRepository bookingRepository = (BookingRepository) Proxy.newProxyInstance(
+                BookingRepository.class.getClassLoader(), new Class<?>[]{BookingRepository.class},
+                (proxy, method, args) -> List.of());
+        CommitHorizon commitHorizon = new CommitHorizon();
+        ReflectionTestUtils.setField(commitHorizon, "jdbcTemplate", jdbc);
+        BookingProjector projector = new BookingProjector(transactions);
+        ReflectionTestUtils.setField(projector, "eventLog", eventLog);
+        ReflectionTestUtils.setField(projector, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(projector, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(projector, "commitHorizon", commitHorizon);
+        ChangeOutbox changeOutbox = new ChangeOutbox();
+        ReflectionTestUtils.setField(changeOutbox, "jdbcTemplate", jdbc);
+        Cache cache = (Cache) Proxy.newProxyInstance(Cache.class.getClassLoader(), new Class<?>[]{Cache.class},
+                (proxy, method, args) -> {
+                    evicted.add(args[1]);
+                    return null;
+                });
+        EntityManagerFactory entityManagerFactory = (EntityManagerFactory) Proxy.newProxyInstance(
+                EntityManagerFactory.class.getClassLoader(), new Class<?>[]{EntityManagerFactory.class},
+                (proxy, method, args) -> cache);
+        ReflectionTestUtils.setField(projector, "changeOutbox", changeOutbox);
+        ReflectionTestUtils.setField(projector, "catalogVersions", catalogVersions);
+        ReflectionTestUtils.setField(projector, "entityManagerFactory", entityManagerFactory);
+        ReflectionTestUtils.setField(projector, "batchSize", 500);
+        ReflectionTestUtils.setField(projector, "settleMs", 2000L);
+        return projector;
+    }
+
+    private Map<String, Object> event(long eventId, long bookingId, String type, int quantity, LocalDateTime occurredAt) {
+        return RecordingJdbcTemplate.row("booking_event_id", eventId, "booking_id", bookingId, "ticket_type_id", 10L,
+                "event_type", type, "quantity", quantity, "occurred_at", Timestamp.valueOf(occurredAt));
+    }
+
+    @Test
+    void testSnapshotWaitsForEventsCommittedOutOfOrder() {
+        BookingProjector projector = newProjector();
+        // Event 2 is still being committed by a transaction that started 10 seconds ago
+        jdbc.answer(SETTLED, Timestamp.valueOf(now.minusSeconds(10)));
+        jdbc.answer(PAGE, List.of(
+                event(1, 1L, "CREATED", 1, now.minusSeconds(60)),
+                event(3, 2L, "CONFIRMED", 2, now.minusSeconds(5))));
+
+        projector.snapshot();
+
+        RecordingJdbcTemplate.Call first = jdbc.callsMatching(SAVE_SNAPSHOT).get(0);
+        Assertions.assertEquals(1L, first.args.get(0));
+
+        // Once it commits, the next snapshot folds 2 before 3
+        jdbc.answer(LATEST_SNAPSHOT, List.of(RecordingJdbcTemplate.row("state", first.args.get(2))));
+        jdbc.answer(SETTLED, Timestamp.valueOf(now));
+        jdbc.answer(PAGE, List.of(
+                event(2, 2L, "CREATED", 2, now.minusSeconds(10)),
+                event(3, 2L, "CONFIRMED", 2, now.minusSeconds(5))));
+
+        projector.snapshot();
+
+        Assertions.assertEquals(1L, jdbc.callsMatching(PAGE).get(1).args.get(0));
+        RecordingJdbcTemplate.Call second = jdbc.callsMatching(SAVE_SNAPSHOT).get(1);
+        BookingState state = BookingState.fromBytes((byte[]) second.args.get(2));
+        Assertions.assertEquals(3L, second.args.get(0));
+        Assertions.assertEquals("CONFIRMED", state.status(2L));
+        Assertions.assertEquals(3, state.sold(10L));
+        Assertions.assertEquals(0, state.skipped());
+    }
+
+    @Test
+    void testNothingSettledKeepsTheSnapshot() {
+        BookingProjector projector = newProjector();
+        jdbc.answer(SETTLED, Timestamp.valueOf(now.minusSeconds(10)));
+        jdbc.answer(PAGE, List.of(event(1, 1L, "CREATED", 1, now.minusSeconds(5))));
+
+        projector.snapshot();
+
+        Assertions.assertTrue(jdbc.callsMatching(SAVE_SNAPSHOT).isEmpty());
+    }
+
+    @Test
+    void testRepairReplaysTheWholeLog() {
+        BookingProjector projector = newProjector();
+        BookingState snapshot = new BookingState();
+        snapshot.apply(new BookingEventRecord(5L, 1L, 10L, BookingEventType.CREATED, 1, now));
+        jdbc.answer(LATEST_SNAPSHOT, List.of(RecordingJdbcTemplate.row("state", snapshot.toBytes())));
+        jdbc.answer(SETTLED, Timestamp.valueOf(now));
+        jdbc.answer(SETTLED, Timestamp.valueOf(now));
+
+        projector.rebuild(false);
+        projector.rebuild(true);
+
+        List<RecordingJdbcTemplate.Call> pages = jdbc.callsMatching(PAGE);
+        Assertions.assertEquals(5L, pages.get(0).args.get(0));
+        Assertions.assertEquals(0L, pages.get(1).args.get(0));
+    }
+
+    @Test
+    void testRepairLeavesRowsWrittenAfterTheFold() {
+        BookingProjector projector = newProjector();
+        // Booking 2 was confirmed after the horizon; booking 1 drifted; booking 3 was cancelled while the repair ran
+        jdbc.answer(SETTLED, Timestamp.valueOf(now.minusSeconds(10)));
+        jdbc.answer(PAGE, List.of(
+                event(1, 1L, "CREATED", 1, now.minusSeconds(60)),
+                event(2, 1L, "CONFIRMED", 1, now.minusSeconds(50)),
+                event(3, 2L, "CREATED", 2, now.minusSeconds(40)),
+                event(4, 3L, "CREATED", 1, now.minusSeconds(30)),
+                event(5, 2L, "CONFIRMED", 2, now.minusSeconds(5))));
+        jdbc.answer(BOOKINGS, List.of(
+                RecordingJdbcTemplate.row("booking_id", 1L, "booking_status", "PENDING"),
+                RecordingJdbcTemplate.row("booking_id", 2L, "booking_status", "CONFIRMED"),
+                RecordingJdbcTemplate.row("booking_id", 3L, "booking_status", "CANCELLED")));
+        jdbc.answer(TICKET_TYPES, List.of(
+                RecordingJdbcTemplate.row("ticket_type_id", 10L, "event_id", 7L, "quantity_sold", 9)));
+        jdbc.answer(NEWER, List.of(RecordingJdbcTemplate.row("booking_id", 2L, "ticket_type_id", 10L)));
+        jdbc.answer("UPDATE booking SET", 1);
+        jdbc.answer("UPDATE booking SET", 0);
+
+        BookingProjectionReportDTO report = projector.rebuild(true);
+
+        Assertions.assertEquals(4L, report.getLastEventId());
+        Assertions.assertEquals(0, report.getSoldCountMismatches());
+        Assertions.assertEquals(4L, jdbc.callsMatching(NEWER).get(0).args.get(0));
+        List<RecordingJdbcTemplate.Call> statusFixes = jdbc.callsMatching("UPDATE booking SET");
+        Assertions.assertEquals(2, statusFixes.size());
+        Assertions.assertEquals(List.of("CONFIRMED", 1L, "PENDING"), statusFixes.get(0).args);
+        Assertions.assertEquals(List.of("PENDING", 3L, "CANCELLED"), statusFixes.get(1).args);
+        List<RecordingJdbcTemplate.Call> viewFixes = jdbc.callsMatching("UPDATE user_booking_view");
+        Assertions.assertEquals(1, viewFixes.size());
+        Assertions.assertEquals(List.of("CONFIRMED", 1L), viewFixes.get(0).args);
+        Assertions.assertTrue(jdbc.callsMatching("UPDATE ticket_type").isEmpty());
+        Assertions.assertTrue(evicted.isEmpty());
+        Assertions.assertEquals(1, transactions.getCommits());
+    }
+
+    @Test
+    void testRepairRewritesSoldCountsOnlyIfUnchanged() {
+        BookingProjector projector = newProjector();
+        jdbc.answer(SETTLED, Timestamp.valueOf(now));
+        jdbc.answer(PAGE, List.of(
+                event(1, 1L, "CREATED", 2, now.minusSeconds(60)),
+                event(2, 1L, "CONFIRMED", 2, now.minusSeconds(50))));
+        jdbc.answer(TICKET_TYPES, List.of(
+                RecordingJdbcTemplate.row("ticket_type_id", 10L, "event_id", 7L, "quantity_sold", 5)));
+
+        projector.rebuild(true);
+
+        RecordingJdbcTemplate.Call fix = jdbc.callsMatching("UPDATE ticket_type").get(0);
+        Assertions.assertTrue(fix.sql.contains("AND quantity_sold = ?"));
+        Assertions.assertEquals(List.of(2, 10L, 5, 7L), fix.args);
+        Assertions.assertEquals(List.of(10L), evicted);
+        Assertions.assertEquals(1L, catalogVersions.version(CatalogVersions.TICKET_TYPE, 10L));
+    }
+}
@@ -0,0 +1,73 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.bookinglog.BookingEventRecord;
+import com.amdocs.spx.bookinglog.BookingEventType;
+import com.amdocs.spx.bookinglog.BookingState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+public class BookingStateTest {
+
+    private long nextEventId = 1;
+
+    private BookingEventRecord event(long bookingId, long ticketTypeId, BookingEventType type, int quantity) {
+        return new BookingEventRecord(nextEventId++, bookingId, ticketTypeId, type, quantity, LocalDateTime.now());
+    }
+
+    @Test
+    void testLifecycleMovesSoldCounts() {
+        BookingState state = new BookingState();
+        state.apply(event(1L, 10L, BookingEventType.CREATED, 2));
+        state.apply(event(2L, 10L, BookingEventType.CREATED, 3));
+        state.apply(event(3L, 20L, BookingEventType.CREATED, 1));
+        state.apply(event(1L, 10L, BookingEventType.CONFIRMED, 2));
+        state.apply(event(1L, 10L, BookingEventType.COMPLETED, 2));
+        state.apply(event(2L, 10L, BookingEventType.CANCELLED, 3));
+        state.apply(event(3L, 20L, BookingEventType.CONFIRMED, 1));
+        state.apply(event(3L, 20L, BookingEventType.REFUNDED, 1));
+
+        Assertions.assertEquals("COMPLETED", state.status(1L));
+        Assertions.assertEquals("CANCELLED", state.status(2L));
+        Assertions.assertEquals("CANCELLED", state.status(3L));
+        Assertions.assertEquals(2, state.sold(10L));
+        Assertions.assertEquals(0, state.sold(20L));
+        Assertions.assertEquals(8, state.lastEventId());
+    }
+
+    @Test
+    void testInvalidTransitionsAreSkipped() {
+        BookingState state = new BookingState();
+        state.apply(event(1L, 10L, BookingEventType.CREATED, 2));
+        state.apply(event(1L, 10L, BookingEventType.COMPLETED, 2));
+        state.apply(event(1L, 10L, BookingEventType.CANCELLED, 2));
+        state.apply(event(1L, 10L, BookingEventType.CANCELLED, 2));
+
+        Assertions.assertEquals("CANCELLED", state.status(1L));
+        Assertions.assertEquals(0, state.sold(10L));
+        Assertions.assertEquals(2, state.skipped());
+        Assertions.assertThrows(IllegalStateException.class, () -> BookingEventType.COMPLETED.next("PENDING"));
+    }
+
+    @Test
+    void testSnapshotRoundTrip() {
+        BookingState state = new BookingState();
+        for (long bookingId = 1; bookingId <= 1_000; bookingId++) {
+            state.apply(event(bookingId, bookingId % 7, BookingEventType.CREATED, 1));
+            if (bookingId % 3 == 0) {
+                state.apply(event(bookingId, bookingId % 7, BookingEventType.CANCELLED, 1));
+            }
+        }
+
+        BookingState copy = BookingState.fromBytes(state.toBytes());
+        Assertions.assertEquals(state.size(), copy.size());
+        Assertions.assertEquals(state.lastEventId(), copy.lastEventId());
+        Assertions.assertEquals(state.soldByTicketType(), copy.soldByTicketType());
+        Assertions.assertEquals("CANCELLED", copy.status(999L));
+        Assertions.assertEquals("PENDING", copy.status(1_000L));
+
+        copy.apply(event(1_000L, 1_000L % 7, BookingEventType.CONFIRMED, 1));
+        Assertions.assertEquals("CONFIRMED", copy.status(1_000L));
+    }
+}
@@ -0,0 +1,85 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.cache.CatalogChangeListener;
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.entity.TicketType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class CatalogVersionsTest {
+
+    @Test
+    void testBumpMovesOnlyThatEntityAndItsGeneration() {
+        CatalogVersions versions = new CatalogVersions();
+        String eventTag = versions.eventTag(1L);
+        String otherTag = versions.eventTag(2L);
+        String listTag = versions.listTag("events", CatalogVersions.EVENT);
+
+        versions.bump(CatalogVersions.EVENT, 1L);
+
+        Assertions.assertEquals(1, versions.version(CatalogVersions.EVENT, 1L));
+        Assertions.assertEquals(0, versions.version(CatalogVersions.EVENT, 2L));
+        Assertions.assertEquals(1, versions.generation(CatalogVersions.EVENT));
+        Assertions.assertFalse(eventTag.equals(versions.eventTag(1L)));
+        Assertions.assertEquals(otherTag, versions.eventTag(2L));
+        Assertions.assertFalse(listTag.equals(versions.listTag("events", CatalogVersions.EVENT)));
+    }
+
+    @Test
+    void testEmbeddedEntitiesInvalidateTags() {
+        CatalogVersions versions = new CatalogVersions();
+        String eventTag = versions.eventTag(1L);
+        String venueTag = versions.venueTag(5L);
+
+        versions.bump(CatalogVersions.VENUE, 9L);
+        Assertions.assertFalse(eventTag.equals(versions.eventTag(1L)));
+
+        versions.bump(CatalogVersions.TICKET_TYPE, 3L);
+        Assertions.assertFalse(venueTag.equals(versions.venueTag(5L)));
+        Assertions.assertTrue(versions.ticketTypeTag(3L).startsWith("\"") && versions.ticketTypeTag(3L).endsWith("\""));
+    }
+
+    @Test
+    void testListenerBumpsOnlyAfterCommit() {
+        CatalogVersions versions = new CatalogVersions();
+        CatalogChangeListener listener = new CatalogChangeListener();
+        ReflectionTestUtils.setField(listener, "catalogVersions", versions);
+        Event event = new Event();
+        event.setEventId(1L);
+        TicketType ticketType = new TicketType();
+        ticketType.setTicketTypeId(7L);
+        ticketType.setEvent(event);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener.onChange(ticketType);
+            Assertions.assertEquals(0, versions.version(CatalogVersions.TICKET_TYPE, 7L));
+            Assertions.assertEquals(0, versions.version(CatalogVersions.EVENT, 1L));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assertions.assertEquals(1, versions.version(CatalogVersions.TICKET_TYPE, 7L));
+        Assertions.assertEquals(1, versions.version(CatalogVersions.EVENT, 1L));
+    }
+
+    @Test
+    void testListenerBumpsRightAwayOutsideATransaction() {
+        CatalogVersions versions = new CatalogVersions();
+        CatalogChangeListener listener = new CatalogChangeListener();
+        ReflectionTestUtils.setField(listener, "catalogVersions", versions);
+        Event event = new Event();
+        event.setEventId(4L);
+
+        listener.onChange(event);
+
+        Assertions.assertEquals(1, versions.version(CatalogVersions.EVENT, 4L));
+    }
+}
@@ -0,0 +1,92 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.changefeed.ChangeFeedService;
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.dto.ChangeFeedPageDTO;
+import com.amdocs.spx.persistence.CommitHorizon;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class ChangeFeedServiceTest {
+
+    private static final String HORIZON = "information_schema.innodb_trx";
+    private static final String HELD_BACK = "SELECT MIN(change_id) FROM change_outbox";
+    private static final String PAGE = "SELECT * FROM change_outbox";
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+
+    private ChangeFeedService newService() {
+        CommitHorizon commitHorizon = new CommitHorizon();
+        ReflectionTestUtils.setField(commitHorizon, "jdbcTemplate", jdbc);
+        ChangeOutbox changeOutbox = new ChangeOutbox();
+        ReflectionTestUtils.setField(changeOutbox, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(changeOutbox, "commitHorizon", commitHorizon);
+        ChangeFeedService service = new ChangeFeedService();
+        ReflectionTestUtils.setField(service, "changeOutbox", changeOutbox);
+        ReflectionTestUtils.setField(service, "maxPageSize", 2);
+        ReflectionTestUtils.setField(service, "settleMs", 2000L);
+        return service;
+    }
+
+    private Map<String, Object> change(long changeId) {
+        return RecordingJdbcTemplate.row("change_id", changeId, "aggregate_type", "BOOKING", "aggregate_id", changeId,
+                "change_type", "UPDATED", "payload", "{}", "created_at", Timestamp.valueOf(now.minusMinutes(1)));
+    }
+
+    @Test
+    void testHoldsBackChangesFromOpenTransactions() {
+        ChangeFeedService service = newService();
+        Timestamp horizon = Timestamp.valueOf(now.minusSeconds(30));
+        jdbc.answer(HORIZON, horizon);
+        // Change 7 was stamped after the oldest open transaction started, so a lower id may still commit
+        jdbc.answer(HELD_BACK, 7L);
+        jdbc.answer(PAGE, List.of(change(5), change(6)));
+
+        ChangeFeedPageDTO page = service.getChanges(4, 10, null);
+
+        Assertions.assertEquals(List.of(2000000L), jdbc.callsMatching(HORIZON).get(0).args);
+        Assertions.assertEquals(List.of(horizon), jdbc.callsMatching(HELD_BACK).get(0).args);
+        Assertions.assertEquals(List.of(4L, 7L, 3), jdbc.callsMatching(PAGE).get(0).args);
+        Assertions.assertEquals(6L, page.getNextCursor());
+        Assertions.assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void testEverythingSettled() {
+        ChangeFeedService service = newService();
+        jdbc.answer(HORIZON, Timestamp.valueOf(now));
+
+        ChangeFeedPageDTO page = service.getChanges(4, 10, "booking");
+
+        Assertions.assertEquals(List.of("BOOKING", 4L, Long.MAX_VALUE, 3), jdbc.callsMatching(PAGE).get(0).args);
+        Assertions.assertEquals(4L, page.getNextCursor());
+        Assertions.assertTrue(page.getChanges().isEmpty());
+    }
+
+    @Test
+    void testFullPageReportsMore() {
+        ChangeFeedService service = newService();
+        jdbc.answer(HORIZON, Timestamp.valueOf(now));
+        jdbc.answer(PAGE, List.of(change(1), change(2), change(3)));
+
+        ChangeFeedPageDTO page = service.getChanges(0, 5, null);
+
+        Assertions.assertEquals(2, page.getChanges().size());
+        Assertions.assertEquals(2L, page.getNextCursor());
+        Assertions.assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void testInvalidLimit() {
+        ChangeFeedService service = newService();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.getChanges(0, 0, null));
+    }
+}
@@ -0,0 +1,37 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.exception.ResourceNotFoundException;
+import com.amdocs.spx.ratelimit.ConcurrencyLimitInterceptor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.SQLTransientConnectionException;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    @Test
+    void testBusinessRejectionsAreNotOverload() {
+        Assertions.assertFalse(ConcurrencyLimitInterceptor.isOverload(null));
+        Assertions.assertFalse(ConcurrencyLimitInterceptor.isOverload(
+                new IllegalStateException("Not enough tickets available")));
+        Assertions.assertFalse(ConcurrencyLimitInterceptor.isOverload(new IllegalArgumentException("Invalid status")));
+        Assertions.assertFalse(ConcurrencyLimitInterceptor.isOverload(new ResourceNotFoundException("Booking not found")));
+        Assertions.assertFalse(ConcurrencyLimitInterceptor.isOverload(
+                new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS)));
+    }
+
+    @Test
+    void testDatabaseFailuresAndTimeoutsAreOverload() {
+        Assertions.assertTrue(ConcurrencyLimitInterceptor.isOverload(new QueryTimeoutException("Query timed out")));
+        Assertions.assertTrue(ConcurrencyLimitInterceptor.isOverload(new CannotCreateTransactionException(
+                "Could not open JPA EntityManager", new SQLTransientConnectionException("Connection is not available"))));
+        Assertions.assertTrue(ConcurrencyLimitInterceptor.isOverload(new IllegalStateException("Booking failed",
+                new SQLTransientConnectionException("Connection is not available"))));
+        Assertions.assertTrue(ConcurrencyLimitInterceptor.isOverload(
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.ratelimit.ConcurrencyLimit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrencyLimitTest {
+
+    private static final long FAST = 10_000_000L;
+    private static final long SLOW = 900_000_000L;
+
+    private ConcurrencyLimit newLimit(int initial) {
+        return new ConcurrencyLimit(initial, 2, 20, 250_000_000L, 0.5);
+    }
+
+    @Test
+    void testShedsOnceTheLimitIsReached() {
+        ConcurrencyLimit limit = newLimit(3);
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertFalse(limit.tryAcquire());
+        limit.release(FAST, false);
+        Assertions.assertTrue(limit.tryAcquire());
+        Assertions.assertEquals(3, limit.getInFlight());
+    }
+
+    @Test
+    void testShrinksWhenRequestsAreSlow() {
+        ConcurrencyLimit limit = newLimit(16);
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        Assertions.assertEquals(8, limit.getLimit());
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        Assertions.assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    void testShrinksOnFailuresButNotBelowMinimum() {
+        ConcurrencyLimit limit = newLimit(3);
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+        Assertions.assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void testGrowsOnlyWhileTheLimitIsInUse() {
+        ConcurrencyLimit limit = newLimit(4);
+        for (int i = 0; i < 8; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+        Assertions.assertEquals(4, limit.getLimit());
+
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(FAST, false);
+            limit.release(FAST, false);
+        }
+        Assertions.assertEquals(5, limit.getLimit());
+    }
+}
@@ -0,0 +1,165 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.bookinglog.BookingProjector;
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.cache.UpcomingEventIndex;
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.dto.EventCancellationProgressDTO;
+import com.amdocs.spx.exception.ResourceNotFoundException;
+import com.amdocs.spx.inventory.InventoryLedger;
+import com.amdocs.spx.repository.TicketTypeRepository;
+import com.amdocs.spx.service.EventCancellationService;
+import com.amdocs.spx.service.TicketTypeService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class EventCancellationServiceTest {
+
+    private static final String EVENT_EXISTS = "SELECT COUNT(*) FROM event WHERE event_id = ?";
+    private static final String TICKET_TYPES = "SELECT ticket_type_id FROM ticket_type WHERE event_id = ?";
+    private static final String OPEN_BOOKINGS = "SELECT COUNT(*) FROM booking";
+    private static final String CHUNK = "SELECT booking_id FROM booking WHERE event_id = ?";
+    private static final String ORDERS = "SELECT order_id, payment_status FROM orders";
+    private static final String LOCK_BOOKINGS = "SELECT booking_id, ticket_type_id, quantity FROM booking";
+    private static final String RECOUNT = "SELECT t.ticket_type_id, t.quantity_sold";
+    private static final String SET_SOLD = "UPDATE ticket_type SET quantity_sold = ? WHERE ticket_type_id = ?";
+
+    @TempDir
+    Path dir;
+
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+    private final RecordingTransactionManager transactions = new RecordingTransactionManager();
+    private final CatalogVersions catalogVersions = new CatalogVersions();
+    private final List<Object> evicted = new ArrayList<>();
+
+    private TicketTypeService newTicketTypeService(InventoryLedger ledger) {
+        Cache cache = (Cache) Proxy.newProxyInstance(Cache.class.getClassLoader(), new Class<?>[]{Cache.class},
+                (proxy, method, args) -> {
+                    evicted.add(args[1]);
+                    return null;
+                });
+        EntityManagerFactory entityManagerFactory = (EntityManagerFactory) Proxy.newProxyInstance(
+                EntityManagerFactory.class.getClassLoader(), new Class<?>[]{EntityManagerFactory.class},
+                (proxy, method, args) -> cache);
+        TicketTypeRepository ticketTypeRepository = (TicketTypeRepository) Proxy.newProxyInstance(
+                TicketTypeRepository.class.getClassLoader(), new Class<?>[]{TicketTypeRepository.class},
+                (proxy, method, args) -> List.of());
+        TicketTypeService ticketTypeService = new TicketTypeService();
+        ReflectionTestUtils.setField(ticketTypeService, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(ticketTypeService, "entityManagerFactory", entityManagerFactory);
+        ReflectionTestUtils.setField(ticketTypeService, "ticketTypeRepository", ticketTypeRepository);
+        ReflectionTestUtils.setField(ticketTypeService, "catalogVersions", catalogVersions);
+        ReflectionTestUtils.setField(ticketTypeService, "inventoryLedger", ledger);
+        return ticketTypeService;
+    }
+
+    private EventCancellationService newService() {
+        TicketTypeService ticketTypeService = newTicketTypeService(null);
+        ChangeOutbox changeOutbox = new ChangeOutbox();
+        ReflectionTestUtils.setField(changeOutbox, "jdbcTemplate", jdbc);
+        BookingProjector bookingProjector = new BookingProjector(transactions);
+        ReflectionTestUtils.setField(bookingProjector, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(bookingProjector, "changeOutbox", changeOutbox);
+        ReflectionTestUtils.setField(bookingProjector, "ticketTypeService", ticketTypeService);
+        EventCancellationService service = new EventCancellationService(transactions);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(service, "bookingProjector", bookingProjector);
+        ReflectionTestUtils.setField(service, "ticketTypeService", ticketTypeService);
+        ReflectionTestUtils.setField(service, "changeOutbox", changeOutbox);
+        ReflectionTestUtils.setField(service, "catalogVersions", catalogVersions);
+        ReflectionTestUtils.setField(service, "upcomingEventIndex", new UpcomingEventIndex());
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "pauseMs", 0L);
+        return service;
+    }
+
+    private EventCancellationProgressDTO awaitFinished(EventCancellationService service, Long eventId)
+            throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            EventCancellationProgressDTO progress = service.getProgress(eventId).orElseThrow();
+            if (!EventCancellationService.RUNNING.equals(progress.getState())) {
+                return progress;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Cancellation did not finish");
+    }
+
+    @Test
+    void testCancelsOpenBookingsAndKeepsCompletedTicketsSold() throws InterruptedException {
+        EventCancellationService service = newService();
+        jdbc.answer(EVENT_EXISTS, 1)
+                .answer(TICKET_TYPES, List.of(10L, 11L))
+                .answer(OPEN_BOOKINGS, 3L)
+                .answer(CHUNK, List.of(1L, 2L)).answer(CHUNK, List.of(3L))
+                .answer(ORDERS, List.of(
+                        RecordingJdbcTemplate.row("order_id", 100L, "payment_status", "COMPLETED"),
+                        RecordingJdbcTemplate.row("order_id", 101L, "payment_status", "PENDING")))
+                .answer(LOCK_BOOKINGS, List.of(
+                        RecordingJdbcTemplate.row("booking_id", 1L, "ticket_type_id", 10L, "quantity", 2),
+                        RecordingJdbcTemplate.row("booking_id", 2L, "ticket_type_id", 10L, "quantity", 1)))
+                .answer(LOCK_BOOKINGS, List.of(
+                        RecordingJdbcTemplate.row("booking_id", 3L, "ticket_type_id", 11L, "quantity", 4)))
+                // A completed booking still holds 2 tickets of type 10
+                .answer(RECOUNT, List.of(
+                        RecordingJdbcTemplate.row("ticket_type_id", 10L, "quantity_sold", 5, "held", 2),
+                        RecordingJdbcTemplate.row("ticket_type_id", 11L, "quantity_sold", 4, "held", 0)));
+        try {
+            service.cancelEvent(7L);
+            EventCancellationProgressDTO progress = awaitFinished(service, 7L);
+
+            Assertions.assertEquals(EventCancellationService.COMPLETED, progress.getState());
+            Assertions.assertEquals(3, progress.getTotalBookings());
+            Assertions.assertEquals(3, progress.getBookingsCancelled());
+            Assertions.assertEquals(1, progress.getOrdersRefunded());
+            Assertions.assertEquals(1, progress.getOrdersFailed());
+        } finally {
+            service.shutdown();
+        }
+
+        Set<List<Object>> counts = new HashSet<>();
+        for (RecordingJdbcTemplate.Call call : jdbc.callsMatching(SET_SOLD)) {
+            counts.add(call.args);
+        }
+        Assertions.assertEquals(Set.of(List.of(2, 10L), List.of(0, 11L)), counts);
+        Assertions.assertTrue(jdbc.indexOf("'CANCELLED', quantity") < jdbc.indexOf(RECOUNT));
+        Assertions.assertEquals(2, catalogVersions.version(CatalogVersions.TICKET_TYPE, 10L));
+        Assertions.assertEquals(2, catalogVersions.version(CatalogVersions.TICKET_TYPE, 11L));
+        Assertions.assertTrue(evicted.containsAll(List.of(10L, 11L)));
+    }
+
+    @Test
+    void testRecountWithLedgerReleasesOnlyWhatBookingsNoLongerHold() throws IOException {
+        jdbc.answer(RECOUNT, List.of(RecordingJdbcTemplate.row("ticket_type_id", 10L, "quantity_sold", 5, "held", 2)));
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 16, false)) {
+            TicketTypeService ticketTypeService = newTicketTypeService(ledger);
+
+            ticketTypeService.recountSoldTickets(7L);
+
+            Assertions.assertEquals(2, ledger.sold(10L, 5));
+            Assertions.assertTrue(jdbc.callsMatching(SET_SOLD).isEmpty());
+        }
+    }
+
+    @Test
+    void testUnknownEvent() {
+        EventCancellationService service = newService();
+        try {
+            Assertions.assertThrows(ResourceNotFoundException.class, () -> service.cancelEvent(7L));
+        } finally {
+            service.shutdown();
+        }
+    }
+}
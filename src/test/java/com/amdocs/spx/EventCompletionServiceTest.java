@@ -0,0 +1,121 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.cache.UpcomingEventIndex;
+import com.amdocs.spx.changefeed.ChangeOutbox;
+import com.amdocs.spx.dto.EventCompletionResultDTO;
+import com.amdocs.spx.service.EventCompletionService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EventCompletionServiceTest {
+
+    private static final String FINISHED = "SELECT event_id FROM event WHERE event_date < ?";
+    private static final String OPEN = "SELECT COUNT(*) FROM event";
+    private static final String CHUNK = "SELECT booking_id FROM booking WHERE event_id = ?";
+    private static final String CLOSE = "UPDATE event SET status = 'COMPLETED'";
+
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+    private final RecordingTransactionManager transactions = new RecordingTransactionManager();
+    private final CatalogVersions catalogVersions = new CatalogVersions();
+
+    private EventCompletionService newService(RecordingJdbcTemplate jdbc) {
+        EventCompletionService service = new EventCompletionService(transactions);
+        ChangeOutbox changeOutbox = new ChangeOutbox();
+        ReflectionTestUtils.setField(changeOutbox, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(service, "changeOutbox", changeOutbox);
+        ReflectionTestUtils.setField(service, "catalogVersions", catalogVersions);
+        ReflectionTestUtils.setField(service, "upcomingEventIndex", new UpcomingEventIndex());
+        ReflectionTestUtils.setField(service, "graceMinutes", 360L);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "pauseMs", 0L);
+        return service;
+    }
+
+    @Test
+    void testCompletesBookingsInChunksThenTheEvent() {
+        EventCompletionService service = newService(jdbc);
+        jdbc.answer(FINISHED, List.of(7L)).answer(OPEN, 1)
+                .answer(CHUNK, List.of(1L, 2L)).answer(CHUNK, List.of(3L)).answer(CLOSE, 1);
+        long before = catalogVersions.version(CatalogVersions.EVENT, 7L);
+
+        EventCompletionResultDTO result = service.completeFinishedEvents();
+
+        Assertions.assertEquals(3, result.getBookingsCompleted());
+        Assertions.assertEquals(1, result.getEventsCompleted());
+        Assertions.assertEquals(3, transactions.getCommits());
+        Assertions.assertTrue(jdbc.indexOf("booking_status = 'COMPLETED'") < jdbc.indexOf(CLOSE));
+        Assertions.assertEquals(before + 1, catalogVersions.version(CatalogVersions.EVENT, 7L));
+    }
+
+    @Test
+    void testSkipsEventsNoLongerOpen() {
+        EventCompletionService service = newService(jdbc);
+        jdbc.answer(OPEN, 0);
+
+        EventCompletionResultDTO result = service.completeEvent(7L);
+
+        Assertions.assertEquals(0, result.getEventsCompleted());
+        Assertions.assertEquals(1, jdbc.getCalls().size());
+    }
+
+    @Test
+    void testScheduledRunsDoNotOverlap() throws InterruptedException {
+        CountDownLatch selecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingJdbcTemplate blocking = new RecordingJdbcTemplate() {
+            @Override
+            public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+                selecting.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.queryForList(sql, elementType, args);
+            }
+        };
+        EventCompletionService service = newService(blocking);
+        try {
+            Assertions.assertTrue(service.startCompletion());
+            Assertions.assertTrue(selecting.await(5, TimeUnit.SECONDS));
+            Assertions.assertFalse(service.startCompletion());
+            release.countDown();
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testDueEventCompletesWithoutBlockingTheCaller() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+        RecordingJdbcTemplate blocking = new RecordingJdbcTemplate() {
+            @Override
+            public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                checked.countDown();
+                return super.queryForObject(sql, requiredType, args);
+            }
+        };
+        EventCompletionService service = newService(blocking);
+        try {
+            service.startEventCompletion(7L);
+            Assertions.assertEquals(1, checked.getCount());
+            release.countDown();
+            Assertions.assertTrue(checked.await(5, TimeUnit.SECONDS));
+        } finally {
+            service.shutdown();
+        }
+    }
+}
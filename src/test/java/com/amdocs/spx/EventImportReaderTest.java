@@ -0,0 +1,69 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.importer.EventImportReader;
+import com.amdocs.spx.importer.EventImportRow;
+import com.amdocs.spx.importer.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class EventImportReaderTest {
+
+    private static EventImportReader reader(String text, ImportFormat format) {
+        return new EventImportReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper());
+    }
+
+    @Test
+    void testCsvRowsWithQuotedValues() throws IOException {
+        String csv = "event_ref,event_name,description,venue,type_name,price,quantity_available\n"
+                + "E1,\"Rock, Live\",\"Say \"\"hi\"\"\",Arena,VIP,1500.00,100\n"
+                + "\n"
+                + "E1,,,,General,500,1000\n";
+        try (EventImportReader reader = reader(csv, ImportFormat.CSV)) {
+            EventImportRow first = reader.next();
+            Assertions.assertNull(first.getError());
+            Assertions.assertEquals(2, first.getLine());
+            Assertions.assertEquals("Rock, Live", first.getEventName());
+            Assertions.assertEquals("Say \"hi\"", first.getDescription());
+            Assertions.assertEquals("VIP", first.getTypeName());
+
+            EventImportRow second = reader.next();
+            Assertions.assertEquals(4, second.getLine());
+            Assertions.assertNull(second.getEventName());
+            Assertions.assertEquals("General", second.getTypeName());
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testMalformedLinesComeBackWithErrors() throws IOException {
+        String csv = "eventRef,eventName\nE1,\"unterminated\nE2,Jazz,extra\nE3,Folk\n";
+        try (EventImportReader reader = reader(csv, ImportFormat.CSV)) {
+            Assertions.assertNotNull(reader.next().getError());
+            Assertions.assertNotNull(reader.next().getError());
+            EventImportRow valid = reader.next();
+            Assertions.assertNull(valid.getError());
+            Assertions.assertEquals("Folk", valid.getEventName());
+        }
+    }
+
+    @Test
+    void testNdjsonRows() throws IOException {
+        String ndjson = "{\"eventRef\":\"E1\",\"eventName\":\"Jazz Night\",\"totalTicketsAvailable\":300,\"venue\":7}\n"
+                + "{not json}\n";
+        try (EventImportReader reader = reader(ndjson, ImportFormat.NDJSON)) {
+            EventImportRow row = reader.next();
+            Assertions.assertNull(row.getError());
+            Assertions.assertEquals("300", row.getTotalTicketsAvailable());
+            Assertions.assertEquals("7", row.getVenue());
+
+            EventImportRow broken = reader.next();
+            Assertions.assertEquals(2, broken.getLine());
+            Assertions.assertNotNull(broken.getError());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.cache.EventTransitionQueue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class EventTransitionQueueTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 19, 20, 0);
+
+    @Test
+    void testPollsDueTransitionsInTimeOrder() {
+        EventTransitionQueue queue = new EventTransitionQueue();
+        queue.add(now.minusMinutes(5), 3L, EventTransitionQueue.Kind.START);
+        queue.add(now.minusMinutes(30), 1L, EventTransitionQueue.Kind.START);
+        queue.add(now.plusMinutes(1), 2L, EventTransitionQueue.Kind.START);
+        queue.add(now, 4L, EventTransitionQueue.Kind.START);
+
+        Assertions.assertEquals(List.of(1L, 3L, 4L), queue.pollDue(now, EventTransitionQueue.Kind.START));
+        Assertions.assertEquals(now.plusMinutes(1), queue.nextAt());
+        Assertions.assertTrue(queue.pollDue(now, EventTransitionQueue.Kind.START).isEmpty());
+        Assertions.assertEquals(List.of(2L), queue.pollDue(now.plusMinutes(1), EventTransitionQueue.Kind.START));
+        Assertions.assertNull(queue.nextAt());
+    }
+
+    @Test
+    void testKindsArePolledSeparately() {
+        EventTransitionQueue queue = new EventTransitionQueue();
+        queue.add(now.minusHours(6), 1L, EventTransitionQueue.Kind.START);
+        queue.add(now.minusMinutes(1), 1L, EventTransitionQueue.Kind.END);
+        queue.add(now.minusMinutes(2), 2L, EventTransitionQueue.Kind.START);
+
+        Assertions.assertEquals(List.of(1L), queue.pollDue(now, EventTransitionQueue.Kind.END));
+        Assertions.assertEquals(List.of(1L, 2L), queue.pollDue(now, EventTransitionQueue.Kind.START));
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testRepeatedScheduleIsDeduplicated() {
+        EventTransitionQueue queue = new EventTransitionQueue();
+        queue.add(now, 1L, EventTransitionQueue.Kind.START);
+        queue.add(now, 1L, EventTransitionQueue.Kind.START);
+        queue.add(now, 1L, EventTransitionQueue.Kind.END);
+
+        Assertions.assertEquals(2, queue.size());
+        Assertions.assertEquals(List.of(1L), queue.pollDue(now, EventTransitionQueue.Kind.START));
+    }
+}
@@ -0,0 +1,50 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.dto.EventDTO;
+import com.amdocs.spx.request.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class FieldSelectionTest {
+
+    @Test
+    void testParse() {
+        FieldSelection fields = FieldSelection.parse(" eventName, eventId ,,");
+
+        Assertions.assertFalse(fields.isAll());
+        Assertions.assertTrue(fields.includes("eventId"));
+        Assertions.assertFalse(fields.includes("venue"));
+        Assertions.assertEquals("eventId,eventName", fields.key());
+        Assertions.assertTrue(fields.isWithin(Set.of("eventId", "eventName", "eventDate")));
+        Assertions.assertTrue(FieldSelection.parse(null).isAll());
+        Assertions.assertFalse(FieldSelection.parse("").isWithin(Set.of("eventId")));
+    }
+
+    @Test
+    void testOnlySelectedFieldsAreWritten() throws Exception {
+        EventDTO.TicketTypeDTO cheap = new EventDTO.TicketTypeDTO();
+        cheap.setTicketTypeId(1L);
+        cheap.setPrice(499.0);
+        cheap.setIsActive(true);
+        EventDTO.TicketTypeDTO vip = new EventDTO.TicketTypeDTO();
+        vip.setTicketTypeId(2L);
+        vip.setPrice(1999.0);
+        vip.setIsActive(true);
+
+        EventDTO dto = new EventDTO();
+        dto.setEventId(7L);
+        dto.setEventName("Concert");
+        dto.setCategory("Music");
+        dto.setTicketTypes(List.of(cheap, vip));
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        String json = mapper.writer(FieldSelection.parse("eventId,minPrice").filterProvider()).writeValueAsString(dto);
+
+        Assertions.assertEquals("{\"eventId\":7,\"minPrice\":499.0}", json);
+    }
+}
@@ -0,0 +1,92 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.inventory.InventoryJournal;
+import com.amdocs.spx.inventory.InventoryLedger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InventoryLedgerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testCountersSurviveRestart() throws IOException {
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 4, false)) {
+            Assertions.assertTrue(ledger.reserve(1L, 3, 10, 5));
+            Assertions.assertFalse(ledger.reserve(1L, 3, 10, 5));
+            ledger.release(1L, 2, 5);
+            Assertions.assertTrue(ledger.reserve(2L, 1, 1, 0));
+            ledger.adjust(2L, -1);
+        }
+
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 4, false)) {
+            Assertions.assertEquals(6, ledger.sold(1L, 0));
+            Assertions.assertEquals(0, ledger.sold(2L, 7));
+            Assertions.assertEquals(7, ledger.sold(3L, 7));
+            Assertions.assertEquals(Map.of(1L, 6, 2L, 0), ledger.drainDirty());
+            Assertions.assertTrue(ledger.drainDirty().isEmpty());
+        }
+    }
+
+    @Test
+    void testReplayStartsAfterSnapshot() throws IOException {
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 4, false)) {
+            for (int i = 0; i < 10; i++) {
+                ledger.reserve(1L, 1, 100, 0);
+            }
+            ledger.snapshot();
+            for (int i = 0; i < 10; i++) {
+                ledger.reserve(1L, 1, 100, 0);
+            }
+            ledger.snapshot();
+            ledger.reserve(1L, 5, 100, 0);
+        }
+        // Segments behind the older snapshot are gone
+        Assertions.assertTrue(segments().size() < 6);
+
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 4, false)) {
+            Assertions.assertEquals(25, ledger.sold(1L, 0));
+            Assertions.assertEquals(22, ledger.lastSeq());
+        }
+    }
+
+    @Test
+    void testTornRecordIsDropped() throws IOException {
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 8, false)) {
+            ledger.reserve(1L, 2, 10, 0);
+            ledger.reserve(1L, 3, 10, 0);
+        }
+        // Corrupt the last record, as a crash halfway through writing it would
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(2L * InventoryJournal.RECORD_SIZE + 16);
+            file.writeInt(99);
+        }
+
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 8, false)) {
+            Assertions.assertEquals(2, ledger.sold(1L, 0));
+            Assertions.assertTrue(ledger.reserve(1L, 1, 10, 0));
+        }
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 8, false)) {
+            Assertions.assertEquals(3, ledger.sold(1L, 0));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("journal-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
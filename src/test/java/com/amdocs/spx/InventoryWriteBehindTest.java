@@ -0,0 +1,62 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.inventory.InventoryLedger;
+import com.amdocs.spx.inventory.InventoryWriteBehind;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InventoryWriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFlushWritesCountsAndMovesCatalogVersions() throws IOException {
+        RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+        jdbc.answer("SELECT ticket_type_id, event_id FROM ticket_type", List.of(
+                RecordingJdbcTemplate.row("ticket_type_id", 1L, "event_id", 10L)));
+        CatalogVersions catalogVersions = new CatalogVersions();
+        List<Object> evicted = new ArrayList<>();
+        Cache cache = (Cache) Proxy.newProxyInstance(Cache.class.getClassLoader(), new Class<?>[]{Cache.class},
+                (proxy, method, args) -> {
+                    evicted.add(args[1]);
+                    return null;
+                });
+        EntityManagerFactory entityManagerFactory = (EntityManagerFactory) Proxy.newProxyInstance(
+                EntityManagerFactory.class.getClassLoader(), new Class<?>[]{EntityManagerFactory.class},
+                (proxy, method, args) -> cache);
+
+        try (InventoryLedger ledger = InventoryLedger.open(dir, 16, false)) {
+            InventoryWriteBehind writeBehind = new InventoryWriteBehind();
+            ReflectionTestUtils.setField(writeBehind, "inventoryLedger", ledger);
+            ReflectionTestUtils.setField(writeBehind, "jdbcTemplate", jdbc);
+            ReflectionTestUtils.setField(writeBehind, "entityManagerFactory", entityManagerFactory);
+            ReflectionTestUtils.setField(writeBehind, "catalogVersions", catalogVersions);
+            String ticketTypeTag = catalogVersions.ticketTypeTag(1L);
+            String eventTag = catalogVersions.eventTag(10L);
+
+            ledger.reserve(1L, 2, 10, 3);
+            writeBehind.flush();
+
+            RecordingJdbcTemplate.Call update = jdbc.callsMatching("UPDATE ticket_type SET quantity_sold").get(0);
+            Assertions.assertEquals(List.of(5, 1L), update.args);
+            Assertions.assertEquals(List.of(1L), evicted);
+            Assertions.assertFalse(ticketTypeTag.equals(catalogVersions.ticketTypeTag(1L)));
+            Assertions.assertFalse(eventTag.equals(catalogVersions.eventTag(10L)));
+
+            writeBehind.flush();
+            Assertions.assertEquals(1, catalogVersions.version(CatalogVersions.TICKET_TYPE, 1L));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.cache.JsonResponseCache;
+import com.amdocs.spx.request.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JsonResponseCacheTest {
+
+    private JsonResponseCache newCache(int maxEntries) {
+        JsonResponseCache cache = new JsonResponseCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        return cache;
+    }
+
+    @Test
+    void testSameStampServesTheCachedBody() {
+        JsonResponseCache cache = newCache(16);
+        AtomicInteger loads = new AtomicInteger();
+
+        byte[] first = cache.get("events", "v1", () -> List.of("a", loads.incrementAndGet()));
+        byte[] second = cache.get("events", "v1", () -> List.of("a", loads.incrementAndGet()));
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertTrue(first == second);
+    }
+
+    @Test
+    void testNewStampRebuildsTheBody() {
+        JsonResponseCache cache = newCache(16);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("events", "v1", loads::incrementAndGet);
+        byte[] rebuilt = cache.get("events", "v2", loads::incrementAndGet);
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals("2", new String(rebuilt, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFieldSelectionsAreCachedSeparately() {
+        JsonResponseCache cache = newCache(16);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("events", "v1", loads::incrementAndGet);
+        cache.get("events", "v1", FieldSelection.parse("eventId"), loads::incrementAndGet);
+        cache.get("events", "v1", FieldSelection.parse("eventId"), loads::incrementAndGet);
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testFullCacheStartsOver() {
+        JsonResponseCache cache = newCache(2);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", "v1", loads::incrementAndGet);
+        cache.get("b", "v1", loads::incrementAndGet);
+        cache.get("c", "v1", loads::incrementAndGet);
+        cache.get("c", "v1", loads::incrementAndGet);
+        cache.get("a", "v1", loads::incrementAndGet);
+
+        Assertions.assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testClearDropsEverything() {
+        JsonResponseCache cache = newCache(16);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("events", "v1", loads::incrementAndGet);
+        cache.clear();
+        cache.get("events", "v1", loads::incrementAndGet);
+
+        Assertions.assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,35 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.metrics.PoolSizePolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PoolSizePolicyTest {
+
+    private final PoolSizePolicy policy = new PoolSizePolicy(5, 20, 2, 5.0, 50.0);
+
+    @Test
+    void testGrowsWhileRequestsWaitForConnections() {
+        Assertions.assertEquals(12, policy.nextSize(10, 12.0, 8.0, 0, 0));
+        Assertions.assertEquals(12, policy.nextSize(10, 0.0, 8.0, 0, 3));
+        Assertions.assertEquals(20, policy.nextSize(19, 12.0, 8.0, 0, 3));
+    }
+
+    @Test
+    void testShrinksWhenDatabaseIsSlow() {
+        Assertions.assertEquals(8, policy.nextSize(10, 40.0, 120.0, 0, 6));
+        Assertions.assertEquals(5, policy.nextSize(6, 40.0, 120.0, 0, 6));
+    }
+
+    @Test
+    void testGivesBackIdleConnections() {
+        Assertions.assertEquals(9, policy.nextSize(10, 0.0, 8.0, 6, 0));
+        Assertions.assertEquals(10, policy.nextSize(10, 1.0, 8.0, 2, 0));
+        Assertions.assertEquals(5, policy.nextSize(5, 0.0, 8.0, 5, 0));
+    }
+
+    @Test
+    void testRejectsInvalidLimits() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PoolSizePolicy(10, 5, 1, 5.0, 50.0));
+    }
+}
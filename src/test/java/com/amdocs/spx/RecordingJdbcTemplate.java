@@ -0,0 +1,202 @@
+package com.amdocs.spx;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JdbcTemplate without a database, for testing set-based jobs.
+ * Records every statement with its arguments and answers queries with results queued against a
+ * fragment of their SQL; a query without a queued result gets an empty one and an update gets 0.
+ */
+public class RecordingJdbcTemplate extends JdbcTemplate {
+
+    public static final class Call {
+        public final String sql;
+        public final List<Object> args;
+
+        private Call(String sql, Object[] args) {
+            this.sql = sql;
+            this.args = args != null ? Arrays.asList(args) : List.of();
+        }
+    }
+
+    private final List<Call> calls = new ArrayList<>();
+    private final Map<String, Deque<Object>> results = new LinkedHashMap<>();
+
+    /**
+     * Queue one result for the next statement containing the fragment: a list of values for
+     * {@code queryForList}, a list of rows (column maps) for row queries, a value for
+     * {@code queryForObject}, or an update count
+     */
+    public RecordingJdbcTemplate answer(String sqlFragment, Object result) {
+        results.computeIfAbsent(sqlFragment, key -> new ArrayDeque<>()).add(result);
+        return this;
+    }
+
+    public static Map<String, Object> row(Object... columnsAndValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            row.put((String) columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return row;
+    }
+
+    public List<Call> getCalls() {
+        return calls;
+    }
+
+    /**
+     * Statements containing the fragment, in the order they ran
+     */
+    public List<Call> callsMatching(String sqlFragment) {
+        return calls.stream().filter(call -> call.sql.contains(sqlFragment)).collect(Collectors.toList());
+    }
+
+    /**
+     * Position of the first statement containing the fragment, or -1
+     */
+    public int indexOf(String sqlFragment) {
+        for (int i = 0; i < calls.size(); i++) {
+            if (calls.get(i).sql.contains(sqlFragment)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+        Object result = record(sql, args);
+        return result != null ? new ArrayList<>((List<T>) result) : new ArrayList<>();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+        return (T) record(sql, args);
+    }
+
+    @Override
+    public int update(String sql, Object... args) {
+        Object result = record(sql, args);
+        return result != null ? (Integer) result : 0;
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+        for (Object[] args : batchArgs) {
+            record(sql, args);
+        }
+        return new int[batchArgs.size()];
+    }
+
+    @Override
+    public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                   ParameterizedPreparedStatementSetter<T> setter) {
+        for (T args : batchArgs) {
+            record(sql, args instanceof Object[] ? (Object[]) args : new Object[]{args});
+        }
+        return new int[0][];
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler handler) {
+        query(sql, handler, (Object[]) null);
+    }
+
+    @Override
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+        return query(sql, rowMapper, (Object[]) null);
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler handler, Object... args) {
+        try {
+            for (Map<String, Object> row : rows(record(sql, args))) {
+                handler.processRow(resultSet(row));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+        List<T> mapped = new ArrayList<>();
+        try {
+            int rowNum = 0;
+            for (Map<String, Object> row : rows(record(sql, args))) {
+                mapped.add(rowMapper.mapRow(resultSet(row), rowNum++));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return mapped;
+    }
+
+    private Object record(String sql, Object[] args) {
+        calls.add(new Call(sql, args));
+        for (Map.Entry<String, Deque<Object>> entry : results.entrySet()) {
+            if (sql.contains(entry.getKey()) && !entry.getValue().isEmpty()) {
+                return entry.getValue().poll();
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> rows(Object result) {
+        return result != null ? (List<Map<String, Object>>) result : List.of();
+    }
+
+    /**
+     * Single-row result set reading columns by label
+     */
+    private static ResultSet resultSet(Map<String, Object> row) {
+        boolean[] wasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("wasNull")) {
+                        return wasNull[0];
+                    }
+                    if (args == null || args.length != 1 || !(args[0] instanceof String)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object value = row.get(args[0]);
+                    wasNull[0] = value == null;
+                    switch (method.getName()) {
+                        case "getLong":
+                            return value != null ? ((Number) value).longValue() : 0L;
+                        case "getInt":
+                            return value != null ? ((Number) value).intValue() : 0;
+                        case "getString":
+                            return value != null ? value.toString() : null;
+                        case "getTimestamp":
+                            return (Timestamp) value;
+                        case "getBytes":
+                            return (byte[]) value;
+                        case "getObject":
+                            return value;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,57 @@
+package com.amdocs.spx;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Transaction manager without a database that counts transactions and runs registered
+ * synchronizations on commit and rollback, like a real one would.
+ */
+public class RecordingTransactionManager implements PlatformTransactionManager {
+
+    private int commits;
+    private int rollbacks;
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) {
+        TransactionSynchronizationManager.initSynchronization();
+        return new SimpleTransactionStatus();
+    }
+
+    @Override
+    public void commit(TransactionStatus status) {
+        commits++;
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCommit();
+        }
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) {
+        rollbacks++;
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+
+    public int getCommits() {
+        return commits;
+    }
+
+    public int getRollbacks() {
+        return rollbacks;
+    }
+}
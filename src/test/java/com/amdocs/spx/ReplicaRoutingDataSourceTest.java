@@ -0,0 +1,119 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.persistence.ReadReplicaConfig;
+import com.amdocs.spx.persistence.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private final Map<DataSource, Long> lag = new HashMap<>();
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        lag.put(replica, 0L);
+
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), 5) {
+            @Override
+            protected long measureLag(DataSource dataSource) {
+                return lag.get(dataSource);
+            }
+        };
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        Assertions.assertEquals("replica", readOnly.execute(status -> whoAnswered()));
+        Assertions.assertEquals("primary", readWrite.execute(status -> whoAnswered()));
+        Assertions.assertEquals("primary", whoAnswered());
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        lag.put(replica, 30L);
+        routing.checkReplicas();
+        Assertions.assertEquals("primary", readOnly.execute(status -> whoAnswered()));
+        Assertions.assertEquals(30L, routing.getReplicaLag().get("replica-0"));
+
+        lag.put(replica, 1L);
+        routing.checkReplicas();
+        Assertions.assertEquals("replica", readOnly.execute(status -> whoAnswered()));
+    }
+
+    @Test
+    void testUnreachableReplicaFallsBackToPrimary() {
+        lag.put(replica, -1L);
+        routing.checkReplicas();
+        Assertions.assertEquals("primary", readOnly.execute(status -> whoAnswered()));
+    }
+
+    @Test
+    void testPrimaryPoolTakesHikariSettings() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(ReadReplicaConfig.class)
+                .withPropertyValues("spring.datasource.url=jdbc:h2:mem:primary-pool",
+                        "spring.datasource.hikari.maximum-pool-size=7",
+                        "spring.datasource.hikari.pool-name=primary",
+                        "spx.datasource.replica-urls=jdbc:h2:mem:replica-pool")
+                .run(context -> {
+                    HikariDataSource primaryPool = context.getBean("primaryDataSource", HikariDataSource.class);
+                    Assertions.assertEquals(7, primaryPool.getMaximumPoolSize());
+                    Assertions.assertEquals("primary", primaryPool.getPoolName());
+                });
+    }
+
+    private String whoAnswered() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,224 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.repository.BookingRepository;
+import com.amdocs.spx.repository.EventRepository;
+import com.amdocs.spx.repository.OrderRepository;
+import com.amdocs.spx.repository.TicketTypeRepository;
+import com.amdocs.spx.repository.UserRepository;
+import com.amdocs.spx.repository.VenueRepository;
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Flags derived query methods whose predicates no index in the migrations can serve.
+ * An index supports a method when its leading columns are exactly the equality columns,
+ * followed by the range or sort column if there is one.
+ */
+public class RepositoryIndexCheckTest {
+
+    private static final Path MIGRATIONS = Paths.get("src/main/resources/db/migration");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(BookingRepository.class, EventRepository.class,
+            OrderRepository.class, TicketTypeRepository.class, UserRepository.class, VenueRepository.class);
+
+    /**
+     * Methods that cannot use a B-tree index, with the reason
+     */
+    private static final Map<String, String> ACCEPTED = Map.of(
+            "EventRepository.findByEventNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase",
+            "substring search over free text");
+
+    private static final Set<Part.Type> RANGE = EnumSet.of(Part.Type.AFTER, Part.Type.BEFORE, Part.Type.BETWEEN,
+            Part.Type.GREATER_THAN, Part.Type.GREATER_THAN_EQUAL, Part.Type.LESS_THAN, Part.Type.LESS_THAN_EQUAL,
+            Part.Type.STARTING_WITH);
+    private static final Set<Part.Type> EQUALITY = EnumSet.of(Part.Type.SIMPLE_PROPERTY, Part.Type.IN,
+            Part.Type.TRUE, Part.Type.FALSE, Part.Type.IS_NULL);
+
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+            "CREATE TABLE (?:IF NOT EXISTS )?(\\w+) \\((.*?)\\) ENGINE", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+    private static final Pattern TABLE_KEY = Pattern.compile(
+            "(?:PRIMARY KEY|(?:UNIQUE )?KEY (\\w+)) \\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "CREATE (?:UNIQUE )?INDEX (\\w+) ON (\\w+) \\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_INDEX = Pattern.compile(
+            "DROP INDEX (\\w+) ON (\\w+)", Pattern.CASE_INSENSITIVE);
+
+    @Test
+    void testEveryDerivedQueryHasAnIndex() throws Exception {
+        Map<String, Map<String, List<String>>> indexes = readIndexes();
+        List<String> unsupported = new ArrayList<>();
+
+        for (Class<?> repository : REPOSITORIES) {
+            Class<?> domainClass = domainClassOf(repository);
+            String table = domainClass.getAnnotation(Table.class).name();
+            for (Method method : repository.getDeclaredMethods()) {
+                String name = repository.getSimpleName() + "." + method.getName();
+                if (method.isAnnotationPresent(Query.class) || ACCEPTED.containsKey(name)) {
+                    continue;
+                }
+                if (!isSupported(new PartTree(method.getName(), domainClass), domainClass,
+                        indexes.getOrDefault(table, Map.of()).values())) {
+                    unsupported.add(name);
+                }
+            }
+        }
+
+        Assertions.assertEquals(List.of(), unsupported, "Query methods without a supporting index");
+    }
+
+    @Test
+    void testRangeColumnBeforeEqualityIsNotEnough() {
+        List<List<String>> indexes = List.of(List.of("event_date", "status"));
+        PartTree tree = new PartTree("findByEventDateAfterAndStatus", Event.class);
+
+        Assertions.assertFalse(isSupported(tree, Event.class, indexes));
+        Assertions.assertTrue(isSupported(tree, Event.class,
+                List.of(List.of("status", "event_date"))));
+    }
+
+    private static boolean isSupported(PartTree tree, Class<?> domainClass, Iterable<List<String>> indexes) {
+        List<String> sortColumns = new ArrayList<>();
+        for (Sort.Order order : tree.getSort()) {
+            sortColumns.add(columnOf(domainClass, order.getProperty()));
+        }
+        for (PartTree.OrPart orPart : tree) {
+            Set<String> equality = new HashSet<>();
+            List<String> next = new ArrayList<>();
+            for (Part part : orPart) {
+                String column = columnOf(domainClass, part.getProperty().toDotPath());
+                if (column == null) {
+                    return false;
+                }
+                if (EQUALITY.contains(part.getType())) {
+                    equality.add(column);
+                } else if (RANGE.contains(part.getType())) {
+                    next.add(column);
+                } else {
+                    return false;
+                }
+            }
+            if (next.size() > 1) {
+                return false;
+            }
+            if (next.isEmpty()) {
+                next = sortColumns;
+            }
+            if (!hasIndex(indexes, equality, next)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasIndex(Iterable<List<String>> indexes, Set<String> equality, List<String> next) {
+        int n = equality.size();
+        if (n == 0 && next.isEmpty()) {
+            return true;
+        }
+        for (List<String> columns : indexes) {
+            if (columns.size() < n || !new HashSet<>(columns.subList(0, n)).equals(equality)) {
+                continue;
+            }
+            if (next.isEmpty() || (columns.size() > n && columns.get(n).equals(next.get(0)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Column for a property path, following a to-one association only as far as its join column
+     */
+    private static String columnOf(Class<?> domainClass, String dotPath) {
+        String property = dotPath.split("\\.")[0];
+        Field field;
+        try {
+            field = domainClass.getDeclaredField(property);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+        if (field.isAnnotationPresent(JoinColumn.class)) {
+            return field.getAnnotation(JoinColumn.class).name();
+        }
+        if (dotPath.contains(".")) {
+            return null;
+        }
+        return field.isAnnotationPresent(Column.class) ? field.getAnnotation(Column.class).name() : null;
+    }
+
+    private static Class<?> domainClassOf(Class<?> repository) {
+        ParameterizedType jpaRepository = (ParameterizedType) repository.getGenericInterfaces()[0];
+        return (Class<?>) jpaRepository.getActualTypeArguments()[0];
+    }
+
+    /**
+     * Indexes per table after applying every migration in version order
+     */
+    private static Map<String, Map<String, List<String>>> readIndexes() throws Exception {
+        Map<String, Map<String, List<String>>> indexes = new HashMap<>();
+        List<Path> scripts;
+        try (Stream<Path> files = Files.list(MIGRATIONS)) {
+            scripts = files.filter(path -> path.getFileName().toString().matches("V\\d+__.*\\.sql"))
+                    .sorted((a, b) -> Integer.compare(version(a), version(b)))
+                    .collect(Collectors.toList());
+        }
+        for (Path script : scripts) {
+            String sql = Files.readString(script).replaceAll("--[^\\n]*", "");
+            Matcher table = CREATE_TABLE.matcher(sql);
+            while (table.find()) {
+                Matcher key = TABLE_KEY.matcher(table.group(2));
+                while (key.find()) {
+                    String name = key.group(1) != null ? key.group(1) : "PRIMARY";
+                    indexes.computeIfAbsent(table.group(1), t -> new HashMap<>()).putIfAbsent(name, columns(key.group(2)));
+                }
+            }
+            Matcher create = CREATE_INDEX.matcher(sql);
+            while (create.find()) {
+                indexes.computeIfAbsent(create.group(2), t -> new HashMap<>()).put(create.group(1), columns(create.group(3)));
+            }
+            Matcher drop = DROP_INDEX.matcher(sql);
+            while (drop.find()) {
+                indexes.getOrDefault(drop.group(2), new HashMap<>()).remove(drop.group(1));
+            }
+        }
+        return indexes;
+    }
+
+    private static List<String> columns(String list) {
+        return Arrays.stream(list.split(","))
+                .map(column -> column.trim().split("\\s+")[0])
+                .collect(Collectors.toList());
+    }
+
+    private static int version(Path script) {
+        String name = script.getFileName().toString();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
@@ -0,0 +1,97 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.cache.CatalogVersions;
+import com.amdocs.spx.cache.UpcomingEventIndex;
+import com.amdocs.spx.entity.Event;
+import com.amdocs.spx.entity.TicketType;
+import com.amdocs.spx.repository.TicketTypeRepository;
+import com.amdocs.spx.service.EventService;
+import com.amdocs.spx.service.TicketTypeService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class TicketTypeServiceTest {
+
+    private final RecordingJdbcTemplate jdbc = new RecordingJdbcTemplate();
+    private final RecordingTransactionManager transactions = new RecordingTransactionManager();
+    private final CatalogVersions catalogVersions = new CatalogVersions();
+    private final List<Object> evicted = new ArrayList<>();
+
+    private TicketTypeService newService() {
+        Event event = new Event();
+        event.setEventId(7L);
+        // The cached copy still shows tickets left, as a concurrent booking's commit has not reached it
+        TicketType ticketType = new TicketType(10L, event, "General", BigDecimal.TEN, 100, 98, true, new ArrayList<>());
+        TicketTypeRepository ticketTypeRepository = (TicketTypeRepository) Proxy.newProxyInstance(
+                TicketTypeRepository.class.getClassLoader(), new Class<?>[]{TicketTypeRepository.class},
+                (proxy, method, args) -> Optional.of(ticketType));
+        Cache cache = (Cache) Proxy.newProxyInstance(Cache.class.getClassLoader(), new Class<?>[]{Cache.class},
+                (proxy, method, args) -> {
+                    evicted.add(args[1]);
+                    return null;
+                });
+        EntityManagerFactory entityManagerFactory = (EntityManagerFactory) Proxy.newProxyInstance(
+                EntityManagerFactory.class.getClassLoader(), new Class<?>[]{EntityManagerFactory.class},
+                (proxy, method, args) -> cache);
+        EventService eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "upcomingEventIndex", new UpcomingEventIndex());
+        TicketTypeService service = new TicketTypeService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(service, "ticketTypeRepository", ticketTypeRepository);
+        ReflectionTestUtils.setField(service, "entityManagerFactory", entityManagerFactory);
+        ReflectionTestUtils.setField(service, "eventService", eventService);
+        ReflectionTestUtils.setField(service, "catalogVersions", catalogVersions);
+        return service;
+    }
+
+    @Test
+    void testIncrementChecksAvailabilityInTheUpdate() {
+        TicketTypeService service = newService();
+        jdbc.answer("UPDATE ticket_type", 0);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactions);
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> service.incrementSoldTickets(10L, 2)));
+
+        RecordingJdbcTemplate.Call update = jdbc.callsMatching("UPDATE ticket_type").get(0);
+        Assertions.assertTrue(update.sql.contains("quantity_sold + ? <= quantity_available"));
+        Assertions.assertEquals(List.of(2, 10L, 2), update.args);
+        Assertions.assertEquals(1, transactions.getRollbacks());
+        Assertions.assertEquals(0L, catalogVersions.version(CatalogVersions.TICKET_TYPE, 10L));
+    }
+
+    @Test
+    void testIncrementEvictsAndMovesVersionsAfterCommit() {
+        TicketTypeService service = newService();
+        jdbc.answer("UPDATE ticket_type", 1);
+        jdbc.answer("SELECT quantity_sold", 100);
+
+        new TransactionTemplate(transactions).executeWithoutResult(status -> service.incrementSoldTickets(10L, 2));
+
+        Assertions.assertEquals(List.of(10L, 10L), evicted);
+        Assertions.assertEquals(1L, catalogVersions.version(CatalogVersions.TICKET_TYPE, 10L));
+        Assertions.assertEquals(1L, catalogVersions.version(CatalogVersions.EVENT, 7L));
+    }
+
+    @Test
+    void testDecrementStopsAtZero() {
+        TicketTypeService service = newService();
+        jdbc.answer("UPDATE ticket_type", 0);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> service.decrementSoldTickets(10L, 3));
+
+        RecordingJdbcTemplate.Call update = jdbc.callsMatching("UPDATE ticket_type").get(0);
+        Assertions.assertTrue(update.sql.contains("quantity_sold >= ?"));
+        Assertions.assertEquals(List.of(3, 10L, 3), update.args);
+    }
+}
@@ -0,0 +1,67 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.ratelimit.TokenBucket;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testAllowsABurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0);
+        Assertions.assertEquals(0, bucket.tryAcquire(0));
+        Assertions.assertEquals(0, bucket.tryAcquire(0));
+        Assertions.assertEquals(0, bucket.tryAcquire(0));
+        Assertions.assertEquals(SECOND, bucket.tryAcquire(0));
+    }
+
+    @Test
+    void testRefillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 2.0, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        Assertions.assertEquals(SECOND / 4, bucket.tryAcquire(SECOND / 4));
+        Assertions.assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        Assertions.assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+    }
+
+    @Test
+    void testIsFullOnceRefilled() {
+        TokenBucket bucket = new TokenBucket(2, 1.0, -5 * SECOND);
+        Assertions.assertTrue(bucket.isFull(-5 * SECOND));
+        bucket.tryAcquire(-5 * SECOND);
+        Assertions.assertFalse(bucket.isFull(-5 * SECOND));
+        Assertions.assertTrue(bucket.isFull(-4 * SECOND));
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 0.001, 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            pool.submit(() -> {
+                start.await();
+                for (int j = 0; j < 1000; j++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        Assertions.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(100, granted.get());
+    }
+}
@@ -0,0 +1,133 @@
+package com.amdocs.spx;
+
+import com.amdocs.spx.cache.UpcomingEventIndex;
+import com.amdocs.spx.dto.EventDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class UpcomingEventIndexTest {
+
+    private static EventDTO event(long id, LocalDateTime date, String status, String category, String city) {
+        EventDTO event = new EventDTO();
+        event.setEventId(id);
+        event.setEventDate(date);
+        event.setStatus(status);
+        event.setCategory(category);
+        EventDTO.VenueDTO venue = new EventDTO.VenueDTO();
+        venue.setCity(city);
+        event.setVenue(venue);
+        return event;
+    }
+
+    private static List<Long> ids(List<EventDTO> events) {
+        return events.stream().map(EventDTO::getEventId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testNextIsInDateOrderThenIdOrder() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        UpcomingEventIndex index = new UpcomingEventIndex();
+        index.put(event(3, base.plusHours(2), "UPCOMING", "Music", "Pune"));
+        index.put(event(2, base, "UPCOMING", "Music", "Pune"));
+        index.put(event(1, base, "UPCOMING", "Music", "Pune"));
+        index.put(event(4, base.plusHours(1), "UPCOMING", "Music", "Pune"));
+
+        Assertions.assertEquals(List.of(1L, 2L, 4L, 3L), ids(index.next(null, null, null)));
+        Assertions.assertEquals(List.of(1L, 2L), ids(index.next(2, null, null)));
+    }
+
+    @Test
+    void testFiltersByCategoryAndCityIgnoringCase() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        UpcomingEventIndex index = new UpcomingEventIndex();
+        index.put(event(1, base, "UPCOMING", "Music", "Pune"));
+        index.put(event(2, base.plusHours(1), "UPCOMING", "Comedy", "Pune"));
+        index.put(event(3, base.plusHours(2), "UPCOMING", "Music", "Mumbai"));
+
+        Assertions.assertEquals(List.of(1L, 3L), ids(index.next(null, "music", null)));
+        Assertions.assertEquals(List.of(1L, 2L), ids(index.next(null, null, "PUNE")));
+        Assertions.assertEquals(List.of(3L), ids(index.next(1, "Music", "Mumbai")));
+    }
+
+    @Test
+    void testOnlyKeepsUpcomingEventsInTheFuture() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        UpcomingEventIndex index = new UpcomingEventIndex();
+        index.put(event(1, base, "UPCOMING", "Music", "Pune"));
+        index.put(event(2, base, "CANCELLED", "Music", "Pune"));
+        index.put(event(3, LocalDateTime.now().minusHours(1), "UPCOMING", "Music", "Pune"));
+        Assertions.assertEquals(List.of(1L), ids(index.next(null, null, null)));
+
+        index.put(event(1, base, "CANCELLED", "Music", "Pune"));
+        Assertions.assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRescheduledEventMoves() {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        UpcomingEventIndex index = new UpcomingEventIndex();
+        index.put(event(1, base, "UPCOMING", "Music", "Pune"));
+        index.put(event(2, base.plusHours(1), "UPCOMING", "Music", "Pune"));
+        index.put(event(1, base.plusHours(2), "UPCOMING", "Music", "Pune"));
+
+        Assertions.assertEquals(List.of(2L, 1L), ids(index.next(null, null, null)));
+        Assertions.assertEquals(2, index.size());
+    }
+
+    @Test
+    void testTicketTypesAreReplacedOnACopy() {
+        UpcomingEventIndex index = new UpcomingEventIndex();
+        EventDTO original = event(1, LocalDateTime.now().plusDays(1), "UPCOMING", "Music", "Pune");
+        index.put(original);
+        EventDTO.TicketTypeDTO vip = new EventDTO.TicketTypeDTO();
+        vip.setTicketTypeId(10L);
+        vip.setQuantitySold(5);
+        index.putTicketType(1L, vip);
+        EventDTO.TicketTypeDTO vipSold = new EventDTO.TicketTypeDTO();
+        vipSold.setTicketTypeId(10L);
+        vipSold.setQuantitySold(6);
+        index.putTicketType(1L, vipSold);
+
+        EventDTO card = index.next(null, null, null).get(0);
+        Assertions.assertEquals(1, card.getTicketTypes().size());
+        Assertions.assertEquals(6, (int) card.getTicketTypes().get(0).getQuantitySold());
+        Assertions.assertNull(original.getTicketTypes());
+
+        index.removeTicketType(1L, 10L);
+        Assertions.assertNull(index.next(null, null, null).get(0).getTicketTypes());
+    }
+
+    @Test
+    void testEveryChangeMovesTheVersion() {
+        UpcomingEventIndex index = new UpcomingEventIndex();
+        long start = index.version();
+        index.put(event(1, LocalDateTime.now().plusDays(1), "UPCOMING", "Music", "Pune"));
+        long afterPut = index.version();
+        index.remove(1L);
+        long afterRemove = index.version();
+        index.replaceAll(List.of(event(2, LocalDateTime.now().plusDays(1), "UPCOMING", "Music", "Pune")));
+
+        Assertions.assertTrue(afterPut > start);
+        Assertions.assertTrue(afterRemove > afterPut);
+        Assertions.assertTrue(index.version() > afterRemove);
+        Assertions.assertEquals(List.of(2L), ids(index.next(null, null, null)));
+    }
+
+    @Test
+    void testEvictPastDropsEventsOnceTheyStart() throws InterruptedException {
+        UpcomingEventIndex index = new UpcomingEventIndex();
+        index.put(event(1, LocalDateTime.now().plusNanos(200_000_000L), "UPCOMING", "Music", "Pune"));
+        index.put(event(2, LocalDateTime.now().plusDays(1), "UPCOMING", "Music", "Pune"));
+        long before = index.version();
+        Thread.sleep(400);
+
+        Assertions.assertEquals(List.of(2L), ids(index.next(null, null, null)));
+        index.evictPast();
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertTrue(index.version() > before);
+    }
+}